@@ -0,0 +1,72 @@
+package com.finesse.benchmark;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.finesse.entity.Material;
+import com.finesse.entity.Servico;
+import com.finesse.entity.ServicoMaterial;
+import com.finesse.entity.UnidadeMedida;
+
+/**
+ * Soma de {@link ServicoMaterial#getCustoPorAtendimento()} de um serviço (custo de insumos por atendimento).
+ *
+ * Execução: scripts/bench-jmh.sh CustoInsumosBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustoInsumosBenchmark {
+
+    @Param({"5", "50"})
+    public int materiais;
+
+    private List<ServicoMaterial> linhas;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(42);
+        Servico servico = new Servico();
+        linhas = new ArrayList<>(materiais);
+        for (int i = 0; i < materiais; i++) {
+            BigDecimal volume = BigDecimal.valueOf(50 + rnd.nextInt(950));
+            BigDecimal preco = BigDecimal.valueOf(500 + rnd.nextInt(20_000), 2);
+            Material m = new Material("Insumo " + i, UnidadeMedida.ML, volume, preco);
+            m.setCustoUnitario(preco.divide(volume, 6, RoundingMode.HALF_UP));
+            linhas.add(new ServicoMaterial(servico, m, BigDecimal.valueOf(1 + rnd.nextInt(300), 1)));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal somarCustoPorAtendimento() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (ServicoMaterial sm : linhas) {
+            total = total.add(sm.getCustoPorAtendimento());
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal somarComStream() {
+        return linhas.stream().map(ServicoMaterial::getCustoPorAtendimento).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
@@ -0,0 +1,80 @@
+package com.finesse.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.finesse.security.JwtTokenProvider;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Caminho de validação do token no JwtAuthenticationFilter, antes e depois do parser pré-construído + cache.
+ *
+ * Execução: scripts/bench-jmh.sh JwtFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "finesse_dev_secret_key_2025_@_HS256_32bytes_minimum________";
+
+    private JwtTokenProvider provider;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setup() {
+        provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationMs", 900_000L);
+        ReflectionTestUtils.setField(provider, "refreshExpirationMs", 900_000L);
+        provider.init();
+        token = provider.generateRefreshTokenForUserId(1L);
+        parser = Jwts.parser().verifyWith(chave()).build();
+    }
+
+    private static SecretKey chave() {
+        return Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Fluxo anterior: validateToken + getUserIdFromToken, cada um derivando a chave e montando um parser. */
+    @Benchmark
+    public Long antes_validarEParsearDuasVezes() {
+        Jwts.parser().verifyWith(chave()).build().parseSignedClaims(token);
+        Claims claims = Jwts.parser().verifyWith(chave()).build().parseSignedClaims(token).getPayload();
+        return Long.parseLong(claims.getSubject());
+    }
+
+    /** Parser imutável reaproveitado, uma única verificação (equivale a um cache miss). */
+    @Benchmark
+    public Long depois_parserPreConstruido() {
+        return Long.parseLong(parser.parseSignedClaims(token).getPayload().getSubject());
+    }
+
+    /** Caminho atual do filtro com o mesmo token repetido (cache hit). */
+    @Benchmark
+    public Long depois_verificarComCache() {
+        return Long.parseLong(provider.verificar(token).orElseThrow().getSubject());
+    }
+}
@@ -0,0 +1,96 @@
+package com.finesse.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.finesse.entity.Material;
+import com.finesse.entity.UnidadeMedida;
+import com.finesse.utils.TextoNormalizado;
+
+/**
+ * Filtro + ordenação por nome sem acentos nas listagens: normalize() dentro do comparator
+ * (O(n log n) normalizações, como era feito em memória nos services) x chave normalizada
+ * calculada uma vez na escrita (coluna produto_normalizado).
+ *
+ * Execução: scripts/bench-jmh.sh NormalizacaoBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NormalizacaoBenchmark {
+
+    private static final String[] PALAVRAS = {
+            "Óleo", "Máscara", "Creme", "Ácido", "Hialurônico", "Gel", "Condutor", "Loção",
+            "Pós-Peeling", "Algodão", "Luva", "Vitamina", "Colágeno", "Argila", "Protetor", "Térmico"};
+
+    @Param({"100", "1000"})
+    public int tamanho;
+
+    private List<Material> materiais;
+    private String termo;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(42);
+        materiais = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            String nome = PALAVRAS[rnd.nextInt(PALAVRAS.length)] + " " + PALAVRAS[rnd.nextInt(PALAVRAS.length)] + " " + i;
+            materiais.add(new Material(nome, UnidadeMedida.UN, BigDecimal.TEN, BigDecimal.ONE));
+        }
+        termo = "acido";
+    }
+
+    @Benchmark
+    public List<Material> normalizandoPorComparacao() {
+        String q = TextoNormalizado.normalizar(termo);
+        return materiais.stream()
+                .filter(m -> TextoNormalizado.normalizar(m.getProduto()).contains(q))
+                .sorted(Comparator.comparing((Material m) -> TextoNormalizado.normalizar(m.getProduto()),
+                        Comparator.nullsLast(String::compareTo)))
+                .toList();
+    }
+
+    @Benchmark
+    public List<Material> chavePreCalculada() {
+        String q = TextoNormalizado.normalizar(termo);
+        return materiais.stream()
+                .filter(m -> m.getProdutoNormalizado().contains(q))
+                .sorted(Comparator.comparing(Material::getProdutoNormalizado, Comparator.nullsLast(String::compareTo)))
+                .toList();
+    }
+
+    /** Ordenação da lista inteira, onde o custo do normalize() no comparator mais pesa. */
+    @Benchmark
+    public List<Material> ordenarTudoNormalizandoPorComparacao() {
+        return materiais.stream()
+                .sorted(Comparator.comparing((Material m) -> TextoNormalizado.normalizar(m.getProduto()),
+                        Comparator.nullsLast(String::compareTo)))
+                .toList();
+    }
+
+    @Benchmark
+    public List<Material> ordenarTudoChavePreCalculada() {
+        return materiais.stream()
+                .sorted(Comparator.comparing(Material::getProdutoNormalizado, Comparator.nullsLast(String::compareTo)))
+                .toList();
+    }
+}
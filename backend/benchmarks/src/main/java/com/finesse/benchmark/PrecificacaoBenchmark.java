@@ -0,0 +1,106 @@
+package com.finesse.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.finesse.dto.ConfiguracaoAtiva;
+import com.finesse.entity.Atividade;
+import com.finesse.entity.Configuracoes;
+import com.finesse.service.PrecificacaoCalculadora;
+import com.finesse.service.PricingKernel;
+
+/**
+ * Cadeia de derivados em BigDecimal (Configuracoes/Atividade) e o cálculo de uma linha de precificação:
+ * derivando a cada linha a partir das entidades x usando a fotografia {@link ConfiguracaoAtiva}
+ * x o {@link PricingKernel} em ponto fixo (use {@code -prof gc} para ver a alocação por operação).
+ *
+ * Execução: scripts/bench-jmh.sh PrecificacaoBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrecificacaoBenchmark {
+
+    private Configuracoes cfg;
+    private Atividade atv;
+    private ConfiguracaoAtiva ativa;
+    private BigDecimal impostoFrac;
+    private BigDecimal custoInsumos;
+    private BigDecimal vendaAtual;
+
+    private long valorMinutoK;
+    private long impostoK;
+    private long fixoK;
+    private long margemK;
+    private long insumosK;
+    private long vendaK;
+    private final PricingKernel.Resultado resultadoK = new PricingKernel.Resultado();
+
+    @Setup
+    public void setup() {
+        cfg = new Configuracoes();
+        cfg.setId(1L);
+        cfg.setPretensaoSalarialMensal(new BigDecimal("12000.00"));
+        cfg.setHorasSemanais(new BigDecimal("50.00"));
+        cfg.setSemanasMediaMes(new BigDecimal("4.33"));
+        cfg.setCustoFixoPct(new BigDecimal("12.0000"));
+        cfg.setMargemLucroPadraoPct(new BigDecimal("20.0000"));
+        atv = new Atividade();
+        atv.setAliquotaTotalPct(new BigDecimal("16.7700"));
+
+        ativa = ConfiguracaoAtiva.de(cfg);
+        impostoFrac = atv.getAliquotaTotalFrac();
+        custoInsumos = new BigDecimal("23.45");
+        vendaAtual = new BigDecimal("150.00");
+
+        valorMinutoK = PricingKernel.unidades(ativa.valorMinuto(), PricingKernel.ESCALA_FRAC);
+        impostoK = PricingKernel.unidades(impostoFrac, PricingKernel.ESCALA_FRAC);
+        fixoK = PricingKernel.unidades(ativa.custoFixoFrac(), PricingKernel.ESCALA_FRAC);
+        margemK = PricingKernel.unidades(ativa.margemPadraoFrac(), PricingKernel.ESCALA_FRAC);
+        insumosK = PricingKernel.unidades(custoInsumos, PricingKernel.ESCALA_CUSTO);
+        vendaK = PricingKernel.unidades(vendaAtual, PricingKernel.ESCALA_MOEDA);
+    }
+
+    /** Só a cadeia pretensão → horas → valor hora → valor minuto, mais as frações. */
+    @Benchmark
+    public BigDecimal derivadosDaEntidade() {
+        return cfg.getValorMinuto()
+                .add(cfg.getCustoFixoFrac())
+                .add(cfg.getMargemPadraoFrac())
+                .add(atv.getAliquotaTotalFrac());
+    }
+
+    /** Uma linha derivando tudo a partir das entidades (fluxo por linha antes da fotografia). */
+    @Benchmark
+    public PrecificacaoCalculadora.Resultado linhaDerivandoDaEntidade() {
+        return PrecificacaoCalculadora.calcular(cfg.getValorMinuto(), 60, custoInsumos,
+                atv.getAliquotaTotalFrac(), cfg.getCustoFixoFrac(), cfg.getMargemPadraoFrac(), vendaAtual);
+    }
+
+    /** Uma linha com os derivados já calculados (fluxo atual do PrecificacaoServiceImpl). */
+    @Benchmark
+    public PrecificacaoCalculadora.Resultado linhaComFotografia() {
+        return PrecificacaoCalculadora.calcular(ativa.valorMinuto(), 60, custoInsumos,
+                impostoFrac, ativa.custoFixoFrac(), ativa.margemPadraoFrac(), vendaAtual);
+    }
+
+    /** Mesma linha no kernel em long, com resultado reaproveitado. */
+    @Benchmark
+    public PricingKernel.Resultado linhaKernel() {
+        return PricingKernel.calcular(valorMinutoK, 60, insumosK, impostoK, fixoK, margemK, vendaK, resultadoK);
+    }
+}
@@ -0,0 +1,66 @@
+package com.finesse.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.finesse.config.ratelimit.InMemoryRateLimitStore;
+import com.finesse.config.ratelimit.RateLimitFilter;
+import com.finesse.config.ratelimit.RateLimitPolicies;
+import com.finesse.config.ratelimit.RateLimitProperties;
+import com.finesse.config.ratelimit.RateLimitProperties.Chave;
+import com.finesse.config.ratelimit.RateLimitProperties.Politica;
+
+/**
+ * RateLimitFilter.isRateLimited sob contenção: um IP quente disputado por todas as threads
+ * e tráfego espalhado por muitos IPs (varredura).
+ *
+ * Execução: scripts/bench-jmh.sh RateLimiterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class RateLimiterBenchmark {
+
+    private static final int IPS = 100_000;
+
+    private RateLimitFilter filtro;
+    private String[] ips;
+
+    @Setup
+    public void setup() {
+        RateLimitProperties props = new RateLimitProperties(true, "memory", 1_000,
+                new Politica("default", "/**", null, Chave.IP, 100, 60_000, 100), List.of());
+        filtro = new RateLimitFilter(props, new RateLimitPolicies(props), new InMemoryRateLimitStore(1_000));
+        ips = new String[IPS];
+        for (int i = 0; i < IPS; i++) {
+            ips[i] = "10." + (i >> 16) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff);
+        }
+    }
+
+    @Benchmark
+    public boolean ipQuente() {
+        return filtro.isRateLimited("10.0.0.1");
+    }
+
+    @Benchmark
+    public boolean muitosIps() {
+        return filtro.isRateLimited(ips[ThreadLocalRandom.current().nextInt(IPS)]);
+    }
+}
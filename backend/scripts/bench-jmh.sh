@@ -0,0 +1,31 @@
+#!/usr/bin/env bash
+# Roda os microbenchmarks JMH (módulo benchmarks/) e grava o resultado em JSON.
+#
+# Uso: scripts/bench-jmh.sh [regex de benchmarks] [outras opções do JMH]
+#   ex.: scripts/bench-jmh.sh PrecificacaoBenchmark
+#        BASE=target/jmh/anterior.json scripts/bench-jmh.sh   (compara com uma execução anterior; requer jq)
+# Saída: target/jmh/<data>.json
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+mvn -q -DskipTests -Drepackage.classifier=exec install
+mvn -q -f benchmarks/pom.xml package
+
+mkdir -p target/jmh
+NOVO="target/jmh/$(date +%Y%m%d-%H%M%S).json"
+java -jar benchmarks/target/benchmarks.jar -rf json -rff "$NOVO" "$@"
+echo ">> resultado em $NOVO"
+
+if [ -n "${BASE:-}" ]; then
+  echo ">> comparação com $BASE (score, unidade, variação %)"
+  jq -r -s '
+    def chave: .benchmark + ((.params // {}) | to_entries | map(":" + .key + "=" + .value) | join(""));
+    (.[0] | map({(chave): .primaryMetric.score}) | add) as $base
+    | .[1][]
+    | [chave,
+       ($base[chave] // "-"),
+       .primaryMetric.score,
+       .primaryMetric.scoreUnit,
+       (if $base[chave] then ((.primaryMetric.score - $base[chave]) / $base[chave] * 100 | . * 10 | round / 10) else "-" end)]
+    | @tsv' "$BASE" "$NOVO" | column -t -s $'\t'
+fi
@@ -0,0 +1,47 @@
+#!/usr/bin/env bash
+# Compara tempo de subida e RSS entre o jar (JVM) e o binário nativo.
+#
+# Pré-requisitos: PostgreSQL do docker-compose no ar. Para o nativo, GraalVM 25 com native-image
+# e o binário gerado por: mvn -Pnative -DskipTests native:compile
+# Uso: scripts/bench-startup.sh [repeticoes]
+# Saída: uma linha JSON por execução em target/bench-startup.jsonl
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+REPETICOES="${1:-5}"
+PORTA="${PORTA:-8090}"
+SAIDA=target/bench-startup.jsonl
+: > "$SAIDA"
+
+JAR=$(ls target/finesse-backend-*.jar 2>/dev/null | grep -v -e original -e exec | head -n1 || true)
+if [ -z "$JAR" ]; then
+  mvn -q -DskipTests package
+  JAR=$(ls target/finesse-backend-*.jar | grep -v -e original -e exec | head -n1)
+fi
+
+medir() {
+  local modo="$1"; shift
+  for i in $(seq 1 "$REPETICOES"); do
+    local inicio fim pid rss
+    inicio=$(date +%s%N)
+    "$@" --server.port="$PORTA" > "target/bench-startup-$modo.log" 2>&1 &
+    pid=$!
+    until curl -fs "http://localhost:$PORTA/actuator/health" > /dev/null; do
+      kill -0 "$pid" 2>/dev/null || { echo "processo $modo morreu, veja target/bench-startup-$modo.log"; exit 1; }
+      sleep 0.05
+    done
+    fim=$(date +%s%N)
+    rss=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+    kill "$pid"; wait "$pid" 2>/dev/null || true
+    printf '{"modo":"%s","execucao":%d,"ateHealthMs":%d,"rssKb":%d}\n' \
+      "$modo" "$i" $(( (fim - inicio) / 1000000 )) "$rss" | tee -a "$SAIDA"
+  done
+}
+
+medir jvm java -Xms256m -Xmx512m -jar "$JAR"
+if [ -x target/finesse-backend ]; then
+  medir nativo target/finesse-backend -Xmx512m
+else
+  echo ">> binário nativo ausente; rode mvn -Pnative -DskipTests native:compile"
+fi
+echo ">> resultados em $SAIDA"
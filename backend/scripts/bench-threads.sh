@@ -0,0 +1,55 @@
+#!/usr/bin/env bash
+# Compara vazão e p99 de /api/servicos, /api/servicos/precos e /api/materiais
+# com threads de plataforma (VIRTUAL_THREADS_ENABLED=false) e virtuais (true).
+#
+# Pré-requisitos: PostgreSQL do docker-compose no ar, JDK 25 e Maven.
+# Uso: CARGA_EMAIL=admin@sistema.com CARGA_SENHA=... scripts/bench-threads.sh
+# Variáveis opcionais: CARGA_CLIENTES (64), CARGA_DURACAO (30), CARGA_AQUECIMENTO (10), PORTA (8089)
+# Saída: uma linha JSON por modo/endpoint em target/bench-threads.jsonl
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+: "${CARGA_EMAIL:?informe CARGA_EMAIL}"
+: "${CARGA_SENHA:?informe CARGA_SENHA}"
+PORTA="${PORTA:-8089}"
+SAIDA=target/bench-threads.jsonl
+
+mvn -q -DskipTests package
+mvn -q test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/test-classpath.txt
+CP="target/test-classes:$(cat target/test-classpath.txt)"
+JAR=$(ls target/finesse-backend-*.jar | grep -v original | head -n1)
+: > "$SAIDA"
+
+for VIRTUAL in false true; do
+  echo ">> threads virtuais: $VIRTUAL"
+  # log de SQL e rate limit desligados para medir só o caminho da requisição
+  VIRTUAL_THREADS_ENABLED=$VIRTUAL \
+  APP_SECURITY_RATELIMIT_ENABLED=false \
+  SPRING_JPA_SHOW_SQL=false \
+  LOGGING_LEVEL_ORG_HIBERNATE_SQL=WARN \
+  LOGGING_LEVEL_ORG_HIBERNATE_TYPE_DESCRIPTOR_SQL_BASICBINDER=WARN \
+  LOGGING_LEVEL_ORG_SPRINGFRAMEWORK_SECURITY=WARN \
+  LOGGING_LEVEL_ORG_SPRINGFRAMEWORK_WEB_CORS=WARN \
+    java -Xms512m -Xmx512m -jar "$JAR" --server.port="$PORTA" > "target/bench-threads-$VIRTUAL.log" 2>&1 &
+  PID=$!
+  trap 'kill $PID 2>/dev/null || true' EXIT
+
+  for _ in $(seq 1 60); do
+    curl -fs "http://localhost:$PORTA/actuator/health" > /dev/null && break
+    sleep 1
+  done
+
+  java -cp "$CP" \
+    -Dcarga.url="http://localhost:$PORTA" \
+    -Dcarga.email="$CARGA_EMAIL" -Dcarga.senha="$CARGA_SENHA" \
+    -Dcarga.clientes="${CARGA_CLIENTES:-64}" \
+    -Dcarga.duracao="${CARGA_DURACAO:-30}" \
+    -Dcarga.aquecimento="${CARGA_AQUECIMENTO:-10}" \
+    -Dcarga.modo="$([ "$VIRTUAL" = true ] && echo virtual || echo plataforma)" \
+    com.finesse.benchmark.CargaHttp | tee -a "$SAIDA"
+
+  kill "$PID"
+  wait "$PID" 2>/dev/null || true
+done
+
+echo ">> resultados em $SAIDA"
@@ -2,14 +2,24 @@ package com.finesse;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
+import com.finesse.config.NativeRuntimeHints;
+
 @SpringBootApplication
 @EnableJpaAuditing
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class FinesseBackendApplication {
 
+    /** Passos de inicialização guardados para o endpoint {@code /actuator/startup}. */
+    private static final int PASSOS_STARTUP = 4096;
+
     public static void main(String[] args) {
-        SpringApplication.run(FinesseBackendApplication.class, args);
+        SpringApplication app = new SpringApplication(FinesseBackendApplication.class);
+        app.setApplicationStartup(new BufferingApplicationStartup(PASSOS_STARTUP));
+        app.run(args);
     }
 
 }
\ No newline at end of file
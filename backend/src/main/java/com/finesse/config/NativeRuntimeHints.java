@@ -0,0 +1,123 @@
+package com.finesse.config;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import com.finesse.dto.AlteracaoPrecoResponse;
+import com.finesse.dto.AtualizarUsuarioRequestRecord;
+import com.finesse.dto.CenarioSimulacao;
+import com.finesse.dto.ConfiguracaoAtiva;
+import com.finesse.dto.CriarUsuarioRequestRecord;
+import com.finesse.dto.CursorPageResponse;
+import com.finesse.dto.DashboardResponse;
+import com.finesse.dto.MaterialAtualizadoResponse;
+import com.finesse.dto.PageResponse;
+import com.finesse.dto.PrecificacaoItemResponse;
+import com.finesse.dto.PrecoAtualResponse;
+import com.finesse.dto.PrecoLoteItemRequest;
+import com.finesse.dto.PrecoLoteResponse;
+import com.finesse.dto.PrecoSetRequest;
+import com.finesse.dto.PrecoSetResponse;
+import com.finesse.dto.SensibilidadeResponse;
+import com.finesse.dto.SensibilidadeServicoResponse;
+import com.finesse.dto.ServicoDetailResponse;
+import com.finesse.dto.ServicoImpactadoResponse;
+import com.finesse.dto.ServicoMaterialResponse;
+import com.finesse.dto.SimulacaoCenarioResponse;
+import com.finesse.dto.SimulacaoRequest;
+import com.finesse.dto.SimulacaoResponse;
+import com.finesse.dto.SimulacaoServicoImpacto;
+import com.finesse.dto.UsuarioRecord;
+import com.finesse.dto.auth.AtualizarTokenRequestRecord;
+import com.finesse.dto.auth.AtualizarTokenResponseRecord;
+import com.finesse.dto.auth.LoginRequestRecord;
+import com.finesse.dto.auth.LoginResponseRecord;
+import com.finesse.entity.Atividade;
+import com.finesse.entity.Configuracoes;
+import com.finesse.entity.Material;
+import com.finesse.entity.Perfil;
+import com.finesse.entity.PrecificacaoSnapshot;
+import com.finesse.entity.PrecoPraticado;
+import com.finesse.entity.Servico;
+import com.finesse.entity.ServicoMaterial;
+import com.finesse.entity.StatusPrecificacao;
+import com.finesse.entity.UnidadeMedida;
+import com.finesse.entity.Usuario;
+import com.finesse.entity.converter.UnidadeMedidaConverter;
+
+/**
+ * Hints de reflexão/recursos para a imagem nativa (GraalVM).
+ *
+ * O AOT do Spring já cobre beans, repositórios e as entidades gerenciadas, mas não enxerga:
+ * tipos serializados por controllers que devolvem {@code ResponseEntity<?>}, o conversor JPA
+ * instanciado pelo Hibernate, o {@link Usuario} usado como principal e as classes do jjwt
+ * carregadas por nome ({@code jjwt-impl}/{@code jjwt-jackson} estão em escopo runtime).
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final List<Class<?>> ENTIDADES = List.of(
+            Atividade.class, Configuracoes.class, Material.class, PrecificacaoSnapshot.class,
+            PrecoPraticado.class, Servico.class, ServicoMaterial.class, Usuario.class);
+
+    static final List<Class<?>> ENUMS = List.of(
+            Perfil.class, StatusPrecificacao.class, UnidadeMedida.class);
+
+    static final List<Class<?>> DTOS = List.of(
+            AlteracaoPrecoResponse.class, AtualizarUsuarioRequestRecord.class, ConfiguracaoAtiva.class,
+            CriarUsuarioRequestRecord.class, CursorPageResponse.class, DashboardResponse.class,
+            PageResponse.class, PrecificacaoItemResponse.class,
+            PrecoAtualResponse.class, PrecoLoteItemRequest.class, PrecoLoteResponse.class,
+            PrecoSetRequest.class, PrecoSetResponse.class, ServicoDetailResponse.class,
+            ServicoMaterialResponse.class, UsuarioRecord.class,
+            AtualizarTokenRequestRecord.class, AtualizarTokenResponseRecord.class,
+            LoginRequestRecord.class, LoginResponseRecord.class,
+            SimulacaoRequest.class, CenarioSimulacao.class, SimulacaoResponse.class,
+            SimulacaoCenarioResponse.class, SimulacaoServicoImpacto.class,
+            SensibilidadeResponse.class, SensibilidadeServicoResponse.class,
+            MaterialAtualizadoResponse.class, ServicoImpactadoResponse.class);
+
+    /** Classes que o jjwt instancia por nome (Jwts, Keys, Services). */
+    static final List<String> JJWT = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+        Stream.of(ENTIDADES, ENUMS, DTOS).flatMap(List::stream)
+                .forEach(tipo -> bindings.registerReflectionHints(hints.reflection(), tipo));
+
+        ENTIDADES.forEach(tipo -> hints.reflection().registerType(tipo,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_METHODS,
+                MemberCategory.ACCESS_DECLARED_FIELDS));
+        hints.reflection().registerType(UnidadeMedidaConverter.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        JJWT.forEach(nome -> hints.reflection().registerType(TypeReference.of(nome),
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS));
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+
+        // UI do Swagger servida pelo springdoc a partir do webjar
+        hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/*");
+    }
+}
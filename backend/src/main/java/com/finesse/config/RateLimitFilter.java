@@ -1,64 +0,0 @@
-package com.finesse.config;
-
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
-import org.springframework.stereotype.Component;
-import org.springframework.web.filter.OncePerRequestFilter;
-
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
-
-@Component
-public class RateLimitFilter extends OncePerRequestFilter {
-    
-    private final Map<String, List<Long>> requestCounts = new ConcurrentHashMap<>();
-    private static final int MAX_REQUESTS = 100; // 100 requisições
-    private static final long TIME_WINDOW = 60000; // por minuto
-    
-    @Override
-    protected void doFilterInternal(
-            HttpServletRequest request,
-            HttpServletResponse response,
-            FilterChain filterChain
-    ) throws ServletException, IOException {
-        
-        String clientIp = getClientIp(request);
-        
-        if (isRateLimited(clientIp)) {
-            response.setStatus(429); // Too Many Requests
-            response.getWriter().write("Rate limit exceeded");
-            return;
-        }
-        
-        filterChain.doFilter(request, response);
-    }
-    
-    private boolean isRateLimited(String clientIp) {
-        long now = System.currentTimeMillis();
-        requestCounts.putIfAbsent(clientIp, new ArrayList<>());
-        
-        List<Long> requests = requestCounts.get(clientIp);
-        requests.removeIf(time -> now - time > TIME_WINDOW);
-        
-        if (requests.size() >= MAX_REQUESTS) {
-            return true;
-        }
-        
-        requests.add(now);
-        return false;
-    }
-    
-    private String getClientIp(HttpServletRequest request) {
-        String ip = request.getHeader("X-Forwarded-For");
-        if (ip == null || ip.isEmpty()) {
-            ip = request.getRemoteAddr();
-        }
-        return ip;
-    }
-}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.finesse.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -39,6 +40,9 @@ public class SecurityConfig {
     @Autowired
     private CorsConfigurationSource corsConfigurationSource;
 
+    @Value("${app.security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
     /**
      * AuthenticationProvider - Componente central da autenticação
      * Utiliza o CustomUserDetailsService para carregar usuários do banco
@@ -50,6 +54,9 @@ public class SecurityConfig {
                       
         // Define o encoder de senha (BCrypt)
         authProvider.setPasswordEncoder(passwordEncoder());
+
+        // Re-hash no login quando o hash salvo tem custo menor que bcrypt-strength
+        authProvider.setUserDetailsPasswordService(customUserDetailsService);
         
         // Opcional: esconder se o usuário existe ou não nas mensagens de erro
         authProvider.setHideUserNotFoundExceptions(true);
@@ -59,11 +66,11 @@ public class SecurityConfig {
 
     /**
      * PasswordEncoder - BCrypt para criptografia de senhas
-     * Strength padrão: 10 rounds
+     * Strength configurável (app.security.password.bcrypt-strength, padrão 10 rounds)
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     /**
@@ -113,6 +120,8 @@ public class SecurityConfig {
                 
                 // Actuator health check
                 .requestMatchers("/actuator/health").permitAll()
+                // Linha do tempo da inicialização (beans mais lentos)
+                .requestMatchers("/actuator/startup").hasRole("ADMIN")
                 
                 // Rotas que exigem roles específicas
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
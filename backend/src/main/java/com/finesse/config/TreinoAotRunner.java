@@ -0,0 +1,110 @@
+package com.finesse.config;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import com.finesse.entity.Usuario;
+import com.finesse.repository.UsuarioRepository;
+import com.finesse.security.JwtTokenProvider;
+
+/**
+ * Execução de treino do cache AOT (JDK 25, {@code -XX:AOTCacheOutput}).
+ *
+ * Ativo só no perfil {@code training}: quando a aplicação fica pronta (Flyway, metamodelo do
+ * Hibernate e cadeia de segurança já inicializados), dispara algumas requisições reais contra a
+ * própria instância e encerra a JVM, que grava o cache com as classes carregadas e o perfil colhido.
+ */
+@Component
+@Profile("training")
+public class TreinoAotRunner implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(TreinoAotRunner.class);
+
+    private static final List<String> LEITURAS = List.of(
+            "/api/servicos?page=0&size=20",
+            "/api/servicos/precos",
+            "/api/materiais?page=0&size=20",
+            "/api/atividades",
+            "/api/configuracoes/ativa",
+            "/api/precificacao");
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Value("${local.server.port}")
+    private int porta;
+
+    @Value("${app.training.email:admin@sistema.com}")
+    private String email;
+
+    @Value("${app.training.iteracoes:20}")
+    private int iteracoes;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        int codigo = 0;
+        try {
+            treinar();
+        } catch (Exception e) {
+            log.error("Falha no treino AOT", e);
+            codigo = 1;
+        }
+        int saida = codigo;
+        System.exit(SpringApplication.exit(event.getApplicationContext(), () -> saida));
+    }
+
+    private void treinar() throws Exception {
+        String base = "http://localhost:" + porta;
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+        // login inválido: validação, rate limit, BCrypt no executor e resposta 401
+        String login = "{\"email\":\"treino@invalido.com\",\"senha\":\"senha-invalida\"}";
+        for (int i = 0; i < 2; i++) {
+            enviar(http, HttpRequest.newBuilder(URI.create(base + "/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(login)));
+        }
+        enviar(http, HttpRequest.newBuilder(URI.create(base + "/api/servicos")).GET());
+
+        Usuario usuario = usuarioRepository.findByEmailAndAtivoTrue(email)
+                .orElseThrow(() -> new IllegalStateException("Usuário de treino não encontrado: " + email));
+        String token = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities()));
+
+        int total = 0;
+        for (int i = 0; i < iteracoes; i++) {
+            enviar(http, HttpRequest.newBuilder(URI.create(base + "/actuator/health")).GET());
+            for (String caminho : LEITURAS) {
+                enviar(http, HttpRequest.newBuilder(URI.create(base + caminho))
+                        .header("Cookie", "access_token=" + token)
+                        .GET());
+                total++;
+            }
+        }
+        log.info("Treino AOT concluído: {} requisições autenticadas", total);
+    }
+
+    private void enviar(HttpClient http, HttpRequest.Builder req) throws Exception {
+        HttpResponse<Void> res = http.send(req.timeout(Duration.ofSeconds(30)).build(),
+                HttpResponse.BodyHandlers.discarding());
+        log.debug("Treino AOT {} -> {}", res.request().uri().getPath(), res.statusCode());
+    }
+}
@@ -0,0 +1,72 @@
+package com.finesse.config.migracao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+/**
+ * Regrava as chaves *_normalizado do backfill da V5 (lower(f_unaccent(...))) com a rotina usada
+ * pela aplicação na escrita, para que linhas antigas e novas tenham a mesma chave para o mesmo texto.
+ * Registrada como bean: o Flyway do Spring Boot recebe as JavaMigration do contexto.
+ *
+ * A normalização é uma cópia congelada de {@code TextoNormalizado} na data desta migração: uma
+ * migração aplicada não pode mudar de resultado, e Java migrations não têm checksum que acuse
+ * a divergência. Uma mudança futura no helper exige uma nova migração, não uma edição desta.
+ */
+@Component
+public class V10__RenormalizarChavesBusca extends BaseJavaMigration {
+
+    private static final int TAMANHO_BATCH = 500;
+
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
+    private static final String[][] LETRAS_SEM_DECOMPOSICAO = {
+            {"æ", "ae"}, {"œ", "oe"}, {"ß", "ss"}, {"ø", "o"}, {"đ", "d"}, {"ð", "d"},
+            {"þ", "th"}, {"ł", "l"}, {"ħ", "h"}, {"ı", "i"}, {"ŀ", "l"}, {"ŧ", "t"}
+    };
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection conn = context.getConnection();
+        regravar(conn, "servicos", "nome", "nome_normalizado");
+        regravar(conn, "materiais", "produto", "produto_normalizado");
+        regravar(conn, "atividades", "nome", "nome_normalizado");
+    }
+
+    private void regravar(Connection conn, String tabela, String origem, String chave) throws Exception {
+        String select = "SELECT id, " + origem + ", " + chave + " FROM " + tabela;
+        String update = "UPDATE " + tabela + " SET " + chave + " = ? WHERE id = ?";
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(select);
+             PreparedStatement ps = conn.prepareStatement(update)) {
+            int pendentes = 0;
+            while (rs.next()) {
+                String nova = normalizar(rs.getString(2));
+                if (nova == null || nova.equals(rs.getString(3))) continue;
+                ps.setString(1, nova);
+                ps.setLong(2, rs.getLong(1));
+                ps.addBatch();
+                if (++pendentes % TAMANHO_BATCH == 0) ps.executeBatch();
+            }
+            if (pendentes % TAMANHO_BATCH != 0) ps.executeBatch();
+        }
+    }
+
+    static String normalizar(String s) {
+        if (s == null) return null;
+        String nfd = Normalizer.normalize(s.trim().toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        String semMarcas = DIACRITICOS.matcher(nfd).replaceAll("");
+        for (String[] troca : LETRAS_SEM_DECOMPOSICAO) {
+            if (semMarcas.contains(troca[0])) semMarcas = semMarcas.replace(troca[0], troca[1]);
+        }
+        return semMarcas;
+    }
+}
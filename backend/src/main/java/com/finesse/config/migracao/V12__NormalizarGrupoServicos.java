@@ -0,0 +1,47 @@
+package com.finesse.config.migracao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+/**
+ * Preenche servicos.grupo_normalizado (V11) e as chaves de ordenação do snapshot de precificação.
+ * Usa a normalização congelada da {@link V10__RenormalizarChavesBusca}, que nunca muda.
+ */
+@Component
+public class V12__NormalizarGrupoServicos extends BaseJavaMigration {
+
+    private static final int TAMANHO_BATCH = 500;
+
+    private static final String SQL_SNAPSHOT = """
+            UPDATE precificacao_snapshot p
+               SET nome_normalizado = s.nome_normalizado, grupo_normalizado = s.grupo_normalizado
+              FROM servicos s
+             WHERE s.id = p.servico_id
+            """;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection conn = context.getConnection();
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT id, grupo FROM servicos");
+             PreparedStatement ps = conn.prepareStatement("UPDATE servicos SET grupo_normalizado = ? WHERE id = ?")) {
+            int pendentes = 0;
+            while (rs.next()) {
+                ps.setString(1, V10__RenormalizarChavesBusca.normalizar(rs.getString(2)));
+                ps.setLong(2, rs.getLong(1));
+                ps.addBatch();
+                if (++pendentes % TAMANHO_BATCH == 0) ps.executeBatch();
+            }
+            if (pendentes % TAMANHO_BATCH != 0) ps.executeBatch();
+        }
+        try (Statement st = conn.createStatement()) {
+            st.executeUpdate(SQL_SNAPSHOT);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.finesse.config.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.finesse.config.ratelimit.RateLimitProperties.Politica;
+
+/**
+ * Um {@link TokenBucketRateLimiter} por política, sem estado compartilhado entre réplicas.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final long cleanupIntervalMs;
+    private final Map<String, TokenBucketRateLimiter> limiters = new ConcurrentHashMap<>();
+
+    public InMemoryRateLimitStore(long cleanupIntervalMs) {
+        this.cleanupIntervalMs = cleanupIntervalMs;
+    }
+
+    @Override
+    public long tentarAdquirir(Politica politica, String chave) {
+        TokenBucketRateLimiter limiter = limiters.computeIfAbsent(politica.name(), n ->
+                new TokenBucketRateLimiter(politica.limit(), politica.windowMs(), politica.burst(), cleanupIntervalMs));
+        return limiter.tentarAdquirir(chave);
+    }
+}
@@ -0,0 +1,93 @@
+package com.finesse.config.ratelimit;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.finesse.config.ratelimit.RateLimitProperties.Politica;
+
+/**
+ * Contadores compartilhados entre réplicas na tabela rate_limit_buckets (V8).
+ *
+ * Mesmo algoritmo do {@link TokenBucketRateLimiter} (GCRA): cada linha guarda o instante teórico
+ * de chegada em microssegundos e o UPSERT condicional consome o token atomicamente numa única ida
+ * ao banco. O relógio é o do PostgreSQL, comum a todas as réplicas.
+ * A chave gravada é o SHA-256 de {@code politica:chave}, com tamanho fixo qualquer que seja o cliente.
+ * Se o banco ficar indisponível a requisição é liberada (fail-open) para não derrubar a API junto;
+ * outros erros de dados propagam, já que liberar nesse caso desligaria o limite sem aviso.
+ */
+public class JdbcRateLimitStore implements RateLimitStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcRateLimitStore.class);
+
+    // EXCLUDED.chegada - intervalo == agora (relógio do banco)
+    private static final String SQL_CONSUMIR = """
+            INSERT INTO rate_limit_buckets AS b (chave, chegada)
+            VALUES (?, (extract(epoch FROM clock_timestamp()) * 1000000)::bigint + ?)
+            ON CONFLICT (chave) DO UPDATE
+               SET chegada = GREATEST(b.chegada, EXCLUDED.chegada - ?) + ?
+             WHERE b.chegada - (EXCLUDED.chegada - ?) <= ?
+            RETURNING chegada
+            """;
+
+    private static final String SQL_LIMPAR = """
+            DELETE FROM rate_limit_buckets
+            WHERE chegada < (extract(epoch FROM clock_timestamp()) * 1000000)::bigint
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long limpezaNanos;
+    private final AtomicLong proximaLimpeza;
+
+    public JdbcRateLimitStore(JdbcTemplate jdbcTemplate, long cleanupIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.limpezaNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, cleanupIntervalMs));
+        this.proximaLimpeza = new AtomicLong(System.nanoTime() + limpezaNanos);
+    }
+
+    @Override
+    public long tentarAdquirir(Politica politica, String chave) {
+        long intervaloMicros = Math.max(1, TimeUnit.MILLISECONDS.toMicros(politica.windowMs()) / politica.limit());
+        long toleranciaMicros = intervaloMicros * (politica.burst() - 1);
+        try {
+            limparSeDevido();
+            List<Long> chegada = jdbcTemplate.queryForList(SQL_CONSUMIR, Long.class,
+                    hash(politica.name() + ":" + chave),
+                    intervaloMicros, intervaloMicros, intervaloMicros, intervaloMicros, toleranciaMicros);
+            // sem linha retornada = UPDATE barrado pelo WHERE; a espera real nunca passa de um intervalo
+            return chegada.isEmpty() ? TimeUnit.MICROSECONDS.toNanos(intervaloMicros) : 0;
+        } catch (DataAccessResourceFailureException | TransientDataAccessException ex) {
+            // sem stack trace: com o banco fora isto se repete a cada requisição
+            log.warn("Banco indisponível para o rate limit compartilhado; liberando requisição: {}", ex.getMessage());
+            return 0;
+        }
+    }
+
+    private static String hash(String chave) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(chave.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponível", ex);
+        }
+    }
+
+    private void limparSeDevido() {
+        long agora = System.nanoTime();
+        long prevista = proximaLimpeza.get();
+        if (agora - prevista >= 0 && proximaLimpeza.compareAndSet(prevista, agora + limpezaNanos)) {
+            int removidas = jdbcTemplate.update(SQL_LIMPAR);
+            log.debug("Rate limit: {} chaves ociosas removidas", removidas);
+        }
+    }
+}
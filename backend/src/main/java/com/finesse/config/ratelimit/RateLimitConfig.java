@@ -0,0 +1,29 @@
+package com.finesse.config.ratelimit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimitPolicies rateLimitPolicies(RateLimitProperties props) {
+        return new RateLimitPolicies(props);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.security.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+    public RateLimitStore inMemoryRateLimitStore(RateLimitProperties props) {
+        return new InMemoryRateLimitStore(props.cleanupIntervalMs());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.security.rate-limit.store", havingValue = "jdbc")
+    public RateLimitStore jdbcRateLimitStore(JdbcTemplate jdbcTemplate, RateLimitProperties props) {
+        return new JdbcRateLimitStore(jdbcTemplate, props.cleanupIntervalMs());
+    }
+}
@@ -0,0 +1,76 @@
+package com.finesse.config.ratelimit;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.finesse.config.ratelimit.RateLimitProperties.Chave;
+import com.finesse.config.ratelimit.RateLimitProperties.Politica;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Aplica a política de rate limit resolvida por método + caminho.
+ * Roda depois da cadeia do Spring Security, então políticas por usuário já enxergam o principal.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final RateLimitPolicies policies;
+    private final RateLimitStore store;
+
+    public RateLimitFilter(RateLimitProperties props, RateLimitPolicies policies, RateLimitStore store) {
+        this.enabled = props.enabled();
+        this.policies = policies;
+        this.store = store;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        if (enabled) {
+            Politica politica = policies.resolver(request.getMethod(), request.getRequestURI());
+            long esperaNanos = store.tentarAdquirir(politica, chave(politica, request));
+            if (esperaNanos > 0) {
+                long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + 999_999_999L));
+                response.setStatus(429); // Too Many Requests
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+                response.getWriter().write("Rate limit exceeded");
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /** Aplica a política padrão a um IP (usado em benchmarks). */
+    public boolean isRateLimited(String clientIp) {
+        return store.tentarAdquirir(policies.padrao(), "ip:" + clientIp) > 0;
+    }
+
+    private String chave(Politica politica, HttpServletRequest request) {
+        if (politica.key() == Chave.USER) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+                return "user:" + auth.getName();
+            }
+        }
+        // nunca lê X-Forwarded-For aqui: o cliente escolhe esse valor e ganharia um balde novo a cada
+        // requisição. Atrás de proxy confiável o Tomcat (server.forward-headers-strategy) já resolveu o IP.
+        return "ip:" + request.getRemoteAddr();
+    }
+}
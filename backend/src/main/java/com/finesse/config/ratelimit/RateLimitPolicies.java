@@ -0,0 +1,51 @@
+package com.finesse.config.ratelimit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.finesse.config.ratelimit.RateLimitProperties.Politica;
+
+/**
+ * Tabela de políticas compilada uma única vez: padrões já parseados e métodos normalizados.
+ */
+public final class RateLimitPolicies {
+
+    private record Regra(String metodo, PathPattern padrao, Politica politica) {}
+
+    private final List<Regra> regras;
+    private final Politica padrao;
+
+    public RateLimitPolicies(RateLimitProperties props) {
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        List<Regra> compiladas = new ArrayList<>(props.policies().size());
+        for (Politica p : props.policies()) {
+            String metodo = p.method() == null || p.method().isBlank() ? null : p.method().trim().toUpperCase();
+            compiladas.add(new Regra(metodo, parser.parse(p.pattern()), p));
+        }
+        this.regras = List.copyOf(compiladas);
+        this.padrao = props.defaultPolicy();
+    }
+
+    /**
+     * @param metodo método HTTP da requisição
+     * @param caminho URI da requisição
+     * @return primeira política que casar, ou a padrão
+     */
+    public Politica resolver(String metodo, String caminho) {
+        PathContainer path = null;
+        for (Regra r : regras) {
+            if (r.metodo() != null && !r.metodo().equals(metodo)) continue;
+            if (path == null) path = PathContainer.parsePath(caminho);
+            if (r.padrao().matches(path)) return r.politica();
+        }
+        return padrao;
+    }
+
+    public Politica padrao() {
+        return padrao;
+    }
+}
@@ -0,0 +1,43 @@
+package com.finesse.config.ratelimit;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração de rate limit ({@code app.security.rate-limit}).
+ * As políticas são avaliadas na ordem declarada; a primeira que casar com método + caminho vence,
+ * e {@code default-policy} cobre o restante.
+ */
+@ConfigurationProperties(prefix = "app.security.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("memory") String store,
+        @DefaultValue("60000") long cleanupIntervalMs,
+        @DefaultValue Politica defaultPolicy,
+        @DefaultValue List<Politica> policies
+) {
+
+    /** Chave de contagem: IP do cliente ou usuário autenticado (com IP como fallback). */
+    public enum Chave { IP, USER }
+
+    /**
+     * @param name identificador da política (prefixo das chaves no store)
+     * @param pattern padrão de caminho (PathPattern), ex.: /api/auth/login, /api/**
+     * @param method método HTTP; vazio casa com qualquer um
+     * @param key chave de contagem
+     * @param limit requisições sustentadas por janela
+     * @param windowMs tamanho da janela em ms
+     * @param burst rajada máxima com o balde cheio
+     */
+    public record Politica(
+            @DefaultValue("default") String name,
+            @DefaultValue("/**") String pattern,
+            String method,
+            @DefaultValue("ip") Chave key,
+            @DefaultValue("100") int limit,
+            @DefaultValue("60000") long windowMs,
+            @DefaultValue("100") int burst
+    ) {}
+}
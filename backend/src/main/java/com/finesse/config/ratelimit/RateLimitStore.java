@@ -0,0 +1,18 @@
+package com.finesse.config.ratelimit;
+
+import com.finesse.config.ratelimit.RateLimitProperties.Politica;
+
+/**
+ * Armazenamento dos contadores de rate limit.
+ * A implementação em memória vale por instância; a JDBC compartilha os contadores entre réplicas.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Consome um token da chave sob a política informada.
+     * @param politica política resolvida para a requisição
+     * @param chave cliente (IP ou usuário)
+     * @return 0 se permitido; caso contrário, nanos estimados até o próximo token
+     */
+    long tentarAdquirir(Politica politica, String chave);
+}
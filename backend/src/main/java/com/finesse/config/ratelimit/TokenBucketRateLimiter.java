@@ -0,0 +1,111 @@
+package com.finesse.config.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket sem locks por chave (IP, usuário...).
+ *
+ * O estado do balde (tokens restantes + instante da última recarga) é condensado em um único long,
+ * o "instante teórico de chegada" (GCRA): cada requisição empurra esse instante em {@code intervalo}
+ * e é recusada quando ele passaria de {@code agora + tolerancia}. A atualização é um CAS no AtomicLong,
+ * então a memória por cliente ativo é constante e não há contenção de lock.
+ *
+ * Chaves cujo balde já voltou a ficar cheio são removidas periodicamente, sem thread dedicada:
+ * a primeira requisição após o intervalo de limpeza faz a varredura. A remoção primeiro aposenta o
+ * balde com um CAS para {@link #APOSENTADO}; quem encontrar esse valor recomeça num balde novo,
+ * então nenhum consumo concorrente com a varredura se perde.
+ */
+public final class TokenBucketRateLimiter {
+
+    /** Valor de um balde já retirado do mapa; nunca é um instante de chegada válido. */
+    private static final long APOSENTADO = Long.MIN_VALUE;
+    private static final long REFAZER = -1;
+
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final long limpezaNanos;
+    private final LongSupplier relogio;
+
+    private final Map<String, AtomicLong> baldes = new ConcurrentHashMap<>();
+    private final AtomicLong proximaLimpeza;
+
+    /**
+     * @param limite requisições permitidas por janela (taxa sustentada)
+     * @param janelaMs tamanho da janela em ms
+     * @param rajada requisições aceitas de uma vez com o balde cheio (>= 1)
+     * @param limpezaMs intervalo entre varreduras de chaves ociosas
+     */
+    public TokenBucketRateLimiter(int limite, long janelaMs, int rajada, long limpezaMs) {
+        this(limite, janelaMs, rajada, limpezaMs, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int limite, long janelaMs, int rajada, long limpezaMs, LongSupplier relogio) {
+        if (limite < 1 || janelaMs < 1 || rajada < 1) {
+            throw new IllegalArgumentException("Limite, janela e rajada devem ser positivos");
+        }
+        this.intervaloNanos = Math.max(1, TimeUnit.MILLISECONDS.toNanos(janelaMs) / limite);
+        this.toleranciaNanos = intervaloNanos * (rajada - 1);
+        this.limpezaNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, limpezaMs));
+        this.relogio = relogio;
+        this.proximaLimpeza = new AtomicLong(relogio.getAsLong() + limpezaNanos);
+    }
+
+    /**
+     * Tenta consumir um token da chave.
+     * @param chave identificador do cliente
+     * @return 0 se permitido; caso contrário, nanos até o próximo token
+     */
+    public long tentarAdquirir(String chave) {
+        long agora = relogio.getAsLong();
+        limparSeDevido(agora);
+        while (true) {
+            AtomicLong balde = baldes.computeIfAbsent(chave, k -> new AtomicLong(agora));
+            long espera = consumir(balde, agora);
+            if (espera != REFAZER) {
+                return espera;
+            }
+            // a limpeza aposentou este balde; garante que saiu do mapa e recomeça num novo
+            baldes.remove(chave, balde);
+        }
+    }
+
+    private long consumir(AtomicLong balde, long agora) {
+        while (true) {
+            long chegada = balde.get();
+            if (chegada == APOSENTADO) {
+                return REFAZER;
+            }
+            long base = Math.max(chegada, agora);
+            long espera = base - agora - toleranciaNanos;
+            if (espera > 0) {
+                return espera;
+            }
+            if (balde.compareAndSet(chegada, base + intervaloNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    private void limparSeDevido(long agora) {
+        long prevista = proximaLimpeza.get();
+        if (agora - prevista >= 0 && proximaLimpeza.compareAndSet(prevista, agora + limpezaNanos)) {
+            // balde cheio de novo (chegada teórica no passado) == cliente ocioso;
+            // o CAS falha se alguém consumiu depois da leitura, e o balde fica
+            baldes.forEach((chave, balde) -> {
+                long chegada = balde.get();
+                if (chegada != APOSENTADO && chegada - agora <= 0 && balde.compareAndSet(chegada, APOSENTADO)) {
+                    baldes.remove(chave, balde);
+                }
+            });
+        }
+    }
+
+    /** Quantidade de chaves com estado em memória. */
+    public int chavesAtivas() {
+        return baldes.size();
+    }
+}
@@ -4,7 +4,9 @@ import java.net.URI;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
@@ -12,8 +14,10 @@ import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.*;
 
 import com.finesse.entity.Atividade;
+import com.finesse.dto.CursorPageResponse;
 import com.finesse.dto.PageResponse;
 import com.finesse.service.AtividadeService;
+import com.finesse.utils.KeysetCursor;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -45,6 +49,25 @@ public class AtividadeController {
         return ResponseEntity.ok(PageResponse.from(result));
     }
 
+    @Operation(summary = "Listar atividades (cursor)", description = "Paginação por keyset: informe after vazio na primeira página e depois o campo next da resposta; não calcula totais")
+    @GetMapping(params = "after")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPageResponse<Atividade>> listCursor(
+            @RequestParam(required = false) String titulo,
+            @RequestParam(required = false) Boolean ativo,
+            @RequestParam(defaultValue = "") String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String sort) {
+        KeysetScrollPosition posicao;
+        try {
+            posicao = KeysetCursor.decode(after, Atividade.class);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+        Window<Atividade> result = atividadeService.listKeyset(titulo, ativo, posicao, size, sort);
+        return ResponseEntity.ok(CursorPageResponse.from(result, size));
+    }
+
     @Operation(summary = "Obter atividade por ID")
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
@@ -3,6 +3,10 @@ package com.finesse.controller;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,8 +31,11 @@ import com.finesse.dto.auth.LoginRequestRecord;
 import com.finesse.entity.Usuario;
 import com.finesse.security.CustomUserDetailsService;
 import com.finesse.security.JwtTokenProvider;
+import com.finesse.security.PasswordHashingExecutor;
 import com.finesse.utils.CookieUtils;
 
+import io.jsonwebtoken.Claims;
+
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
@@ -48,48 +55,67 @@ public class AuthController {
 
     @Autowired
     private CookieUtils cookieUtils;
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
     
 
+    /**
+     * Login. A verificação BCrypt roda no pool dedicado (PasswordHashingExecutor), liberando a thread
+     * do Tomcat; com o pool cheio a resposta é 503 imediato.
+     */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequestRecord loginRequest, HttpServletResponse response) {
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequestRecord loginRequest) {
+        CompletableFuture<Authentication> autenticacao;
         try {
-            Authentication authentication = this.authenticationManager.authenticate(
+            autenticacao = this.passwordHashingExecutor.submeter(() -> this.authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(loginRequest.email(), loginRequest.senha())
-            );
-
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-            Usuario userPrincipal = (Usuario) authentication.getPrincipal();
-
-            String accessToken = this.jwtTokenProvider.generateToken(authentication);
-            String refreshToken = this.jwtTokenProvider.generateRefreshTokenForUserId(userPrincipal.getId());
+            ));
+        } catch (RejectedExecutionException e) {
+            ResponseEntity<?> ocupado = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", "Muitos logins simultâneos, tente novamente em instantes"));
+            return CompletableFuture.completedFuture(ocupado);
+        }
 
-            List<String> roles = userPrincipal.getAuthorities().stream()
-                    .map(GrantedAuthority::getAuthority)
-                    .collect(Collectors.toList());
+        return autenticacao.<ResponseEntity<?>>handle((authentication, ex) -> {
+            if (ex == null) {
+                return loginResponse(authentication);
+            }
+            Throwable causa = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (causa instanceof BadCredentialsException) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("error", "Email ou senha incorretos"));
+            }
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Erro interno"));
+        });
+    }
 
-            Map<String, Object> body = new HashMap<>();
-            body.put("usuario", Map.of(
-                "id", userPrincipal.getId(),
-                "nome", userPrincipal.getNome(),
-                "email", userPrincipal.getEmail(),
-                "roles", roles
-            ));
+    private ResponseEntity<?> loginResponse(Authentication authentication) {
+        Usuario userPrincipal = (Usuario) authentication.getPrincipal();
 
-            ResponseCookie accessCookie = this.cookieUtils.createAccessTokenCookie(accessToken);
-            ResponseCookie refreshCookie = this.cookieUtils.createRefreshTokenCookie(refreshToken);
+        String accessToken = this.jwtTokenProvider.generateToken(authentication);
+        String refreshToken = this.jwtTokenProvider.generateRefreshTokenForUserId(userPrincipal.getId());
 
-            response.addHeader(HttpHeaders.SET_COOKIE, accessCookie.toString());
-            response.addHeader(HttpHeaders.SET_COOKIE, refreshCookie.toString());
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("usuario", Map.of(
+            "id", userPrincipal.getId(),
+            "nome", userPrincipal.getNome(),
+            "email", userPrincipal.getEmail(),
+            "roles", roles
+        ));
 
-            return ResponseEntity.ok(body);
+        ResponseCookie accessCookie = this.cookieUtils.createAccessTokenCookie(accessToken);
+        ResponseCookie refreshCookie = this.cookieUtils.createRefreshTokenCookie(refreshToken);
 
-        } catch (BadCredentialsException e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("error", "Email ou senha incorretos"));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("error", "Erro interno"));
-        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, accessCookie.toString(), refreshCookie.toString())
+                .body(body);
     }
 
     @PostMapping("/logout")
@@ -115,14 +141,14 @@ public class AuthController {
         }
 
         try {
-            //valida primeiro
-            if (!this.jwtTokenProvider.validateToken(refreshToken)) {
+            //valida uma única vez e reaproveita as claims
+            Optional<Claims> claims = this.jwtTokenProvider.verificar(refreshToken);
+            if (claims.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("error", "Refresh token inválido ou expirado"));
             }
 
-            //depois extrai userId
-            Long userId = this.jwtTokenProvider.getUserIdFromToken(refreshToken);
+            Long userId = Long.parseLong(claims.get().getSubject());
             Usuario userDetails = (Usuario) this.userDetailsService.loadUserById(userId);
 
             String newAccessToken = this.jwtTokenProvider.generateToken(
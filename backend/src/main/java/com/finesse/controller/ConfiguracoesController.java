@@ -1,14 +1,21 @@
 package com.finesse.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import com.finesse.dto.ConfiguracaoAtiva;
+import com.finesse.dto.CursorPageResponse;
 import com.finesse.dto.PageResponse;
 import com.finesse.entity.Configuracoes;
 import com.finesse.service.ConfiguracoesService;
+import com.finesse.utils.KeysetCursor;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 
@@ -31,6 +38,39 @@ public class ConfiguracoesController {
         return ResponseEntity.ok(PageResponse.from(result));
     }
 
+    @GetMapping(params = "after")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPageResponse<Configuracoes>> listCursor(
+            @RequestParam(required = false) Boolean ativo,
+            @RequestParam(defaultValue = "") String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String sort) {
+        KeysetScrollPosition posicao;
+        try {
+            posicao = KeysetCursor.decode(after, Configuracoes.class);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+        Window<Configuracoes> result = service.listKeyset(ativo, posicao, size, sort);
+        return ResponseEntity.ok(CursorPageResponse.from(result, size));
+    }
+
+    @GetMapping("/ativa")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ConfiguracaoAtiva> ativa(WebRequest request) {
+        ConfiguracaoAtiva cfg = service.ativa();
+        if (!cfg.definida()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(cfg.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(cfg.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(cfg);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Configuracoes> get(@PathVariable Long id) {
@@ -0,0 +1,32 @@
+package com.finesse.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.finesse.dto.DashboardResponse;
+import com.finesse.service.DashboardService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@Tag(name = "Dashboard", description = "Indicadores agregados do catálogo")
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) { this.dashboardService = dashboardService; }
+
+    @Operation(summary = "Resumo do dashboard", description = "Serviços por status, lucro atual e potencial, ativos cadastrados e últimas alterações de preço")
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<DashboardResponse> resumo() {
+        return ResponseEntity.ok(dashboardService.resumo());
+    }
+}
@@ -4,7 +4,9 @@ import java.net.URI;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
@@ -12,8 +14,11 @@ import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.*;
 
 import com.finesse.entity.Material;
+import com.finesse.dto.CursorPageResponse;
+import com.finesse.dto.MaterialAtualizadoResponse;
 import com.finesse.dto.PageResponse;
 import com.finesse.service.MaterialService;
+import com.finesse.utils.KeysetCursor;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -45,6 +50,25 @@ public class MaterialController {
         return ResponseEntity.ok(PageResponse.from(result));
     }
 
+    @Operation(summary = "Listar materiais (cursor)", description = "Paginação por keyset: informe after vazio na primeira página e depois o campo next da resposta; não calcula totais")
+    @GetMapping(params = "after")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPageResponse<Material>> listCursor(
+            @RequestParam(required = false) String produto,
+            @RequestParam(required = false) Boolean ativo,
+            @RequestParam(defaultValue = "") String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String sort) {
+        KeysetScrollPosition posicao;
+        try {
+            posicao = KeysetCursor.decode(after, Material.class);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+        Window<Material> result = materialService.listKeyset(produto, ativo, posicao, size, sort);
+        return ResponseEntity.ok(CursorPageResponse.from(result, size));
+    }
+
     @Operation(summary = "Obter material por ID")
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
@@ -63,10 +87,10 @@ public class MaterialController {
         return ResponseEntity.created(URI.create("/api/materiais/" + created.getId())).body(created);
     }
 
-    @Operation(summary = "Atualizar material")
+    @Operation(summary = "Atualizar material", description = "Retorna também os serviços reprecificados pelo novo custo unitário")
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN')")
-    public ResponseEntity<Material> update(@PathVariable Long id, @Valid @RequestBody Material body) {
+    public ResponseEntity<MaterialAtualizadoResponse> update(@PathVariable Long id, @Valid @RequestBody Material body) {
         return materialService.update(id, body)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
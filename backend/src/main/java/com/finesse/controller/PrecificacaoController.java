@@ -0,0 +1,68 @@
+package com.finesse.controller;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import com.finesse.dto.SimulacaoRequest;
+import com.finesse.entity.StatusPrecificacao;
+import com.finesse.exception.ValidationException;
+import com.finesse.service.PrecificacaoService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@Tag(name = "Precificação", description = "Análise de custos, preços e rentabilidade dos serviços")
+@RequestMapping("/api/precificacao")
+public class PrecificacaoController {
+
+    @Autowired
+    private PrecificacaoService precificacaoService;
+
+    public PrecificacaoController(PrecificacaoService precificacaoService) { this.precificacaoService = precificacaoService; }
+
+    @Operation(summary = "Precificar todos os serviços", description = "Custo de mão de obra, insumos, markup, venda sugerida, lucro e status por serviço, com filtro por status e margem e ordenação (ex.: sort=margemPct,asc)")
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> list(@RequestParam(required = false) Boolean ativo,
+                                  @RequestParam(required = false) StatusPrecificacao status,
+                                  @RequestParam(required = false) BigDecimal margemMin,
+                                  @RequestParam(required = false) BigDecimal margemMax,
+                                  @RequestParam(required = false) String sort) {
+        try {
+            return ResponseEntity.ok(precificacaoService.listar(ativo, status, margemMin, margemMax, sort));
+        } catch (ValidationException ex) {
+            return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Simular cenários", description = "Recalcula o catálogo para cada cenário (pretensão, horas, custo fixo, margem, alíquotas) e compara com a configuração ativa, sem gravar")
+    @PostMapping("/simulacoes")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> simular(@RequestBody SimulacaoRequest request) {
+        try {
+            return ResponseEntity.ok(precificacaoService.simular(request));
+        } catch (ValidationException ex) {
+            return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Sensibilidade ao custo dos materiais", description = "Monte Carlo: varia o custo unitário de cada material em ±variacaoPct e devolve, por serviço com preço, a probabilidade de prejuízo e as margens P5/P50/P95")
+    @GetMapping("/sensibilidade")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> sensibilidade(@RequestParam(required = false) Integer ensaios,
+                                           @RequestParam(required = false) BigDecimal variacaoPct,
+                                           @RequestParam(required = false) Long semente,
+                                           @RequestParam(required = false) Boolean ativo) {
+        try {
+            return ResponseEntity.ok(precificacaoService.analisarSensibilidade(ensaios, variacaoPct, semente, ativo));
+        } catch (ValidationException ex) {
+            return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
+        }
+    }
+}
@@ -1,23 +1,28 @@
 package com.finesse.controller;
 
 import java.net.URI;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.*;
 
+import com.finesse.dto.CursorPageResponse;
 import com.finesse.dto.PageResponse;
 import com.finesse.dto.PrecoAtualResponse;
+import com.finesse.dto.PrecoLoteItemRequest;
+import com.finesse.dto.PrecoLoteResponse;
 import com.finesse.dto.ServicoDetailResponse;
 import com.finesse.entity.Servico;
 import com.finesse.service.ServicoService;
-import com.finesse.repository.PrecoPraticadoRepository;
-import com.finesse.repository.ServicoRepository;
+import com.finesse.utils.KeysetCursor;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -33,10 +38,6 @@ public class ServicoController {
 
     @Autowired
     private ServicoService servicoService;
-    @Autowired
-    private PrecoPraticadoRepository precoRepo;
-    @Autowired
-    private ServicoRepository servicoRepo;
  
     public ServicoController(ServicoService servicoService) { this.servicoService = servicoService; }
 
@@ -54,44 +55,32 @@ public class ServicoController {
         return ResponseEntity.ok(PageResponse.from(result));
     }
 
+    @Operation(summary = "Listar serviços (cursor)", description = "Paginação por keyset: informe after vazio na primeira página e depois o campo next da resposta; não calcula totais")
+    @GetMapping(params = "after")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPageResponse<Servico>> listCursor(
+            @RequestParam(required = false) String nome,
+            @RequestParam(required = false) String grupo,
+            @RequestParam(required = false) Boolean ativo,
+            @RequestParam(defaultValue = "") String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String sort) {
+        KeysetScrollPosition posicao;
+        try {
+            posicao = KeysetCursor.decode(after, Servico.class);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+        Window<Servico> result = servicoService.listKeyset(nome, grupo, ativo, posicao, size, sort);
+        return ResponseEntity.ok(CursorPageResponse.from(result, size));
+    }
+
     @Operation(summary = "Obter serviço por ID (com materiais)")
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
-    @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public ResponseEntity<ServicoDetailResponse> get(@PathVariable Long id) {
-        return servicoService.findById(id)
-                .map(s -> {
-                    var atv = s.getAtividade();
-                    var materiais = s.getMateriais().stream().map(sm -> 
-                        new com.finesse.dto.ServicoMaterialResponse(
-                                sm.getId(),
-                                sm.getMaterial() != null ? sm.getMaterial().getId() : null,
-                                sm.getMaterial() != null ? sm.getMaterial().getProduto() : null,
-                                sm.getMaterial() != null ? sm.getMaterial().getCustoUnitario() : java.math.BigDecimal.ZERO,
-                                sm.getQuantidadeUsada()
-                        )
-                    ).toList();
-                    var optPreco = precoRepo.findFirstByServico_IdAndVigenteTrueOrderByVigenciaInicioDesc(s.getId());
-                    if (optPreco.isEmpty()) {
-                        optPreco = precoRepo.findFirstByServico_IdOrderByVigenciaInicioDesc(s.getId());
-                    }
-                    var precoVigente = optPreco.map(p -> p.getPreco() != null ? p.getPreco().doubleValue() : null).orElse(null);
-                    var detalhe = new com.finesse.dto.ServicoDetailResponse(
-                            s.getId(),
-                            s.getNome(),
-                            s.getGrupo(),
-                            s.getDuracaoMinutos(),
-                            atv != null ? atv.getId() : null,
-                            atv != null ? atv.getNome() : null,
-                            atv != null ? (atv.getAliquotaTotalPct() != null ? atv.getAliquotaTotalPct().doubleValue() : null) : null,
-                            atv != null ? (atv.getIssPct() != null ? atv.getIssPct().doubleValue() : null) : null,
-                            s.getMargemLucroCustomPct() != null ? s.getMargemLucroCustomPct().doubleValue() : null,
-                            s.isAtivo(),
-                            precoVigente,
-                            materiais
-                    );
-                    return ResponseEntity.ok(detalhe);
-                })
+        return servicoService.detalhar(id)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -99,17 +88,14 @@ public class ServicoController {
     @GetMapping("/precos")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<java.util.List<PrecoAtualResponse>> listarPrecosAtuais() {
-        var servicos = servicoRepo.findAll();
-        var lista = new java.util.ArrayList<PrecoAtualResponse>(servicos.size());
-        for (var s : servicos) {
-            var opt = precoRepo.findFirstByServico_IdAndVigenteTrueOrderByVigenciaInicioDesc(s.getId());
-            if (opt.isEmpty()) {
-                opt = precoRepo.findFirstByServico_IdOrderByVigenciaInicioDesc(s.getId());
-            }
-            var preco = opt.map(p -> p.getPreco() != null ? p.getPreco().doubleValue() : null).orElse(null);
-            lista.add(new PrecoAtualResponse(s.getId(), preco));
-        }
-        return ResponseEntity.ok(lista);
+        return ResponseEntity.ok(servicoService.listarPrecosAtuais());
+    }
+
+    @Operation(summary = "Aplicar preços em lote", description = "Define o preço praticado de vários serviços em uma única transação, com vigência a partir de hoje")
+    @PostMapping("/precos/lote")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    public ResponseEntity<PrecoLoteResponse> aplicarPrecosEmLote(@RequestBody List<PrecoLoteItemRequest> body) {
+        return ResponseEntity.ok(servicoService.definirPrecosEmLote(body));
     }
 
     @Operation(summary = "Criar serviço")
@@ -118,9 +104,6 @@ public class ServicoController {
     @PreAuthorize("hasAnyRole('ADMIN')")
     public ResponseEntity<Servico> create(@Valid @RequestBody Servico body) {
         Servico created = servicoService.create(body);
-        if (body.getPrecoPraticadoInput() != null) {
-            servicoService.definirPreco(created.getId(), body.getPrecoPraticadoInput());
-        }
         return ResponseEntity.created(URI.create("/api/servicos/" + created.getId())).body(created);
     }
 
@@ -128,11 +111,9 @@ public class ServicoController {
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN')")
     public ResponseEntity<Servico> update(@PathVariable Long id, @Valid @RequestBody Servico body) {
-        var updated = servicoService.update(id, body);
-        if (updated.isPresent() && body.getPrecoPraticadoInput() != null) {
-            servicoService.definirPreco(id, body.getPrecoPraticadoInput());
-        }
-        return updated.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+        return servicoService.update(id, body)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @Operation(summary = "Alterar status (ativar/inativar)")
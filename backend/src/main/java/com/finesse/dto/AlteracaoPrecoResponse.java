@@ -0,0 +1,15 @@
+package com.finesse.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Preço registrado para um serviço; precoAnterior é null no primeiro preço.
+ */
+public record AlteracaoPrecoResponse(
+        Long servicoId,
+        String nome,
+        BigDecimal precoAnterior,
+        BigDecimal preco,
+        LocalDate vigenciaInicio
+) {}
@@ -0,0 +1,18 @@
+package com.finesse.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Cenário hipotético: campos nulos mantêm o valor da configuração ativa.
+ * aliquotaPorAtividade substitui a alíquota total (%) das atividades informadas (id → %).
+ */
+public record CenarioSimulacao(
+        String nome,
+        BigDecimal pretensaoSalarialMensal,
+        BigDecimal horasSemanais,
+        BigDecimal semanasMediaMes,
+        BigDecimal custoFixoPct,
+        BigDecimal margemLucroPadraoPct,
+        Map<Long, BigDecimal> aliquotaPorAtividade
+) {}
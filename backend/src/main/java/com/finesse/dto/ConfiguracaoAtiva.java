@@ -0,0 +1,55 @@
+package com.finesse.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.finesse.entity.Configuracoes;
+
+/**
+ * Fotografia imutável da configuração ativa, com os derivados já calculados.
+ * Os valores são os mesmos dos getters de {@link Configuracoes}, calculados uma única vez.
+ */
+public record ConfiguracaoAtiva(
+        Long id,
+        BigDecimal pretensaoSalarialMensal,
+        BigDecimal horasSemanais,
+        BigDecimal semanasMediaMes,
+        BigDecimal custoFixoPct,
+        BigDecimal margemLucroPadraoPct,
+        LocalDateTime atualizadoEm,
+        BigDecimal horasMensais,
+        BigDecimal valorHora,
+        BigDecimal valorMinuto,
+        BigDecimal custoFixoFrac,
+        BigDecimal margemPadraoFrac,
+        @JsonIgnore String etag
+) {
+
+    /** Usada quando não há configuração ativa: todos os derivados valem zero. */
+    public static final ConfiguracaoAtiva VAZIA = new ConfiguracaoAtiva(
+            null, null, null, null, null, null, null,
+            BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+            "\"cfg-0\"");
+
+    public static ConfiguracaoAtiva de(Configuracoes c) {
+        return new ConfiguracaoAtiva(
+                c.getId(),
+                c.getPretensaoSalarialMensal(),
+                c.getHorasSemanais(),
+                c.getSemanasMediaMes(),
+                c.getCustoFixoPct(),
+                c.getMargemLucroPadraoPct(),
+                c.getAtualizadoEm(),
+                c.getHorasMensais(),
+                c.getValorHora(),
+                c.getValorMinuto(),
+                c.getCustoFixoFrac(),
+                c.getMargemPadraoFrac(),
+                "\"cfg-" + c.getId() + "-" + c.getAtualizadoEm() + "\"");
+    }
+
+    public boolean definida() {
+        return id != null;
+    }
+}
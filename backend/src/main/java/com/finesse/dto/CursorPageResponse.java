@@ -0,0 +1,29 @@
+package com.finesse.dto;
+
+import java.util.List;
+import org.springframework.data.domain.Window;
+
+import com.finesse.utils.KeysetCursor;
+
+/**
+ * Página por keyset: sem totalElements/totalPages (não executa COUNT).
+ * next é o cursor para ?after= da próxima página; null na última.
+ */
+public record CursorPageResponse<T>(
+        List<T> content,
+        int size,
+        int numberOfElements,
+        boolean last,
+        String next
+) {
+    public static <T> CursorPageResponse<T> from(Window<T> window, int size) {
+        boolean last = !window.hasNext() || window.isEmpty();
+        return new CursorPageResponse<>(
+                window.getContent(),
+                size,
+                window.size(),
+                last,
+                last ? null : KeysetCursor.encode(window.positionAt(window.size() - 1))
+        );
+    }
+}
@@ -0,0 +1,22 @@
+package com.finesse.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Indicadores do dashboard. Status e lucros consideram apenas serviços ativos;
+ * lucros somam um atendimento de cada serviço.
+ */
+public record DashboardResponse(
+        long servicosSaudaveis,
+        long servicosAbaixo,
+        long servicosPrejuizo,
+        BigDecimal lucroAtual,
+        BigDecimal lucroPotencial,
+        long servicosAtivos,
+        long materiaisAtivos,
+        long atividadesAtivas,
+        List<AlteracaoPrecoResponse> alteracoesRecentes,
+        LocalDateTime geradoEm
+) {}
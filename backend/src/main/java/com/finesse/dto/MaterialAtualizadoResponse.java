@@ -0,0 +1,15 @@
+package com.finesse.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.finesse.entity.Material;
+
+/**
+ * Material atualizado (mesmos campos de antes, no nível raiz) e os serviços cujo preço sugerido
+ * mudou com o novo custo unitário.
+ */
+public record MaterialAtualizadoResponse(
+        @JsonUnwrapped Material material,
+        List<ServicoImpactadoResponse> servicosImpactados
+) {}
@@ -0,0 +1,24 @@
+package com.finesse.dto;
+
+import java.math.BigDecimal;
+
+import com.finesse.entity.StatusPrecificacao;
+
+public record PrecificacaoItemResponse(
+        Long servicoId,
+        String nome,
+        String grupo,
+        boolean ativo,
+        BigDecimal custoMaoObra,
+        BigDecimal custoInsumos,
+        BigDecimal custoDireto,
+        BigDecimal impostoFrac,
+        BigDecimal fixoFrac,
+        BigDecimal margemFrac,
+        BigDecimal fatorPreco,
+        BigDecimal vendaAtual,
+        BigDecimal vendaSugerida,
+        BigDecimal lucro,
+        BigDecimal margemPct,
+        StatusPrecificacao status
+) {}
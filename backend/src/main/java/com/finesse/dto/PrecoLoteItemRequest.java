@@ -0,0 +1,15 @@
+package com.finesse.dto;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Item de POST /api/servicos/precos/lote. O preço passa a valer no dia da aplicação:
+ * não há agendamento, e um campo desconhecido (ex.: vigenciaInicio) é recusado em vez de ignorado.
+ */
+@JsonIgnoreProperties(ignoreUnknown = false)
+public record PrecoLoteItemRequest(
+        Long servicoId,
+        BigDecimal preco
+) {}
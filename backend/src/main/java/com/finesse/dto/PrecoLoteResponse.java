@@ -0,0 +1,13 @@
+package com.finesse.dto;
+
+import java.util.List;
+
+/**
+ * Resultado da aplicação de preços em lote.
+ * inalterados: serviços cujo preço vigente já era o informado (nenhuma linha criada).
+ */
+public record PrecoLoteResponse(
+        int recebidos,
+        int alterados,
+        List<Long> inalterados
+) {}
@@ -0,0 +1,16 @@
+package com.finesse.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Resultado da análise de sensibilidade ao custo dos materiais.
+ * Repetir com a mesma semente, ensaios e variação devolve os mesmos números.
+ */
+public record SensibilidadeResponse(
+        int ensaios,
+        BigDecimal variacaoPct,
+        long semente,
+        long duracaoMs,
+        List<SensibilidadeServicoResponse> servicos
+) {}
@@ -0,0 +1,17 @@
+package com.finesse.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Risco de um serviço ao preço atual: fração dos ensaios em PREJUIZO e percentis da margem (%).
+ */
+public record SensibilidadeServicoResponse(
+        Long servicoId,
+        String nome,
+        BigDecimal vendaAtual,
+        BigDecimal margemAtualPct,
+        BigDecimal probabilidadePrejuizoPct,
+        BigDecimal margemP5Pct,
+        BigDecimal margemP50Pct,
+        BigDecimal margemP95Pct
+) {}
@@ -0,0 +1,21 @@
+package com.finesse.dto;
+
+import java.math.BigDecimal;
+
+import com.finesse.entity.StatusPrecificacao;
+
+/**
+ * Serviço reprecificado por uma mudança no custo de um material (anterior = custo antigo do material).
+ */
+public record ServicoImpactadoResponse(
+        Long servicoId,
+        String nome,
+        BigDecimal quantidadeUsada,
+        BigDecimal custoInsumosAnterior,
+        BigDecimal custoInsumos,
+        BigDecimal vendaSugeridaAnterior,
+        BigDecimal vendaSugerida,
+        BigDecimal vendaAtual,
+        StatusPrecificacao statusAnterior,
+        StatusPrecificacao status
+) {}
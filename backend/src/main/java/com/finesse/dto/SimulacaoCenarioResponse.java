@@ -0,0 +1,23 @@
+package com.finesse.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Agregados de um cenário.
+ * lucroTotal: soma do lucro por atendimento ao preço atual (só serviços com preço);
+ * variacaoLucroTotal e mudaramDeStatus são relativos à configuração ativa;
+ * maisAfetados: maiores variações absolutas da venda sugerida.
+ */
+public record SimulacaoCenarioResponse(
+        String nome,
+        BigDecimal valorMinuto,
+        int saudaveis,
+        int abaixo,
+        int prejuizo,
+        int mudaramDeStatus,
+        BigDecimal lucroTotal,
+        BigDecimal variacaoLucroTotal,
+        BigDecimal vendaSugeridaMedia,
+        List<SimulacaoServicoImpacto> maisAfetados
+) {}
@@ -0,0 +1,13 @@
+package com.finesse.dto;
+
+import java.util.List;
+
+/**
+ * Corpo de POST /api/precificacao/simulacoes.
+ * topK nulo = 10; ativo nulo = todos os serviços.
+ */
+public record SimulacaoRequest(
+        List<CenarioSimulacao> cenarios,
+        Integer topK,
+        Boolean ativo
+) {}
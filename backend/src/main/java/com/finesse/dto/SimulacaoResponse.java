@@ -0,0 +1,12 @@
+package com.finesse.dto;
+
+import java.util.List;
+
+/**
+ * Resultado da simulação: um agregado por cenário, na ordem recebida.
+ */
+public record SimulacaoResponse(
+        int servicos,
+        long duracaoMs,
+        List<SimulacaoCenarioResponse> cenarios
+) {}
@@ -0,0 +1,18 @@
+package com.finesse.dto;
+
+import java.math.BigDecimal;
+
+import com.finesse.entity.StatusPrecificacao;
+
+/**
+ * Serviço entre os mais afetados por um cenário (atual = configuração ativa).
+ */
+public record SimulacaoServicoImpacto(
+        Long servicoId,
+        String nome,
+        BigDecimal vendaSugeridaAtual,
+        BigDecimal vendaSugeridaCenario,
+        BigDecimal variacao,
+        StatusPrecificacao statusAtual,
+        StatusPrecificacao statusCenario
+) {}
@@ -5,6 +5,7 @@ import java.math.BigDecimal;
 import java.util.*;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.finesse.utils.TextoNormalizado;
 
 /** 
  * Entidade que representa uma Atividade (CNAE/Alíquotas)
@@ -14,12 +15,18 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 public class Atividade {
 
     @Id 
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "atividades_seq")
+    @SequenceGenerator(name = "atividades_seq", sequenceName = "atividades_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 120)
     private String nome;
 
+    /** nome em minúsculas e sem acentos; mantido pelo setter, usado em busca e ordenação. */
+    @JsonIgnore
+    @Column(name = "nome_normalizado", length = 120)
+    private String nomeNormalizado;
+
     @Column(nullable = false, length = 20)
     private String cnae;
 
@@ -72,6 +79,11 @@ public class Atividade {
 
     public void setNome(String nome) {
         this.nome = nome;
+        this.nomeNormalizado = TextoNormalizado.normalizar(nome);
+    }
+
+    public String getNomeNormalizado() {
+        return nomeNormalizado;
     }
 
     public String getCnae() {
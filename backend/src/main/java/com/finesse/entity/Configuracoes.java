@@ -10,7 +10,8 @@ import java.math.RoundingMode;
 public class Configuracoes {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "configuracoes_seq")
+    @SequenceGenerator(name = "configuracoes_seq", sequenceName = "configuracoes_seq", allocationSize = 50)
     private Long id;
 
     /* ====== Financeiro ====== */
@@ -40,6 +41,9 @@ public class Configuracoes {
     @Column(nullable = false)
     private boolean ativo = true;
 
+    private static final BigDecimal CEM = new BigDecimal("100");
+    private static final BigDecimal SESSENTA = new BigDecimal("60");
+
     public Configuracoes() {}
 
     /* ====== Derivados (não persistir) ====== */
@@ -60,7 +64,7 @@ public class Configuracoes {
 
     @Transient
     public BigDecimal getValorMinuto() { // Valor por minuto
-        return getValorHora().divide(new BigDecimal("60"), 8, RoundingMode.HALF_UP);
+        return getValorHora().divide(SESSENTA, 8, RoundingMode.HALF_UP);
     }
 
     @Transient
@@ -75,7 +79,7 @@ public class Configuracoes {
 
     private BigDecimal pctToFrac(BigDecimal pct) { // Converter porcentagem para fração
         if (pct == null) return BigDecimal.ZERO;
-        return pct.divide(new BigDecimal("100"), 8, RoundingMode.HALF_UP);
+        return pct.divide(CEM, 8, RoundingMode.HALF_UP);
     }
 
     public Long getId() {
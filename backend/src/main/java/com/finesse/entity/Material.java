@@ -1,10 +1,14 @@
 package com.finesse.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.finesse.utils.TextoNormalizado;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -18,13 +22,19 @@ import java.util.Objects;
 public class Material {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "materiais_seq")
+    @SequenceGenerator(name = "materiais_seq", sequenceName = "materiais_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Nome do produto é obrigatório")
     @Column(nullable = false, length = 200)
     private String produto;
 
+    /** produto em minúsculas e sem acentos; mantido pelo setter, usado em busca e ordenação. */
+    @JsonIgnore
+    @Column(name = "produto_normalizado", length = 200)
+    private String produtoNormalizado;
+
     @NotNull(message = "Unidade de medida é obrigatória")
     @Column(name = "unidade_medida", nullable = false, length = 20)
     private UnidadeMedida unidadeMedida;
@@ -39,6 +49,8 @@ public class Material {
     @Column(name = "preco_embalagem", nullable = false, precision = 10, scale = 2)
     private BigDecimal precoEmbalagem;
 
+    /** Coluna gerada no banco (preco_embalagem / volume_embalagem); relida após insert e update. */
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
     @Column(name = "custo_unitario", nullable = false, precision = 10, scale = 6, insertable = false, updatable = false)
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private BigDecimal custoUnitario;
@@ -57,7 +69,7 @@ public class Material {
 
     public Material(String produto, UnidadeMedida unidadeMedida, BigDecimal volumeEmbalagem, 
                    BigDecimal precoEmbalagem) {
-        this.produto = produto;
+        setProduto(produto);
         this.unidadeMedida = unidadeMedida;
         this.volumeEmbalagem = volumeEmbalagem;
         this.precoEmbalagem = precoEmbalagem;
@@ -90,6 +102,11 @@ public class Material {
 
     public void setProduto(String produto) {
         this.produto = produto;
+        this.produtoNormalizado = TextoNormalizado.normalizar(produto);
+    }
+
+    public String getProdutoNormalizado() {
+        return produtoNormalizado;
     }
 
     public UnidadeMedida getUnidadeMedida() {
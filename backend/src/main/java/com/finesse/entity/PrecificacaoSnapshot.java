@@ -0,0 +1,215 @@
+package com.finesse.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Linha do modelo de leitura da precificação (tabela precificacao_snapshot).
+ * Somente leitura pelo JPA; gravada em lote por PrecificacaoSnapshotAtualizador.
+ */
+@Entity
+@Immutable
+@Table(name = "precificacao_snapshot")
+public class PrecificacaoSnapshot {
+
+    @Id
+    @Column(name = "servico_id")
+    private Long servicoId;
+
+    @Column(nullable = false, length = 180)
+    private String nome;
+
+    @Column(nullable = false, length = 80)
+    private String grupo;
+
+    /** Chaves de ordenação (TextoNormalizado) de nome e grupo. */
+    @Column(name = "nome_normalizado", length = 180)
+    private String nomeNormalizado;
+
+    @Column(name = "grupo_normalizado", length = 80)
+    private String grupoNormalizado;
+
+    @Column(nullable = false)
+    private boolean ativo;
+
+    @Column(name = "custo_mao_obra", nullable = false, precision = 14, scale = 2)
+    private BigDecimal custoMaoObra;
+
+    @Column(name = "custo_insumos", nullable = false, precision = 14, scale = 2)
+    private BigDecimal custoInsumos;
+
+    @Column(name = "custo_direto", nullable = false, precision = 14, scale = 2)
+    private BigDecimal custoDireto;
+
+    @Column(name = "imposto_frac", nullable = false, precision = 14, scale = 4)
+    private BigDecimal impostoFrac;
+
+    @Column(name = "fixo_frac", nullable = false, precision = 14, scale = 4)
+    private BigDecimal fixoFrac;
+
+    @Column(name = "margem_frac", nullable = false, precision = 14, scale = 4)
+    private BigDecimal margemFrac;
+
+    @Column(name = "fator_preco", nullable = false, precision = 14, scale = 4)
+    private BigDecimal fatorPreco;
+
+    @Column(name = "venda_atual", nullable = false, precision = 14, scale = 2)
+    private BigDecimal vendaAtual;
+
+    @Column(name = "venda_sugerida", nullable = false, precision = 14, scale = 2)
+    private BigDecimal vendaSugerida;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal lucro;
+
+    @Column(name = "margem_pct", nullable = false, precision = 14, scale = 2)
+    private BigDecimal margemPct;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StatusPrecificacao status;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+
+    public PrecificacaoSnapshot() {}
+
+    public Long getServicoId() {
+        return servicoId;
+    }
+
+    public void setServicoId(Long servicoId) {
+        this.servicoId = servicoId;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public String getGrupo() {
+        return grupo;
+    }
+
+    public void setGrupo(String grupo) {
+        this.grupo = grupo;
+    }
+
+    public boolean isAtivo() {
+        return ativo;
+    }
+
+    public void setAtivo(boolean ativo) {
+        this.ativo = ativo;
+    }
+
+    public BigDecimal getCustoMaoObra() {
+        return custoMaoObra;
+    }
+
+    public void setCustoMaoObra(BigDecimal custoMaoObra) {
+        this.custoMaoObra = custoMaoObra;
+    }
+
+    public BigDecimal getCustoInsumos() {
+        return custoInsumos;
+    }
+
+    public void setCustoInsumos(BigDecimal custoInsumos) {
+        this.custoInsumos = custoInsumos;
+    }
+
+    public BigDecimal getCustoDireto() {
+        return custoDireto;
+    }
+
+    public void setCustoDireto(BigDecimal custoDireto) {
+        this.custoDireto = custoDireto;
+    }
+
+    public BigDecimal getImpostoFrac() {
+        return impostoFrac;
+    }
+
+    public void setImpostoFrac(BigDecimal impostoFrac) {
+        this.impostoFrac = impostoFrac;
+    }
+
+    public BigDecimal getFixoFrac() {
+        return fixoFrac;
+    }
+
+    public void setFixoFrac(BigDecimal fixoFrac) {
+        this.fixoFrac = fixoFrac;
+    }
+
+    public BigDecimal getMargemFrac() {
+        return margemFrac;
+    }
+
+    public void setMargemFrac(BigDecimal margemFrac) {
+        this.margemFrac = margemFrac;
+    }
+
+    public BigDecimal getFatorPreco() {
+        return fatorPreco;
+    }
+
+    public void setFatorPreco(BigDecimal fatorPreco) {
+        this.fatorPreco = fatorPreco;
+    }
+
+    public BigDecimal getVendaAtual() {
+        return vendaAtual;
+    }
+
+    public void setVendaAtual(BigDecimal vendaAtual) {
+        this.vendaAtual = vendaAtual;
+    }
+
+    public BigDecimal getVendaSugerida() {
+        return vendaSugerida;
+    }
+
+    public void setVendaSugerida(BigDecimal vendaSugerida) {
+        this.vendaSugerida = vendaSugerida;
+    }
+
+    public BigDecimal getLucro() {
+        return lucro;
+    }
+
+    public void setLucro(BigDecimal lucro) {
+        this.lucro = lucro;
+    }
+
+    public BigDecimal getMargemPct() {
+        return margemPct;
+    }
+
+    public void setMargemPct(BigDecimal margemPct) {
+        this.margemPct = margemPct;
+    }
+
+    public StatusPrecificacao getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusPrecificacao status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    public void setAtualizadoEm(LocalDateTime atualizadoEm) {
+        this.atualizadoEm = atualizadoEm;
+    }
+}
@@ -10,7 +10,8 @@ import java.time.LocalDate;
 public class PrecoPraticado {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "precos_praticados_seq")
+    @SequenceGenerator(name = "precos_praticados_seq", sequenceName = "precos_praticados_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -4,31 +4,65 @@ import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.*;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.finesse.utils.TextoNormalizado;
 import java.time.LocalDate;
 
 @Entity
 @Table(name = "servicos")
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = Servico.GRAFO_DETALHE,
+                attributeNodes = {
+                        @NamedAttributeNode("atividade"),
+                        @NamedAttributeNode(value = "materiais", subgraph = "material")
+                },
+                subgraphs = @NamedSubgraph(name = "material", attributeNodes = @NamedAttributeNode("material"))),
+        @NamedEntityGraph(name = Servico.GRAFO_MATERIAIS,
+                attributeNodes = @NamedAttributeNode(value = "materiais", subgraph = "material"),
+                subgraphs = @NamedSubgraph(name = "material", attributeNodes = @NamedAttributeNode("material")))
+})
 public class Servico {
 
+    /** detalhe: atividade + materiais + material em uma consulta */
+    public static final String GRAFO_DETALHE = "Servico.detalhe";
+    /** precificação/edição: apenas materiais + material */
+    public static final String GRAFO_MATERIAIS = "Servico.materiais";
+
     @Id 
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "servicos_seq")
+    @SequenceGenerator(name = "servicos_seq", sequenceName = "servicos_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 180)
     private String nome;
 
+    /** nome em minúsculas e sem acentos; mantido pelo setter, usado em busca e ordenação. */
+    @JsonIgnore
+    @Column(name = "nome_normalizado", length = 180)
+    private String nomeNormalizado;
+
     @Column(nullable = false, length = 80)
     private String grupo;
 
+    /** grupo em minúsculas e sem acentos; mantido pelo setter, usado em busca e ordenação. */
+    @JsonIgnore
+    @Column(name = "grupo_normalizado", length = 80)
+    private String grupoNormalizado;
+
     @Column(name = "duracao_minutos", nullable = false)
     private Integer duracaoMinutos;
 
-    @ManyToOne(fetch = FetchType.EAGER, optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "atividade_id", nullable = false,
             foreignKey = @ForeignKey(name = "fk_servico_atividade"))
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private Atividade atividade;
 
+    // FK somente leitura: expõe a atividade no JSON sem carregar a associação
+    @Column(name = "atividade_id", insertable = false, updatable = false)
+    private Long atividadeId;
+
     /**
      * margem de lucro personalizada por serviço (percentual "humano")
      * Se null, usa Configuracao.margemLucroPadraoPct
@@ -94,6 +128,11 @@ public class Servico {
 
     public void setNome(String nome) {
         this.nome = nome;
+        this.nomeNormalizado = TextoNormalizado.normalizar(nome);
+    }
+
+    public String getNomeNormalizado() {
+        return nomeNormalizado;
     }
 
     public String getGrupo() {
@@ -102,6 +141,11 @@ public class Servico {
 
     public void setGrupo(String grupo) {
         this.grupo = grupo;
+        this.grupoNormalizado = TextoNormalizado.normalizar(grupo);
+    }
+
+    public String getGrupoNormalizado() {
+        return grupoNormalizado;
     }
 
     public Integer getDuracaoMinutos() {
@@ -118,6 +162,11 @@ public class Servico {
 
     public void setAtividade(Atividade atividade) {
         this.atividade = atividade;
+        this.atividadeId = atividade != null ? atividade.getId() : null;
+    }
+
+    public Long getAtividadeId() {
+        return atividadeId;
     }
 
     public BigDecimal getMargemLucroCustomPct() {
@@ -12,7 +12,8 @@ import java.math.BigDecimal;
 public class ServicoMaterial {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "servico_materiais_seq")
+    @SequenceGenerator(name = "servico_materiais_seq", sequenceName = "servico_materiais_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
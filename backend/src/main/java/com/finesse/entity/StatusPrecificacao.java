@@ -0,0 +1,23 @@
+package com.finesse.entity;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Situação de rentabilidade de um serviço em relação ao preço sugerido
+ */
+public enum StatusPrecificacao {
+    SAUDAVEL("SAUDÁVEL"),
+    ABAIXO("ABAIXO"),
+    PREJUIZO("PREJUÍZO");
+
+    private final String descricao;
+
+    StatusPrecificacao(String descricao) {
+        this.descricao = descricao;
+    }
+
+    @JsonValue
+    public String getDescricao() {
+        return descricao;
+    }
+}
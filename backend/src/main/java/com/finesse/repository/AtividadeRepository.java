@@ -1,7 +1,11 @@
 package com.finesse.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,5 +15,15 @@ import com.finesse.entity.Atividade;
 public interface AtividadeRepository extends JpaRepository<Atividade, Long> {
 
     Page<Atividade> findByAtivo(Boolean ativo, Pageable pageable);
+    Page<Atividade> findByNomeNormalizadoContaining(String nomeNormalizado, Pageable pageable);
+    Page<Atividade> findByNomeNormalizadoContainingAndAtivo(String nomeNormalizado, Boolean ativo, Pageable pageable);
+
+    long countByAtivoTrue();
+
+    // keyset (sem COUNT)
+    Window<Atividade> findAllBy(ScrollPosition posicao, Sort sort, Limit limit);
+    Window<Atividade> findByAtivo(Boolean ativo, ScrollPosition posicao, Sort sort, Limit limit);
+    Window<Atividade> findByNomeNormalizadoContaining(String nomeNormalizado, ScrollPosition posicao, Sort sort, Limit limit);
+    Window<Atividade> findByNomeNormalizadoContainingAndAtivo(String nomeNormalizado, Boolean ativo, ScrollPosition posicao, Sort sort, Limit limit);
 
 }
@@ -1,7 +1,13 @@
 package com.finesse.repository;
 
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,4 +16,7 @@ import com.finesse.entity.Configuracoes;
 @Repository
 public interface ConfiguracoesRepository extends JpaRepository<Configuracoes, Long> {
     Page<Configuracoes> findByAtivo(Boolean ativo, Pageable pageable);
+    Window<Configuracoes> findAllBy(ScrollPosition posicao, Sort sort, Limit limit);
+    Window<Configuracoes> findByAtivo(Boolean ativo, ScrollPosition posicao, Sort sort, Limit limit);
+    Optional<Configuracoes> findFirstByAtivoTrueOrderByAtualizadoEmDesc();
 }
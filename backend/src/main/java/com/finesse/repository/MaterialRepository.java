@@ -1,7 +1,11 @@
 package com.finesse.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,5 +16,15 @@ public interface MaterialRepository extends JpaRepository<Material, Long> {
     Page<Material> findByProdutoContainingIgnoreCase(String produto, Pageable pageable);
     Page<Material> findByAtivo(Boolean ativo, Pageable pageable);
     Page<Material> findByProdutoContainingIgnoreCaseAndAtivo(String produto, Boolean ativo, Pageable pageable);
+    Page<Material> findByProdutoNormalizadoContaining(String produtoNormalizado, Pageable pageable);
+    Page<Material> findByProdutoNormalizadoContainingAndAtivo(String produtoNormalizado, Boolean ativo, Pageable pageable);
+
+    long countByAtivoTrue();
+
+    // keyset (sem COUNT)
+    Window<Material> findAllBy(ScrollPosition posicao, Sort sort, Limit limit);
+    Window<Material> findByAtivo(Boolean ativo, ScrollPosition posicao, Sort sort, Limit limit);
+    Window<Material> findByProdutoNormalizadoContaining(String produtoNormalizado, ScrollPosition posicao, Sort sort, Limit limit);
+    Window<Material> findByProdutoNormalizadoContainingAndAtivo(String produtoNormalizado, Boolean ativo, ScrollPosition posicao, Sort sort, Limit limit);
 }
 
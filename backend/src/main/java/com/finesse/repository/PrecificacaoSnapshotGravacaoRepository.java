@@ -0,0 +1,16 @@
+package com.finesse.repository;
+
+import java.util.List;
+
+import com.finesse.dto.PrecificacaoItemResponse;
+
+/**
+ * Escrita em lote do modelo de leitura via JDBC (fragmento de {@link PrecificacaoSnapshotRepository}).
+ */
+public interface PrecificacaoSnapshotGravacaoRepository {
+
+    /**
+     * Insere ou substitui (upsert por servico_id) a linha de cada serviço com batch JDBC.
+     */
+    void gravar(List<PrecificacaoItemResponse> linhas);
+}
@@ -0,0 +1,59 @@
+package com.finesse.repository;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.finesse.dto.PrecificacaoItemResponse;
+import com.finesse.utils.TextoNormalizado;
+
+class PrecificacaoSnapshotGravacaoRepositoryImpl implements PrecificacaoSnapshotGravacaoRepository {
+
+    private static final int TAMANHO_BATCH = 100;
+
+    private static final String SQL_GRAVAR = """
+            INSERT INTO precificacao_snapshot (servico_id, nome, grupo, ativo, custo_mao_obra, custo_insumos,
+                custo_direto, imposto_frac, fixo_frac, margem_frac, fator_preco, venda_atual, venda_sugerida,
+                lucro, margem_pct, status, nome_normalizado, grupo_normalizado, atualizado_em)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
+            ON CONFLICT (servico_id) DO UPDATE SET
+                nome = EXCLUDED.nome, grupo = EXCLUDED.grupo, ativo = EXCLUDED.ativo,
+                nome_normalizado = EXCLUDED.nome_normalizado, grupo_normalizado = EXCLUDED.grupo_normalizado,
+                custo_mao_obra = EXCLUDED.custo_mao_obra, custo_insumos = EXCLUDED.custo_insumos,
+                custo_direto = EXCLUDED.custo_direto, imposto_frac = EXCLUDED.imposto_frac,
+                fixo_frac = EXCLUDED.fixo_frac, margem_frac = EXCLUDED.margem_frac,
+                fator_preco = EXCLUDED.fator_preco, venda_atual = EXCLUDED.venda_atual,
+                venda_sugerida = EXCLUDED.venda_sugerida, lucro = EXCLUDED.lucro,
+                margem_pct = EXCLUDED.margem_pct, status = EXCLUDED.status,
+                atualizado_em = EXCLUDED.atualizado_em
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void gravar(List<PrecificacaoItemResponse> linhas) {
+        if (linhas.isEmpty()) return;
+        jdbcTemplate.batchUpdate(SQL_GRAVAR, linhas, TAMANHO_BATCH, (ps, l) -> {
+            ps.setLong(1, l.servicoId());
+            ps.setString(2, l.nome());
+            ps.setString(3, l.grupo());
+            ps.setBoolean(4, l.ativo());
+            ps.setBigDecimal(5, l.custoMaoObra());
+            ps.setBigDecimal(6, l.custoInsumos());
+            ps.setBigDecimal(7, l.custoDireto());
+            ps.setBigDecimal(8, l.impostoFrac());
+            ps.setBigDecimal(9, l.fixoFrac());
+            ps.setBigDecimal(10, l.margemFrac());
+            ps.setBigDecimal(11, l.fatorPreco());
+            ps.setBigDecimal(12, l.vendaAtual());
+            ps.setBigDecimal(13, l.vendaSugerida());
+            ps.setBigDecimal(14, l.lucro());
+            ps.setBigDecimal(15, l.margemPct());
+            ps.setString(16, l.status().name());
+            ps.setString(17, TextoNormalizado.normalizar(l.nome()));
+            ps.setString(18, TextoNormalizado.normalizar(l.grupo()));
+        });
+    }
+}
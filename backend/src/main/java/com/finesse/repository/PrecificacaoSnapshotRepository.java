@@ -0,0 +1,32 @@
+package com.finesse.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.finesse.entity.PrecificacaoSnapshot;
+import com.finesse.repository.projection.ResumoStatusView;
+
+@Repository
+public interface PrecificacaoSnapshotRepository extends JpaRepository<PrecificacaoSnapshot, Long>,
+        JpaSpecificationExecutor<PrecificacaoSnapshot>, PrecificacaoSnapshotGravacaoRepository {
+
+    /**
+     * Serviços ativos por status com o lucro ao preço atual (só quem tem preço) e o lucro
+     * se todos cobrassem a venda sugerida, na mesma fórmula da PrecificacaoCalculadora.
+     */
+    @Query(value = """
+            SELECT ps.status AS "status",
+                   COUNT(*) AS "quantidade",
+                   COALESCE(SUM(ps.lucro) FILTER (WHERE ps.venda_atual > 0), 0) AS "lucroAtual",
+                   COALESCE(SUM(ROUND(ps.venda_sugerida * (1 - ps.imposto_frac - ps.fixo_frac) - ps.custo_direto, 2)), 0)
+                       AS "lucroPotencial"
+            FROM precificacao_snapshot ps
+            WHERE ps.ativo
+            GROUP BY ps.status
+            """, nativeQuery = true)
+    List<ResumoStatusView> resumirAtivosPorStatus();
+}
@@ -0,0 +1,24 @@
+package com.finesse.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.finesse.dto.PrecoLoteItemRequest;
+
+/**
+ * Escrita em lote de preços praticados via JDBC (fragmento de {@link PrecoPraticadoRepository}).
+ */
+public interface PrecoPraticadoLoteRepository {
+
+    /**
+     * Encerra, em um único UPDATE, o preço vigente de cada serviço do lote
+     * (vigente = false, vigencia_fim = inicio).
+     * @return linhas encerradas
+     */
+    int encerrarVigentes(List<PrecoLoteItemRequest> itens, LocalDate inicio);
+
+    /**
+     * Insere os novos preços vigentes a partir de inicio com batch JDBC.
+     */
+    void inserirVigentes(List<PrecoLoteItemRequest> itens, LocalDate inicio);
+}
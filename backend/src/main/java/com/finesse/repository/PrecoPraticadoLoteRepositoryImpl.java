@@ -0,0 +1,54 @@
+package com.finesse.repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.finesse.dto.PrecoLoteItemRequest;
+
+class PrecoPraticadoLoteRepositoryImpl implements PrecoPraticadoLoteRepository {
+
+    private static final int TAMANHO_BATCH = 100;
+
+    private static final String SQL_ENCERRAR = """
+            UPDATE precos_praticados pp
+            SET vigente = FALSE, vigencia_fim = ?
+            FROM unnest(?::bigint[]) AS v(servico_id)
+            WHERE pp.servico_id = v.servico_id AND pp.vigente
+            """;
+
+    private static final String SQL_INSERIR = """
+            INSERT INTO precos_praticados (servico_id, preco, vigencia_inicio, vigencia_fim, vigente)
+            VALUES (?, ?, ?, NULL, TRUE)
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int encerrarVigentes(List<PrecoLoteItemRequest> itens, LocalDate inicio) {
+        if (itens.isEmpty()) return 0;
+        Long[] servicos = itens.stream().map(PrecoLoteItemRequest::servicoId).toArray(Long[]::new);
+        return jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(SQL_ENCERRAR);
+            ps.setDate(1, Date.valueOf(inicio));
+            ps.setArray(2, con.createArrayOf("bigint", servicos));
+            return ps;
+        });
+    }
+
+    @Override
+    public void inserirVigentes(List<PrecoLoteItemRequest> itens, LocalDate inicio) {
+        if (itens.isEmpty()) return;
+        Date data = Date.valueOf(inicio);
+        jdbcTemplate.batchUpdate(SQL_INSERIR, itens, TAMANHO_BATCH, (ps, item) -> {
+            ps.setLong(1, item.servicoId());
+            ps.setBigDecimal(2, item.preco());
+            ps.setDate(3, data);
+        });
+    }
+}
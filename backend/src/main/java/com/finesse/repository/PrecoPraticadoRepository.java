@@ -1,14 +1,87 @@
 package com.finesse.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.finesse.entity.PrecoPraticado;
+import com.finesse.repository.projection.AlteracaoPrecoView;
+import com.finesse.repository.projection.PrecoAtualView;
 
 @Repository
-public interface PrecoPraticadoRepository extends JpaRepository<PrecoPraticado, Long> {
+public interface PrecoPraticadoRepository extends JpaRepository<PrecoPraticado, Long>, PrecoPraticadoLoteRepository {
     Optional<PrecoPraticado> findFirstByServico_IdAndVigenteTrueOrderByVigenciaInicioDesc(Long servicoId);
     Optional<PrecoPraticado> findFirstByServico_IdOrderByVigenciaInicioDesc(Long servicoId);
+    // preço atual em uma consulta: vigente primeiro, senão o mais recente (mesma ordem de findPrecosAtuais)
+    Optional<PrecoPraticado> findFirstByServico_IdOrderByVigenteDescVigenciaInicioDescIdDesc(Long servicoId);
+
+    /**
+     * Preço atual de todos os serviços em uma única consulta:
+     * o vigente mais recente ou, na falta dele, o último registrado.
+     */
+    @Query(value = """
+            SELECT DISTINCT ON (pp.servico_id) pp.servico_id AS "servicoId", pp.preco AS "preco"
+            FROM precos_praticados pp
+            ORDER BY pp.servico_id, pp.vigente DESC, pp.vigencia_inicio DESC, pp.id DESC
+            """, nativeQuery = true)
+    List<PrecoAtualView> findPrecosAtuais();
+
+    /**
+     * Igual a {@link #findPrecosAtuais()}, restrito aos serviços informados.
+     */
+    @Query(value = """
+            SELECT DISTINCT ON (pp.servico_id) pp.servico_id AS "servicoId", pp.preco AS "preco"
+            FROM precos_praticados pp
+            WHERE pp.servico_id IN (:servicoIds)
+            ORDER BY pp.servico_id, pp.vigente DESC, pp.vigencia_inicio DESC, pp.id DESC
+            """, nativeQuery = true)
+    List<PrecoAtualView> findPrecosAtuaisByServicoIdIn(@Param("servicoIds") Collection<Long> servicoIds);
+
+    /**
+     * Igual a {@link #findPrecosAtuais()}, mas inclui todos os serviços;
+     * serviços sem preço registrado retornam preco = null.
+     */
+    @Query(value = """
+            SELECT s.id AS "servicoId", pa.preco AS "preco"
+            FROM servicos s
+            LEFT JOIN (
+                SELECT DISTINCT ON (pp.servico_id) pp.servico_id, pp.preco
+                FROM precos_praticados pp
+                ORDER BY pp.servico_id, pp.vigente DESC, pp.vigencia_inicio DESC, pp.id DESC
+            ) pa ON pa.servico_id = s.id
+            ORDER BY s.id
+            """, nativeQuery = true)
+    List<PrecoAtualView> findPrecosAtuaisDeTodosServicos();
+
+    /**
+     * Preço vigente dos serviços informados (um por serviço).
+     */
+    @Query(value = """
+            SELECT DISTINCT ON (pp.servico_id) pp.servico_id AS "servicoId", pp.preco AS "preco"
+            FROM precos_praticados pp
+            WHERE pp.vigente AND pp.servico_id IN (:servicoIds)
+            ORDER BY pp.servico_id, pp.vigencia_inicio DESC, pp.id DESC
+            """, nativeQuery = true)
+    List<PrecoAtualView> findPrecosVigentes(@Param("servicoIds") Collection<Long> servicoIds);
+
+    /**
+     * Últimos preços registrados (mais recentes primeiro), cada um com o registro anterior do serviço.
+     */
+    @Query(value = """
+            SELECT pp.servico_id AS "servicoId", s.nome AS "nome",
+                   (SELECT a.preco FROM precos_praticados a
+                    WHERE a.servico_id = pp.servico_id AND a.id < pp.id
+                    ORDER BY a.id DESC LIMIT 1) AS "precoAnterior",
+                   pp.preco AS "preco", pp.vigencia_inicio AS "vigenciaInicio"
+            FROM precos_praticados pp
+            JOIN servicos s ON s.id = pp.servico_id
+            ORDER BY pp.id DESC
+            LIMIT :limite
+            """, nativeQuery = true)
+    List<AlteracaoPrecoView> findAlteracoesRecentes(@Param("limite") int limite);
 }
@@ -1,17 +1,105 @@
 package com.finesse.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.finesse.entity.Servico;
+import com.finesse.repository.projection.CustoInsumosView;
+import com.finesse.repository.projection.MaterialUsoView;
+import com.finesse.repository.projection.ServicoPrecificacaoView;
 
 @Repository
-public interface ServicoRepository extends JpaRepository<Servico, Long> {
+public interface ServicoRepository extends JpaRepository<Servico, Long>, JpaSpecificationExecutor<Servico> {
     Page<Servico> findByAtivo(Boolean ativo, Pageable pageable);
     Page<Servico> findByNomeContainingIgnoreCase(String nome, Pageable pageable);
     Page<Servico> findByGrupoContainingIgnoreCase(String grupo, Pageable pageable);
     Page<Servico> findByNomeContainingIgnoreCaseAndAtivo(String nome, Boolean ativo, Pageable pageable);
     Page<Servico> findByGrupoContainingIgnoreCaseAndAtivo(String grupo, Boolean ativo, Pageable pageable);
+
+    @Query("select s.id from Servico s where s.id in :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    @Query("select s.id from Servico s where s.atividade.id = :atividadeId")
+    List<Long> findIdsByAtividadeId(@Param("atividadeId") Long atividadeId);
+
+    @EntityGraph(Servico.GRAFO_DETALHE)
+    Optional<Servico> findDetalheById(Long id);
+
+    @EntityGraph(Servico.GRAFO_MATERIAIS)
+    Optional<Servico> findComMateriaisById(Long id);
+
+    @Query("""
+            select s.id as id, s.nome as nome, s.grupo as grupo, s.duracaoMinutos as duracaoMinutos,
+                   s.margemLucroCustomPct as margemLucroCustomPct, s.ativo as ativo, s.atividade.id as atividadeId
+            from Servico s
+            order by s.nome, s.id
+            """)
+    List<ServicoPrecificacaoView> findAllParaPrecificacao();
+
+    @Query("""
+            select s.id as id, s.nome as nome, s.grupo as grupo, s.duracaoMinutos as duracaoMinutos,
+                   s.margemLucroCustomPct as margemLucroCustomPct, s.ativo as ativo, s.atividade.id as atividadeId
+            from Servico s
+            where s.id in :ids
+            order by s.nome, s.id
+            """)
+    List<ServicoPrecificacaoView> findParaPrecificacaoByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select sm.servico.id as servicoId, coalesce(sum(sm.quantidadeUsada * m.custoUnitario), 0) as custoInsumos
+            from ServicoMaterial sm join sm.material m
+            group by sm.servico.id
+            """)
+    List<CustoInsumosView> somarCustoInsumosPorServico();
+
+    @Query("""
+            select sm.servico.id as servicoId, coalesce(sum(sm.quantidadeUsada * m.custoUnitario), 0) as custoInsumos
+            from ServicoMaterial sm join sm.material m
+            where sm.servico.id in :ids
+            group by sm.servico.id
+            """)
+    List<CustoInsumosView> somarCustoInsumosByServicoIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select sm.servico.id as servicoId, m.id as materialId,
+                   sm.quantidadeUsada as quantidadeUsada, m.custoUnitario as custoUnitario
+            from ServicoMaterial sm join sm.material m
+            order by sm.servico.id, m.id
+            """)
+    List<MaterialUsoView> findUsosDeMateriais();
+
+    @Query("""
+            select sm.servico.id as servicoId, m.id as materialId,
+                   sm.quantidadeUsada as quantidadeUsada, m.custoUnitario as custoUnitario
+            from ServicoMaterial sm join sm.material m
+            where sm.servico.id = :servicoId
+            order by m.id
+            """)
+    List<MaterialUsoView> findUsosDeMateriaisByServicoId(@Param("servicoId") Long servicoId);
+
+    /**
+     * Trava as linhas dos serviços até o fim da transação, sempre em ordem de id
+     * (duas transações travando conjuntos sobrepostos não entram em deadlock).
+     */
+    @Query(value = "SELECT id FROM servicos WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> travarParaPrecificacao(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Trava a tabela inteira até o fim da transação: leituras seguem livres, mas escritas e
+     * {@link #travarParaPrecificacao} de outras transações esperam o commit.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE servicos IN EXCLUSIVE MODE", nativeQuery = true)
+    void travarTodosParaPrecificacao();
 }
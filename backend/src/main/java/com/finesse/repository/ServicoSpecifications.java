@@ -0,0 +1,36 @@
+package com.finesse.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.finesse.entity.Servico;
+import com.finesse.utils.TextoNormalizado;
+
+/**
+ * Filtros de Servico executados no banco.
+ * Busca textual parcial, case e acento-insensível pelas colunas nome_normalizado (V5)
+ * e grupo_normalizado (V11).
+ */
+public final class ServicoSpecifications {
+
+    private ServicoSpecifications() {}
+
+    public static Specification<Servico> nomeContem(String nome) {
+        return (root, query, cb) -> cb.like(root.get("nomeNormalizado"), likeContains(TextoNormalizado.normalizar(nome)), '\\');
+    }
+
+    public static Specification<Servico> grupoContem(String grupo) {
+        return (root, query, cb) -> cb.like(root.get("grupoNormalizado"), likeContains(TextoNormalizado.normalizar(grupo)), '\\');
+    }
+
+    public static Specification<Servico> ativo(Boolean ativo) {
+        return (root, query, cb) -> cb.equal(root.get("ativo"), ativo);
+    }
+
+    private static String likeContains(String s) {
+        String escaped = s.trim()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
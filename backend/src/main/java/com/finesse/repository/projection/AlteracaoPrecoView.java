@@ -0,0 +1,15 @@
+package com.finesse.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Preço registrado com o preço anterior do mesmo serviço.
+ */
+public interface AlteracaoPrecoView {
+    Long getServicoId();
+    String getNome();
+    BigDecimal getPrecoAnterior();
+    BigDecimal getPreco();
+    LocalDate getVigenciaInicio();
+}
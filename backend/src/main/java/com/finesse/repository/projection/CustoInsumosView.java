@@ -0,0 +1,11 @@
+package com.finesse.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Soma do custo de insumos (quantidade x custo unitário) por serviço.
+ */
+public interface CustoInsumosView {
+    Long getServicoId();
+    BigDecimal getCustoInsumos();
+}
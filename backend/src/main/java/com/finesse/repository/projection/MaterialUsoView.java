@@ -0,0 +1,13 @@
+package com.finesse.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Um material usado por um serviço: quantidade por atendimento e custo unitário atual do material.
+ */
+public interface MaterialUsoView {
+    Long getServicoId();
+    Long getMaterialId();
+    BigDecimal getQuantidadeUsada();
+    BigDecimal getCustoUnitario();
+}
@@ -0,0 +1,11 @@
+package com.finesse.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Preço atual de um serviço (vigente ou, na falta dele, o mais recente).
+ */
+public interface PrecoAtualView {
+    Long getServicoId();
+    BigDecimal getPreco();
+}
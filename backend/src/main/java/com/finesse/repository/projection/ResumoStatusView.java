@@ -0,0 +1,13 @@
+package com.finesse.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Totais do snapshot de precificação por status.
+ */
+public interface ResumoStatusView {
+    String getStatus();
+    Long getQuantidade();
+    BigDecimal getLucroAtual();
+    BigDecimal getLucroPotencial();
+}
@@ -0,0 +1,17 @@
+package com.finesse.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Projeção enxuta de Servico usada pela precificação em lote.
+ * Evita hidratar a entidade (e a Atividade associada).
+ */
+public interface ServicoPrecificacaoView {
+    Long getId();
+    String getNome();
+    String getGrupo();
+    Integer getDuracaoMinutos();
+    BigDecimal getMargemLucroCustomPct();
+    boolean isAtivo();
+    Long getAtividadeId();
+}
@@ -1,7 +1,10 @@
 package com.finesse.security;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -17,11 +20,16 @@ import com.finesse.repository.UsuarioRepository;
  * IMPORTANTE: No sistema Finesse, o login é feito com EMAIL, não username
  */
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomUserDetailsService.class);
 
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     /**
      * Carrega o usuário pelo email (usado como username no sistema)
      * Este método é chamado automaticamente pelo AuthenticationProvider
@@ -68,4 +76,26 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         return usuario;
     }
-}
\ No newline at end of file
+
+    /**
+     * Chamado pelo DaoAuthenticationProvider após um login válido cujo hash precisa de upgrade
+     * (ex.: bcrypt-strength aumentado). Grava o novo hash calculado a partir da senha informada.
+     *
+     * @param user usuário autenticado
+     * @param newPassword novo hash
+     * @return usuário com o hash atualizado
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Usuario usuario = usuarioRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException(
+                    "Usuário não encontrado com email: " + user.getUsername()
+                ));
+        usuario.setSenha(newPassword);
+        Usuario salvo = usuarioRepository.save(usuario);
+        principalCache.invalidar(salvo.getId());
+        log.info("Hash de senha atualizado no login para usuário id={}", salvo.getId());
+        return salvo;
+    }
+}
@@ -1,6 +1,7 @@
 package com.finesse.security;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,6 +14,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -35,6 +38,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -46,13 +52,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // Extrair o token JWT do header Authorization
             String jwt = getJwtFromRequest(request);
 
-            // Validar e processar o token
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
+            // Validar o token uma única vez e reaproveitar as claims
+            Optional<Claims> claims = StringUtils.hasText(jwt) ? jwtTokenProvider.verificar(jwt) : Optional.empty();
+            if (claims.isPresent()) {
                 // Extrair o ID do usuário do token
-                Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+                Long userId = Long.parseLong(claims.get().getSubject());
 
-                // Carregar os detalhes do usuário do banco de dados
-                UserDetails userDetails = customUserDetailsService.loadUserById(userId);
+                // Carregar os detalhes do usuário (cache; banco apenas na primeira vez ou após invalidação)
+                UserDetails userDetails = principalCache.obter(userId, customUserDetailsService::loadUserById);
 
                 // Criar o objeto de autenticação
                 UsernamePasswordAuthenticationToken authentication =
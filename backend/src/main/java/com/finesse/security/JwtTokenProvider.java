@@ -1,7 +1,12 @@
 package com.finesse.security;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import javax.crypto.SecretKey;
@@ -15,13 +20,18 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import com.finesse.entity.Usuario;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 
 /**
  * Classe responsável por gerar, validar e extrair informações de tokens JWT
@@ -40,6 +50,26 @@ public class JwtTokenProvider {
     @Value("${app.security.jwt.refresh-expiration-ms}")
     private long refreshExpirationMs;
 
+    @Value("${app.security.jwt.verified-cache-size:10000}")
+    private long verifiedCacheSize = 10_000;
+
+    // Chave, parser e cache montados uma vez; todos imutáveis/thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private Cache<String, Claims> verificados;
+
+    @PostConstruct
+    public void init() {
+        this.signingKey = getSigningKey();
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        // cada entrada vive só até o exp do próprio token
+        this.verificados = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(Expiry.<String, Claims>creating((digest, claims) ->
+                        Duration.ofMillis(Math.max(0, claims.getExpiration().getTime() - System.currentTimeMillis()))))
+                .build();
+    }
+
     /**
      * Gera a chave de assinatura a partir do secret
      */
@@ -47,6 +77,57 @@ public class JwtTokenProvider {
         return Keys.hmacShaKeyFor(this.jwtSecret.getBytes(StandardCharsets.UTF_8));
     }
 
+    /**
+     * Verifica assinatura e expiração uma única vez e devolve as claims.
+     * Tokens já verificados são servidos de um LRU indexado pelo SHA-256 do token,
+     * evitando refazer HMAC e parse a cada requisição com o mesmo token.
+     *
+     * @param token o token JWT
+     * @return claims do token, ou vazio se inválido/expirado
+     */
+    public Optional<Claims> verificar(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        String digest = digest(token);
+        Claims claims = verificados.getIfPresent(digest);
+        if (claims != null) {
+            if (claims.getExpiration().getTime() > System.currentTimeMillis()) {
+                return Optional.of(claims);
+            }
+            verificados.invalidate(digest);
+            logger.error("Token JWT expirado: {}", claims.getExpiration());
+            return Optional.empty();
+        }
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+            if (claims.getExpiration() != null) {
+                verificados.put(digest, claims);
+            }
+            return Optional.of(claims);
+        } catch (io.jsonwebtoken.security.SecurityException ex) {
+            logger.error("Assinatura JWT inválida: {}", ex.getMessage());
+        } catch (MalformedJwtException ex) {
+            logger.error("Token JWT inválido: {}", ex.getMessage());
+        } catch (ExpiredJwtException ex) {
+            logger.error("Token JWT expirado: {}", ex.getMessage());
+        } catch (UnsupportedJwtException ex) {
+            logger.error("Token JWT não suportado: {}", ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            logger.error("JWT claims string está vazio: {}", ex.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponível", ex);
+        }
+    }
+
     /**
      * Gera um token JWT a partir da autenticação
      * 
@@ -69,7 +150,7 @@ public class JwtTokenProvider {
                 .claim("type", "access")
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -81,7 +162,7 @@ public class JwtTokenProvider {
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .claim("type", "refresh")
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -92,11 +173,7 @@ public class JwtTokenProvider {
      * @return ID do usuário
      */
     public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = parser.parseSignedClaims(token).getPayload();
 
         return Long.parseLong(claims.getSubject());
     }
@@ -108,11 +185,7 @@ public class JwtTokenProvider {
      * @return username do usuário
      */
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = parser.parseSignedClaims(token).getPayload();
 
         return claims.get("username", String.class);
     }
@@ -124,26 +197,7 @@ public class JwtTokenProvider {
      * @return true se o token for válido, false caso contrário
      */
     public boolean validateToken(String authToken) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
-
-        } catch (SecurityException ex) {
-            logger.error("Assinatura JWT inválida: {}", ex.getMessage());
-        } catch (MalformedJwtException ex) {
-            logger.error("Token JWT inválido: {}", ex.getMessage());
-        } catch (ExpiredJwtException ex) {
-            logger.error("Token JWT expirado: {}", ex.getMessage());
-        } catch (UnsupportedJwtException ex) {
-            logger.error("Token JWT não suportado: {}", ex.getMessage());
-        } catch (IllegalArgumentException ex) {
-            logger.error("JWT claims string está vazio: {}", ex.getMessage());
-        }
-
-        return false;
+        return verificar(authToken).isPresent();
     }
 
     /**
@@ -173,11 +227,7 @@ public class JwtTokenProvider {
 
     private boolean isTokenExpired(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            Claims claims = parser.parseSignedClaims(token).getPayload();
             return claims.getExpiration().before(new Date());
         } catch (ExpiredJwtException ex) {
             return true;
@@ -0,0 +1,72 @@
+package com.finesse.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pool dedicado e limitado para o trabalho de BCrypt (login).
+ * Threads de plataforma em número fixo + fila curta: uma rajada de logins ocupa só este pool,
+ * e quando ele enche a tarefa é recusada na hora (o controller responde 503) em vez de enfileirar
+ * nas threads do Tomcat. Métricas em /actuator/metrics/executor.* com name=bcrypt.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingExecutor.class);
+
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+    private final Counter rejeitadas;
+
+    public PasswordHashingExecutor(
+            @Value("${app.security.password.executor.threads:0}") int threads,
+            @Value("${app.security.password.executor.queue-capacity:50}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        int tamanho = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.pool = new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                new CustomizableThreadFactory("bcrypt-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "bcrypt");
+        this.rejeitadas = Counter.builder("bcrypt.rejeitadas")
+                .description("Tarefas de BCrypt recusadas com o pool cheio")
+                .register(meterRegistry);
+        log.info("Pool de BCrypt: {} threads, fila {}", tamanho, queueCapacity);
+    }
+
+    /**
+     * Agenda a tarefa no pool.
+     * @param tarefa trabalho com BCrypt (autenticação, hash)
+     * @return futuro com o resultado
+     * @throws RejectedExecutionException se threads e fila estiverem ocupadas
+     */
+    public <T> CompletableFuture<T> submeter(Supplier<T> tarefa) {
+        try {
+            return CompletableFuture.supplyAsync(tarefa, executor);
+        } catch (RejectedExecutionException ex) {
+            rejeitadas.increment();
+            throw ex;
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        pool.shutdown();
+    }
+}
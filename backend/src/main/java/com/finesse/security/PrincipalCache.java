@@ -0,0 +1,72 @@
+package com.finesse.security;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache limitado (tamanho + TTL) dos usuários autenticados, indexado pelo ID do token.
+ * Evita a consulta em usuarios a cada requisição; métricas em /actuator/metrics/cache.gets?tag=cache:principais
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<Long, UserDetails> cache;
+
+    public PrincipalCache(
+            @Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${app.security.principal-cache.ttl-ms:60000}") long ttlMs,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principais");
+    }
+
+    /**
+     * Retorna o usuário em cache ou carrega com {@code loader}.
+     * Exceções do loader (usuário inexistente/desativado) não são cacheadas.
+     * @param userId ID do usuário
+     * @param loader carga a partir do banco
+     * @return detalhes do usuário
+     */
+    public UserDetails obter(Long userId, Function<Long, UserDetails> loader) {
+        return cache.get(userId, loader);
+    }
+
+    /**
+     * Remove o usuário do cache imediatamente e, havendo transação, de novo após o commit,
+     * para descartar uma carga concorrente que tenha lido o estado antigo.
+     * @param userId ID do usuário
+     */
+    public void invalidar(Long userId) {
+        if (userId == null) return;
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    public CacheStats estatisticas() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,214 @@
+package com.finesse.service;
+
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.finesse.entity.StatusPrecificacao;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Monte Carlo da volatilidade do custo dos materiais: em cada ensaio o custo unitário de cada material
+ * varia uniformemente em ±banda e o serviço é reprecificado ao preço atual com o {@link PricingKernel}.
+ *
+ * O sorteio é por (semente, material, ensaio) com SplitMix64, sem estado: o mesmo material tem a mesma
+ * variação em todos os serviços de um ensaio e o resultado não depende de como o trabalho foi dividido.
+ * Roda num ForkJoinPool próprio e limitado; cada folha reaproveita um buffer de margens por serviço.
+ * O tempo total é limitado por {@code app.precificacao.sensibilidade.tempo-maximo-ms}.
+ */
+@Component
+public class AnaliseSensibilidade {
+
+    private static final Logger log = LoggerFactory.getLogger(AnaliseSensibilidade.class);
+
+    /** Serviços por folha. */
+    static final int BLOCO = 16;
+    /** Variação do custo em milionésimos: 1_000_000 = custo original. */
+    static final long UM_PPM = 1_000_000L;
+    private static final long OURO = 0x9E3779B97F4A7C15L;
+
+    private final ForkJoinPool pool;
+    private final long tempoMaximoNanos;
+
+    public AnaliseSensibilidade(
+            @Value("${app.precificacao.sensibilidade.paralelismo:0}") int paralelismo,
+            @Value("${app.precificacao.sensibilidade.tempo-maximo-ms:5000}") long tempoMaximoMs,
+            MeterRegistry meterRegistry) {
+        int tamanho = paralelismo > 0 ? paralelismo : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.pool = new ForkJoinPool(tamanho, p -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            t.setName("sensibilidade-" + t.getPoolIndex());
+            return t;
+        }, null, false);
+        this.tempoMaximoNanos = tempoMaximoMs * 1_000_000L;
+        ExecutorServiceMetrics.monitor(meterRegistry, pool, "sensibilidade");
+        log.info("Pool de análise de sensibilidade: paralelismo {}, tempo máximo {} ms", tamanho, tempoMaximoMs);
+    }
+
+    /**
+     * Resultado por posição em {@code servicos}; margens em % (escala 8).
+     * {@code completo} é falso se o tempo máximo acabou antes de todos os serviços.
+     */
+    public record Resultado(int[] servicos, int[] prejuizos, long[] margemAtual,
+                            long[] margemP5, long[] margemP50, long[] margemP95, boolean completo) {}
+
+    /**
+     * @param servicos índices no catálogo a analisar (tipicamente os que têm preço)
+     * @param bandaPpm variação máxima do custo unitário em milionésimos (200_000 = ±20%)
+     */
+    Resultado analisar(CatalogoMateriais materiais, int[] servicos, long valorMinuto, long fixo, long margemPadrao,
+                       int ensaios, long bandaPpm, long semente) {
+        Execucao exec = new Execucao(materiais, servicos, valorMinuto, fixo, margemPadrao, ensaios, bandaPpm, semente,
+                System.nanoTime() + tempoMaximoNanos);
+        pool.invoke(new Tarefa(exec, 0, servicos.length));
+        return new Resultado(servicos, exec.prejuizos, exec.margemAtual, exec.margemP5, exec.margemP50, exec.margemP95,
+                !exec.esgotado);
+    }
+
+    /** Parâmetros compartilhados e saída por posição; cada folha escreve só nas suas posições. */
+    private static final class Execucao {
+        final CatalogoMateriais materiais;
+        final int[] servicos;
+        final long valorMinuto;
+        final long fixo;
+        final long margemPadrao;
+        final int ensaios;
+        final long bandaPpm;
+        final long semente;
+        final long prazo;
+        final int[] prejuizos;
+        final long[] margemAtual;
+        final long[] margemP5;
+        final long[] margemP50;
+        final long[] margemP95;
+        volatile boolean esgotado;
+
+        Execucao(CatalogoMateriais materiais, int[] servicos, long valorMinuto, long fixo, long margemPadrao,
+                 int ensaios, long bandaPpm, long semente, long prazo) {
+            this.materiais = materiais;
+            this.servicos = servicos;
+            this.valorMinuto = valorMinuto;
+            this.fixo = fixo;
+            this.margemPadrao = margemPadrao;
+            this.ensaios = ensaios;
+            this.bandaPpm = bandaPpm;
+            this.semente = semente;
+            this.prazo = prazo;
+            int n = servicos.length;
+            this.prejuizos = new int[n];
+            this.margemAtual = new long[n];
+            this.margemP5 = new long[n];
+            this.margemP50 = new long[n];
+            this.margemP95 = new long[n];
+        }
+    }
+
+    private static final class Tarefa extends RecursiveAction {
+        private final Execucao exec;
+        private final int inicio;
+        private final int fim;
+
+        Tarefa(Execucao exec, int inicio, int fim) {
+            this.exec = exec;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected void compute() {
+            if (fim - inicio <= BLOCO) {
+                folha();
+                return;
+            }
+            int meio = (inicio + fim) >>> 1;
+            invokeAll(new Tarefa(exec, inicio, meio), new Tarefa(exec, meio, fim));
+        }
+
+        private void folha() {
+            CatalogoMateriais m = exec.materiais;
+            CatalogoPrecificacao cat = m.catalogo;
+            long[] margens = new long[exec.ensaios];
+            PricingKernel.Resultado r = new PricingKernel.Resultado();
+
+            for (int p = inicio; p < fim; p++) {
+                if (exec.esgotado || System.nanoTime() - exec.prazo > 0) {
+                    exec.esgotado = true;
+                    return;
+                }
+                int i = exec.servicos[p];
+                long margem = cat.temMargemCustom[i] ? cat.margemCustom[i] : exec.margemPadrao;
+                long imposto = cat.atividade[i] >= 0 ? cat.aliquotas[cat.atividade[i]] : 0L;
+                int de = m.inicio[i];
+                int ate = m.inicio[i + 1];
+
+                PricingKernel.calcular(exec.valorMinuto, cat.duracao[i], somaCusto(m, de, ate),
+                        imposto, exec.fixo, margem, cat.venda[i], r);
+                exec.margemAtual[p] = r.margemPct;
+
+                int prejuizos = 0;
+                for (int t = 0; t < exec.ensaios; t++) {
+                    long insumos = 0;
+                    for (int k = de; k < ate; k++) {
+                        long variacao = sortear(exec.semente, m.materialIds[k], t, exec.bandaPpm);
+                        insumos = Math.addExact(insumos, PricingKernel.multiplicarDividir(
+                                m.custo[k], UM_PPM + variacao, UM_PPM, RoundingMode.HALF_UP));
+                    }
+                    PricingKernel.calcular(exec.valorMinuto, cat.duracao[i], insumos,
+                            imposto, exec.fixo, margem, cat.venda[i], r);
+                    if (r.status == StatusPrecificacao.PREJUIZO) prejuizos++;
+                    margens[t] = r.margemPct;
+                }
+
+                Arrays.sort(margens);
+                exec.prejuizos[p] = prejuizos;
+                exec.margemP5[p] = percentil(margens, 5);
+                exec.margemP50[p] = percentil(margens, 50);
+                exec.margemP95[p] = percentil(margens, 95);
+            }
+        }
+    }
+
+    private static long somaCusto(CatalogoMateriais m, int de, int ate) {
+        long soma = 0;
+        for (int k = de; k < ate; k++) soma = Math.addExact(soma, m.custo[k]);
+        return soma;
+    }
+
+    /**
+     * Variação uniforme em [-banda, +banda] ppm para o material no ensaio, derivada só de
+     * (semente, material, ensaio).
+     */
+    static long sortear(long semente, long materialId, int ensaio, long bandaPpm) {
+        if (bandaPpm == 0) return 0L;
+        long z = misturar(misturar(semente + materialId * OURO) + (ensaio + 1L) * OURO);
+        return Math.unsignedMultiplyHigh(z, 2 * bandaPpm + 1) - bandaPpm;
+    }
+
+    /** Finalizador do SplitMix64. */
+    private static long misturar(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** Percentil pelo posto mais próximo sobre um array ordenado. */
+    static long percentil(long[] ordenado, int p) {
+        int posto = (int) Math.ceil(p / 100.0 * ordenado.length);
+        return ordenado[Math.max(0, posto - 1)];
+    }
+
+    @PreDestroy
+    void encerrar() {
+        pool.shutdown();
+    }
+}
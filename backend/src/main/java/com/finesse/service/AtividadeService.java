@@ -2,7 +2,9 @@ package com.finesse.service;
 
 import java.util.Optional;
 
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 
 import com.finesse.entity.Atividade;
 
@@ -23,6 +25,17 @@ public interface AtividadeService {
      */
     Page<Atividade> list(String titulo, Boolean ativo, int page, int size, String sort);
 
+    /**
+     * Lista atividades por keyset (cursor), sem contagem total.
+     * @param titulo Filtro por título (parcial, acento-insensível)
+     * @param ativo Filtro por ativo/inativo; null para todos
+     * @param posicao Posição após a última linha da página anterior
+     * @param size Tamanho da página
+     * @param sort Ordenação "campo,asc|desc" (a mesma usada para gerar o cursor)
+     * @return Janela de atividades
+     */
+    Window<Atividade> listKeyset(String titulo, Boolean ativo, KeysetScrollPosition posicao, int size, String sort);
+
     /**
      * Busca atividade por ID.
      * @param id Identificador
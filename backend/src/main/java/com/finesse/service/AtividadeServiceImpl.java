@@ -1,72 +1,89 @@
 package com.finesse.service;
 
-import java.text.Normalizer;
-import java.util.Comparator;
-import java.util.List;
+import java.math.BigDecimal;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.TreeSet;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.finesse.entity.Atividade;
 import com.finesse.exception.ServiceOperationException;
+import com.finesse.exception.ValidationException;
 import com.finesse.repository.AtividadeRepository;
+import com.finesse.utils.TextoNormalizado;
+import com.finesse.utils.KeysetCursor;
 
 @Service
 public class AtividadeServiceImpl implements AtividadeService {
 
     private static final Logger log = LoggerFactory.getLogger(AtividadeServiceImpl.class);
 
+    /** Campos aceitos em sort; nome ordena por nome_normalizado. */
+    private static final Map<String, String> ORDENAVEIS = Map.of(
+            "id", "id", "nome", "nomeNormalizado", "cnae", "cnae",
+            "aliquotaTotalPct", "aliquotaTotalPct", "issPct", "issPct", "ativo", "ativo");
+
     @Autowired
     private AtividadeRepository atividadeRepository;
+    @Autowired
+    private PrecificacaoSnapshotAtualizador snapshot;
+    @Autowired
+    private DashboardService dashboard;
 
     @Override
     public Page<Atividade> list(String titulo, Boolean ativo, int page, int size, String sort) {
+        Sort ordem = parseSort(sort);
         try {
             int page0 = Math.max(0, page);
             int size1 = Math.max(1, size);
 
-            boolean hasTitulo = titulo != null && !titulo.isBlank();
-            if (hasTitulo) {
-                List<Atividade> all = atividadeRepository.findAll();
-                Stream<Atividade> stream = all.stream();
-
-                String q = normalize(titulo != null ? titulo.trim() : null);
-                stream = stream.filter(a -> {
-                    String p = normalize(a.getNome());
-                    return p != null && p.contains(q);
-                });
+            Pageable pageable = PageRequest.of(page0, size1, ordem);
+            if (titulo != null && !titulo.isBlank()) {
+                String q = TextoNormalizado.normalizar(titulo);
                 if (ativo != null) {
-                    boolean target = Boolean.TRUE.equals(ativo);
-                    stream = stream.filter(a -> Boolean.TRUE.equals(a.isAtivo()) == target);
+                    return atividadeRepository.findByNomeNormalizadoContainingAndAtivo(q, ativo, pageable);
                 }
+                return atividadeRepository.findByNomeNormalizadoContaining(q, pageable);
+            }
+            if (ativo != null) {
+                return atividadeRepository.findByAtivo(ativo, pageable);
+            }
+            return atividadeRepository.findAll(pageable);
+        } catch (Exception ex) {
+            log.error("Falha ao listar atividades", ex);
+            throw new ServiceOperationException("Falha ao listar atividades", ex);
+        }
+    }
 
-                Comparator<Atividade> comparator = buildComparator(sort);
-                List<Atividade> filteredSorted = comparator != null ? stream.sorted(comparator).toList() : stream.toList();
-
-                int total = filteredSorted.size();
-                int from = Math.min(page0 * size1, total);
-                int to = Math.min(from + size1, total);
-                List<Atividade> content = filteredSorted.subList(from, to);
-
-                Pageable pageableMeta = PageRequest.of(page0, size1, parseSort(sort));
-                return new PageImpl<>(content, pageableMeta, total);
-            } else {
-                Pageable pageable = PageRequest.of(page0, size1, parseSort(sort));
+    @Override
+    public Window<Atividade> listKeyset(String titulo, Boolean ativo, KeysetScrollPosition posicao, int size, String sort) {
+        Sort ordem = parseSort(sort);
+        KeysetCursor.exigirCompativel(posicao, ordem);
+        try {
+            Limit limit = Limit.of(Math.max(1, size));
+            if (titulo != null && !titulo.isBlank()) {
+                String q = TextoNormalizado.normalizar(titulo);
                 if (ativo != null) {
-                    return atividadeRepository.findByAtivo(ativo, pageable);
+                    return atividadeRepository.findByNomeNormalizadoContainingAndAtivo(q, ativo, posicao, ordem, limit);
                 }
-                return atividadeRepository.findAll(pageable);
+                return atividadeRepository.findByNomeNormalizadoContaining(q, posicao, ordem, limit);
+            }
+            if (ativo != null) {
+                return atividadeRepository.findByAtivo(ativo, posicao, ordem, limit);
             }
+            return atividadeRepository.findAllBy(posicao, ordem, limit);
         } catch (Exception ex) {
             log.error("Falha ao listar atividades", ex);
             throw new ServiceOperationException("Falha ao listar atividades", ex);
@@ -89,6 +106,7 @@ public class AtividadeServiceImpl implements AtividadeService {
         try {
             sanitize(a);
             Atividade saved = atividadeRepository.save(a);
+            dashboard.invalidar();
             log.info("Atividade criada id={}", saved.getId());
             return saved;
         } catch (Exception ex) {
@@ -102,6 +120,7 @@ public class AtividadeServiceImpl implements AtividadeService {
     public Optional<Atividade> update(Long id, Atividade input) {
         try {
             return atividadeRepository.findById(id).map(existing -> {
+                BigDecimal aliquotaAnterior = existing.getAliquotaTotalPct();
                 existing.setNome(trim(input.getNome()));
                 existing.setObservacao(trim(input.getObservacao()));
                 existing.setCnae(trim(input.getCnae()));
@@ -110,6 +129,11 @@ public class AtividadeServiceImpl implements AtividadeService {
                 existing.setAtivo(input.isAtivo());
                 sanitize(existing);
                 Atividade saved = atividadeRepository.save(existing);
+                BigDecimal aliquota = saved.getAliquotaTotalPct();
+                if (aliquotaAnterior == null || aliquota == null || aliquotaAnterior.compareTo(aliquota) != 0) {
+                    snapshot.marcarAtividade(saved.getId());
+                }
+                dashboard.invalidar();
                 log.info("Atividade atualizada id={}", saved.getId());
                 return saved;
             });
@@ -125,6 +149,7 @@ public class AtividadeServiceImpl implements AtividadeService {
         try {
             if (atividadeRepository.existsById(id)) {
                 atividadeRepository.deleteById(id);
+                dashboard.invalidar();
                 log.info("Atividade removida id={}", id);
                 return true;
             }
@@ -142,6 +167,7 @@ public class AtividadeServiceImpl implements AtividadeService {
             return atividadeRepository.findById(id).map(a -> {
                 a.setAtivo(ativo);
                 Atividade saved = atividadeRepository.save(a);
+                dashboard.invalidar();
                 log.info("Status da atividade alterado id={} ativo={}", saved.getId(), ativo);
                 return saved;
             });
@@ -154,59 +180,16 @@ public class AtividadeServiceImpl implements AtividadeService {
     private Sort parseSort(String sort) {
         if (sort == null || sort.isBlank()) return Sort.by("id").ascending();
         String[] parts = sort.split(",");
-        String prop = parts[0].trim();
+        String campo = parts[0].trim();
+        String prop = ORDENAVEIS.get(campo);
+        if (prop == null) {
+            throw new ValidationException("Ordenação inválida: " + campo + " (use " + String.join(", ", new TreeSet<>(ORDENAVEIS.keySet())) + ")");
+        }
         String dir = parts.length > 1 ? parts[1].trim().toLowerCase() : "asc";
         Sort base = Sort.by(prop);
         return "desc".equals(dir) ? base.descending() : base.ascending();
     }
 
-    private Comparator<Atividade> buildComparator(String sort) {
-        if (sort == null || sort.isBlank()) {
-            return Comparator.comparing(Atividade::getId, Comparator.nullsLast(Long::compareTo));
-        }
-        String[] parts = sort.split(",");
-        String prop = parts[0].trim();
-        boolean desc = parts.length > 1 && "desc".equalsIgnoreCase(parts[1].trim());
-
-        Comparator<Atividade> cmp;
-        switch (prop) {
-            case "id":
-                cmp = Comparator.comparing(Atividade::getId, Comparator.nullsLast(Long::compareTo));
-                break;
-            case "nome":
-                cmp = Comparator.comparing(
-                        a -> normalize(a.getNome()),
-                        Comparator.nullsLast(String::compareTo)
-                );
-                break;
-            case "cnae":
-                cmp = Comparator.comparing(
-                        a -> a.getCnae(),
-                        Comparator.nullsLast(String::compareTo)
-                );
-                break;
-            case "aliquotaTotalPct":
-                cmp = Comparator.comparing(Atividade::getAliquotaTotalPct, Comparator.nullsLast(java.math.BigDecimal::compareTo));
-                break;
-            case "issPct":
-                cmp = Comparator.comparing(Atividade::getIssPct, Comparator.nullsLast(java.math.BigDecimal::compareTo));
-                break;
-            case "ativo":
-                cmp = Comparator.comparing(Atividade::isAtivo);
-                break;
-            default:
-                cmp = Comparator.comparing(Atividade::getId, Comparator.nullsLast(Long::compareTo));
-        }
-        return desc ? cmp.reversed() : cmp;
-    }
-
-    private String normalize(String s) {
-        if (s == null) return null;
-        String lower = s.toLowerCase();
-        String nfd = Normalizer.normalize(lower, Normalizer.Form.NFD);
-        return nfd.replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
-    }
-
     private void sanitize(Atividade a) {
         a.setNome(trim(a.getNome()));
         a.setObservacao(trim(a.getObservacao()));
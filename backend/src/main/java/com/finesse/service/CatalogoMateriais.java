@@ -0,0 +1,21 @@
+package com.finesse.service;
+
+/**
+ * Materiais de cada serviço de um {@link CatalogoPrecificacao}, em formato compacto (CSR):
+ * os usos do serviço i ficam em {@code [inicio[i], inicio[i + 1])}, com {@code materialIds[k]} e
+ * {@code custo[k]} = quantidade x custo unitário (escala 10). Imutável como o catálogo.
+ */
+public final class CatalogoMateriais {
+
+    public final CatalogoPrecificacao catalogo;
+    final int[] inicio;
+    final long[] materialIds;
+    final long[] custo;
+
+    CatalogoMateriais(CatalogoPrecificacao catalogo, int[] inicio, long[] materialIds, long[] custo) {
+        this.catalogo = catalogo;
+        this.inicio = inicio;
+        this.materialIds = materialIds;
+        this.custo = custo;
+    }
+}
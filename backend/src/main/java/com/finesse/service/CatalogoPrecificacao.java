@@ -0,0 +1,95 @@
+package com.finesse.service;
+
+import java.util.Arrays;
+
+import com.finesse.entity.StatusPrecificacao;
+
+/**
+ * Fotografia imutável do catálogo em arrays primitivos nas escalas do {@link PricingKernel}.
+ * Carregada uma vez por simulação ({@link CatalogoPrecificacaoLoader}) e lida em paralelo sem sincronização.
+ *
+ * Serviço i: {@code ids[i]}, {@code duracao[i]}, {@code insumos[i]} (escala 10), {@code venda[i]} (centavos),
+ * margem custom (escala 8, vale só se {@code temMargemCustom[i]}) e {@code atividade[i]}: índice em
+ * {@code aliquotas}, ou -1 sem atividade.
+ */
+public final class CatalogoPrecificacao {
+
+    public final int tamanho;
+    final long[] ids;
+    final String[] nomes;
+    final int[] duracao;
+    final long[] insumos;
+    final long[] venda;
+    final long[] margemCustom;
+    final boolean[] temMargemCustom;
+    final int[] atividade;
+
+    /** ids das atividades e alíquota total de cada uma (fração, escala 8) */
+    final long[] atividadeIds;
+    final long[] aliquotas;
+
+    /** configuração ativa: pretensão (2), horas (2), semanas (4), fixo e margem padrão (frações, 8) */
+    final long pretensao;
+    final long horasSemanais;
+    final long semanasMediaMes;
+    final long fixo;
+    final long margemPadrao;
+
+    CatalogoPrecificacao(long[] ids, String[] nomes, int[] duracao, long[] insumos, long[] venda,
+                         long[] margemCustom, boolean[] temMargemCustom, int[] atividade,
+                         long[] atividadeIds, long[] aliquotas,
+                         long pretensao, long horasSemanais, long semanasMediaMes, long fixo, long margemPadrao) {
+        this.tamanho = ids.length;
+        this.ids = ids;
+        this.nomes = nomes;
+        this.duracao = duracao;
+        this.insumos = insumos;
+        this.venda = venda;
+        this.margemCustom = margemCustom;
+        this.temMargemCustom = temMargemCustom;
+        this.atividade = atividade;
+        this.atividadeIds = atividadeIds;
+        this.aliquotas = aliquotas;
+        this.pretensao = pretensao;
+        this.horasSemanais = horasSemanais;
+        this.semanasMediaMes = semanasMediaMes;
+        this.fixo = fixo;
+        this.margemPadrao = margemPadrao;
+    }
+
+    /** Índice da atividade em {@link #aliquotas}, ou -1 se não existir. */
+    int indiceAtividade(long atividadeId) {
+        int i = Arrays.binarySearch(atividadeIds, atividadeId);
+        return i >= 0 ? i : -1;
+    }
+
+    /**
+     * Precifica o serviço i com os parâmetros informados (sem alocar).
+     * @param aliquotasCenario alíquotas por índice de atividade (as do catálogo ou as sobrescritas)
+     */
+    PricingKernel.Resultado calcular(int i, long valorMinuto, long fixoCenario, long margemPadraoCenario,
+                                     long[] aliquotasCenario, PricingKernel.Resultado out) {
+        long margem = temMargemCustom[i] ? margemCustom[i] : margemPadraoCenario;
+        long imposto = atividade[i] >= 0 ? aliquotasCenario[atividade[i]] : 0L;
+        return PricingKernel.calcular(valorMinuto, duracao[i], insumos[i], imposto, fixoCenario, margem, venda[i], out);
+    }
+
+    /** Venda sugerida (centavos) e status de cada serviço com a configuração ativa. */
+    Base base() {
+        long valorMinuto = PricingKernel.valorMinuto(pretensao, horasSemanais, semanasMediaMes);
+        long[] sugerida = new long[tamanho];
+        StatusPrecificacao[] status = new StatusPrecificacao[tamanho];
+        long lucro = 0;
+        PricingKernel.Resultado r = new PricingKernel.Resultado();
+        for (int i = 0; i < tamanho; i++) {
+            calcular(i, valorMinuto, fixo, margemPadrao, aliquotas, r);
+            sugerida[i] = r.vendaSugeridaCentavos;
+            status[i] = r.status;
+            if (venda[i] > 0) lucro += r.lucro;
+        }
+        return new Base(sugerida, status, lucro);
+    }
+
+    /** Resultado com a configuração ativa; lucro total em escala 10 (só serviços com preço). */
+    record Base(long[] sugerida, StatusPrecificacao[] status, long lucroTotal) {}
+}
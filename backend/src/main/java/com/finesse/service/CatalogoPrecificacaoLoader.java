@@ -0,0 +1,138 @@
+package com.finesse.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.finesse.dto.ConfiguracaoAtiva;
+import com.finesse.entity.Atividade;
+import com.finesse.repository.AtividadeRepository;
+import com.finesse.repository.PrecoPraticadoRepository;
+import com.finesse.repository.ServicoRepository;
+import com.finesse.repository.projection.CustoInsumosView;
+import com.finesse.repository.projection.MaterialUsoView;
+import com.finesse.repository.projection.PrecoAtualView;
+import com.finesse.repository.projection.ServicoPrecificacaoView;
+
+/**
+ * Monta o {@link CatalogoPrecificacao} com as mesmas consultas em lote de {@link PrecificacaoSnapshotAtualizador}.
+ * A transação cobre só a leitura; a simulação roda depois, sem segurar conexão.
+ */
+@Component
+public class CatalogoPrecificacaoLoader {
+
+    @Autowired
+    private ServicoRepository servicoRepository;
+    @Autowired
+    private PrecoPraticadoRepository precoRepository;
+    @Autowired
+    private AtividadeRepository atividadeRepository;
+    @Autowired
+    private ConfiguracaoAtivaHolder configuracaoAtiva;
+
+    /**
+     * @param ativo filtro por serviços ativos/inativos; null para todos
+     */
+    @Transactional(readOnly = true)
+    public CatalogoPrecificacao carregar(Boolean ativo) {
+        ConfiguracaoAtiva cfg = configuracaoAtiva.atual();
+
+        List<Atividade> atividades = new ArrayList<>(atividadeRepository.findAll());
+        atividades.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+        long[] atividadeIds = new long[atividades.size()];
+        long[] aliquotas = new long[atividades.size()];
+        Map<Long, Integer> indiceAtividade = new HashMap<>();
+        for (int i = 0; i < atividades.size(); i++) {
+            Atividade a = atividades.get(i);
+            atividadeIds[i] = a.getId();
+            aliquotas[i] = PricingKernel.pctParaFrac(PricingKernel.unidades(a.getAliquotaTotalPct(), PricingKernel.ESCALA_PCT));
+            indiceAtividade.put(a.getId(), i);
+        }
+
+        Map<Long, BigDecimal> insumosPorServico = new HashMap<>();
+        for (CustoInsumosView v : servicoRepository.somarCustoInsumosPorServico()) {
+            insumosPorServico.put(v.getServicoId(), v.getCustoInsumos());
+        }
+        Map<Long, BigDecimal> precoPorServico = new HashMap<>();
+        for (PrecoAtualView v : precoRepository.findPrecosAtuais()) {
+            precoPorServico.put(v.getServicoId(), v.getPreco());
+        }
+
+        List<ServicoPrecificacaoView> servicos = servicoRepository.findAllParaPrecificacao().stream()
+                .filter(s -> ativo == null || s.isAtivo() == ativo)
+                .toList();
+        int n = servicos.size();
+        long[] ids = new long[n];
+        String[] nomes = new String[n];
+        int[] duracao = new int[n];
+        long[] insumos = new long[n];
+        long[] venda = new long[n];
+        long[] margemCustom = new long[n];
+        boolean[] temMargemCustom = new boolean[n];
+        int[] atividade = new int[n];
+        for (int i = 0; i < n; i++) {
+            ServicoPrecificacaoView s = servicos.get(i);
+            ids[i] = s.getId();
+            nomes[i] = s.getNome();
+            duracao[i] = s.getDuracaoMinutos() == null ? 0 : s.getDuracaoMinutos();
+            insumos[i] = PricingKernel.unidades(insumosPorServico.get(s.getId()), PricingKernel.ESCALA_CUSTO);
+            venda[i] = PricingKernel.unidades(precoPorServico.get(s.getId()), PricingKernel.ESCALA_MOEDA);
+            temMargemCustom[i] = s.getMargemLucroCustomPct() != null;
+            margemCustom[i] = PricingKernel.pctParaFrac(
+                    PricingKernel.unidades(s.getMargemLucroCustomPct(), PricingKernel.ESCALA_PCT));
+            Integer idx = s.getAtividadeId() == null ? null : indiceAtividade.get(s.getAtividadeId());
+            atividade[i] = idx == null ? -1 : idx;
+        }
+
+        return new CatalogoPrecificacao(ids, nomes, duracao, insumos, venda, margemCustom, temMargemCustom, atividade,
+                atividadeIds, aliquotas,
+                PricingKernel.unidades(cfg.pretensaoSalarialMensal(), PricingKernel.ESCALA_MOEDA),
+                PricingKernel.unidades(cfg.horasSemanais(), PricingKernel.ESCALA_HORAS),
+                PricingKernel.unidades(cfg.semanasMediaMes(), PricingKernel.ESCALA_SEMANAS),
+                PricingKernel.unidades(cfg.custoFixoFrac(), PricingKernel.ESCALA_FRAC),
+                PricingKernel.unidades(cfg.margemPadraoFrac(), PricingKernel.ESCALA_FRAC));
+    }
+
+    /**
+     * Catálogo mais o custo de cada material usado por serviço, lidos na mesma transação.
+     * @param ativo filtro por serviços ativos/inativos; null para todos
+     */
+    @Transactional(readOnly = true)
+    public CatalogoMateriais carregarComMateriais(Boolean ativo) {
+        CatalogoPrecificacao catalogo = carregar(ativo);
+        Map<Long, Integer> indice = new HashMap<>();
+        for (int i = 0; i < catalogo.tamanho; i++) {
+            indice.put(catalogo.ids[i], i);
+        }
+
+        List<MaterialUsoView> usos = servicoRepository.findUsosDeMateriais();
+        int[] inicio = new int[catalogo.tamanho + 1];
+        for (MaterialUsoView u : usos) {
+            Integer i = indice.get(u.getServicoId());
+            if (i != null) inicio[i + 1]++;
+        }
+        for (int i = 0; i < catalogo.tamanho; i++) {
+            inicio[i + 1] += inicio[i];
+        }
+
+        int[] proximo = inicio.clone();
+        long[] materialIds = new long[inicio[catalogo.tamanho]];
+        long[] custo = new long[materialIds.length];
+        for (MaterialUsoView u : usos) {
+            Integer i = indice.get(u.getServicoId());
+            if (i == null) continue;
+            int k = proximo[i]++;
+            materialIds[k] = u.getMaterialId();
+            custo[k] = PricingKernel.custoPorAtendimento(
+                    PricingKernel.unidades(u.getQuantidadeUsada(), PricingKernel.ESCALA_QUANTIDADE),
+                    PricingKernel.unidades(u.getCustoUnitario(), PricingKernel.ESCALA_CUSTO_UNITARIO));
+        }
+        return new CatalogoMateriais(catalogo, inicio, materialIds, custo);
+    }
+}
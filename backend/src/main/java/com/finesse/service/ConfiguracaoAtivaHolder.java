@@ -0,0 +1,68 @@
+package com.finesse.service;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.finesse.dto.ConfiguracaoAtiva;
+import com.finesse.repository.ConfiguracoesRepository;
+
+/**
+ * Mantém em memória a configuração ativa já com os derivados calculados.
+ * Leituras não acessam o banco; escritas em Configurações trocam a fotografia após o commit.
+ */
+@Component
+public class ConfiguracaoAtivaHolder {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfiguracaoAtivaHolder.class);
+
+    @Autowired
+    private ConfiguracoesRepository repo;
+
+    private final AtomicReference<ConfiguracaoAtiva> atual = new AtomicReference<>();
+
+    /**
+     * Configuração ativa atual; carregada do banco apenas no primeiro acesso.
+     * @return fotografia vigente ou {@link ConfiguracaoAtiva#VAZIA}
+     */
+    public ConfiguracaoAtiva atual() {
+        ConfiguracaoAtiva snapshot = atual.get();
+        return snapshot != null ? snapshot : recarregar();
+    }
+
+    /**
+     * Relê a configuração ativa e troca a fotografia.
+     * Sincronizado para que uma recarga antiga nunca sobrescreva uma mais nova.
+     * @return nova fotografia
+     */
+    public synchronized ConfiguracaoAtiva recarregar() {
+        ConfiguracaoAtiva snapshot = repo.findFirstByAtivoTrueOrderByAtualizadoEmDesc()
+                .map(ConfiguracaoAtiva::de)
+                .orElse(ConfiguracaoAtiva.VAZIA);
+        atual.set(snapshot);
+        log.info("Configuração ativa carregada id={}", snapshot.id());
+        return snapshot;
+    }
+
+    /**
+     * Agenda a recarga para depois do commit da transação corrente (ou recarrega já, se não houver).
+     * Assim um rollback nunca publica uma configuração que não foi gravada.
+     */
+    public void recarregarAposCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recarregar();
+                }
+            });
+        } else {
+            recarregar();
+        }
+    }
+}
@@ -2,8 +2,11 @@ package com.finesse.service;
 
 import java.util.Optional;
 
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 
+import com.finesse.dto.ConfiguracaoAtiva;
 import com.finesse.entity.Configuracoes;
 
 /**
@@ -22,6 +25,16 @@ public interface ConfiguracoesService {
      */
     Page<Configuracoes> list(Boolean ativo, int page, int size, String sort);
 
+    /**
+     * Lista configurações por keyset (cursor), sem contagem total.
+     * @param ativo filtro ativo/inativo; null para todos
+     * @param posicao posição após a última linha da página anterior
+     * @param size tamanho da página
+     * @param sort campo de ordenação (o mesmo usado para gerar o cursor)
+     * @return janela de configurações
+     */
+    Window<Configuracoes> listKeyset(Boolean ativo, KeysetScrollPosition posicao, int size, String sort);
+
     /**
      * Busca por ID.
      * @param id identificador
@@ -29,6 +42,12 @@ public interface ConfiguracoesService {
      */
     Optional<Configuracoes> findById(Long id);
 
+    /**
+     * Configuração ativa com derivados pré-calculados, servida da memória.
+     * @return fotografia da configuração ativa ou {@link ConfiguracaoAtiva#VAZIA}
+     */
+    ConfiguracaoAtiva ativa();
+
     /**
      * Cria nova configuração.
      * @param c entidade
@@ -5,16 +5,21 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.finesse.dto.ConfiguracaoAtiva;
 import com.finesse.entity.Configuracoes;
 import com.finesse.exception.ServiceOperationException;
 import com.finesse.repository.ConfiguracoesRepository;
+import com.finesse.utils.KeysetCursor;
 
 @Service
 public class ConfiguracoesServiceImpl implements ConfiguracoesService {
@@ -24,6 +29,11 @@ public class ConfiguracoesServiceImpl implements ConfiguracoesService {
     @Autowired
     private ConfiguracoesRepository repo;
 
+    @Autowired
+    private ConfiguracaoAtivaHolder configuracaoAtiva;
+    @Autowired
+    private PrecificacaoSnapshotAtualizador snapshot;
+
     @Override
     public Page<Configuracoes> list(Boolean ativo, int page, int size, String sort) {
         try {
@@ -38,6 +48,22 @@ public class ConfiguracoesServiceImpl implements ConfiguracoesService {
         }
     }
 
+    @Override
+    public Window<Configuracoes> listKeyset(Boolean ativo, KeysetScrollPosition posicao, int size, String sort) {
+        Sort ordem = parseSort(sort);
+        KeysetCursor.exigirCompativel(posicao, ordem);
+        try {
+            Limit limit = Limit.of(Math.max(1, size));
+            if (ativo != null) {
+                return repo.findByAtivo(ativo, posicao, ordem, limit);
+            }
+            return repo.findAllBy(posicao, ordem, limit);
+        } catch (Exception ex) {
+            log.error("Falha ao listar configurações", ex);
+            throw new ServiceOperationException("Falha ao listar configurações", ex);
+        }
+    }
+
     @Override
     public Optional<Configuracoes> findById(Long id) {
         try {
@@ -48,12 +74,24 @@ public class ConfiguracoesServiceImpl implements ConfiguracoesService {
         }
     }
 
+    @Override
+    public ConfiguracaoAtiva ativa() {
+        try {
+            return configuracaoAtiva.atual();
+        } catch (Exception ex) {
+            log.error("Falha ao carregar configuração ativa", ex);
+            throw new ServiceOperationException("Falha ao carregar configuração ativa", ex);
+        }
+    }
+
     @Override
     @Transactional
     public Configuracoes create(Configuracoes c) {
         try {
             sanitize(c);
             Configuracoes saved = repo.save(c);
+            configuracaoAtiva.recarregarAposCommit();
+            snapshot.marcarTodos();
             log.info("Configuração criada id={}", saved.getId());
             return saved;
         } catch (Exception ex) {
@@ -76,6 +114,8 @@ public class ConfiguracoesServiceImpl implements ConfiguracoesService {
                 existing.setAtivo(input.isAtivo());
                 sanitize(existing);
                 Configuracoes saved = repo.save(existing);
+                configuracaoAtiva.recarregarAposCommit();
+                snapshot.marcarTodos();
                 log.info("Configuração atualizada id={}", saved.getId());
                 return saved;
             });
@@ -91,6 +131,8 @@ public class ConfiguracoesServiceImpl implements ConfiguracoesService {
         try {
             if (repo.existsById(id)) {
                 repo.deleteById(id);
+                configuracaoAtiva.recarregarAposCommit();
+                snapshot.marcarTodos();
                 log.info("Configuração removida id={}", id);
                 return true;
             }
@@ -109,6 +151,8 @@ public class ConfiguracoesServiceImpl implements ConfiguracoesService {
                 c.setAtivo(ativo);
                 c.setAtualizadoEm(java.time.LocalDateTime.now());
                 Configuracoes saved = repo.save(c);
+                configuracaoAtiva.recarregarAposCommit();
+                snapshot.marcarTodos();
                 log.info("Status da configuração alterado id={} ativo={}", saved.getId(), ativo);
                 return saved;
             });
@@ -0,0 +1,21 @@
+package com.finesse.service;
+
+import com.finesse.dto.DashboardResponse;
+
+/**
+ * Camada de serviço para o Dashboard.
+ * Agrega status, lucros, contagens e alterações de preço em poucas consultas.
+ */
+public interface DashboardService {
+
+    /**
+     * Indicadores atuais, servidos de um cache de TTL curto.
+     */
+    DashboardResponse resumo();
+
+    /**
+     * Descarta o resumo em cache agora e, havendo transação, de novo após o commit.
+     * Chamado pelas escritas que mudam algum indicador.
+     */
+    void invalidar();
+}
@@ -0,0 +1,130 @@
+package com.finesse.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.finesse.dto.AlteracaoPrecoResponse;
+import com.finesse.dto.DashboardResponse;
+import com.finesse.entity.StatusPrecificacao;
+import com.finesse.exception.ServiceOperationException;
+import com.finesse.repository.AtividadeRepository;
+import com.finesse.repository.MaterialRepository;
+import com.finesse.repository.PrecificacaoSnapshotRepository;
+import com.finesse.repository.PrecoPraticadoRepository;
+import com.finesse.repository.projection.AlteracaoPrecoView;
+import com.finesse.repository.projection.ResumoStatusView;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Implementação do DashboardService. O resumo sai do snapshot de precificação e de três
+ * consultas pequenas e fica em cache por poucos segundos; as escritas o invalidam na hora,
+ * então o TTL só limita a defasagem de alterações feitas fora da aplicação.
+ */
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardServiceImpl.class);
+    private static final String CHAVE = "resumo";
+
+    @Autowired
+    private PrecificacaoSnapshotRepository snapshotRepository;
+    @Autowired
+    private PrecoPraticadoRepository precoRepository;
+    @Autowired
+    private MaterialRepository materialRepository;
+    @Autowired
+    private AtividadeRepository atividadeRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.dashboard.cache-ttl-ms:30000}")
+    private long cacheTtlMs = 30_000;
+    @Value("${app.dashboard.alteracoes-recentes:10}")
+    private int alteracoesRecentes = 10;
+
+    private Cache<String, DashboardResponse> cache;
+
+    @PostConstruct
+    public void init() {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(Duration.ofMillis(cacheTtlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "dashboard");
+    }
+
+    @Override
+    public DashboardResponse resumo() {
+        try {
+            return cache.get(CHAVE, k -> calcular());
+        } catch (Exception ex) {
+            log.error("Falha ao montar dashboard", ex);
+            throw new ServiceOperationException("Falha ao montar dashboard", ex);
+        }
+    }
+
+    @Override
+    public void invalidar() {
+        cache.invalidateAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll();
+                }
+            });
+        }
+    }
+
+    private DashboardResponse calcular() {
+        long saudaveis = 0, abaixo = 0, prejuizo = 0;
+        BigDecimal lucroAtual = BigDecimal.ZERO;
+        BigDecimal lucroPotencial = BigDecimal.ZERO;
+        for (ResumoStatusView r : snapshotRepository.resumirAtivosPorStatus()) {
+            long quantidade = r.getQuantidade() == null ? 0 : r.getQuantidade();
+            switch (StatusPrecificacao.valueOf(r.getStatus())) {
+                case SAUDAVEL -> saudaveis = quantidade;
+                case ABAIXO -> abaixo = quantidade;
+                case PREJUIZO -> prejuizo = quantidade;
+            }
+            if (r.getLucroAtual() != null) lucroAtual = lucroAtual.add(r.getLucroAtual());
+            if (r.getLucroPotencial() != null) lucroPotencial = lucroPotencial.add(r.getLucroPotencial());
+        }
+
+        List<AlteracaoPrecoView> alteracoes = precoRepository.findAlteracoesRecentes(alteracoesRecentes);
+        List<AlteracaoPrecoResponse> recentes = new ArrayList<>(alteracoes.size());
+        for (AlteracaoPrecoView a : alteracoes) {
+            recentes.add(new AlteracaoPrecoResponse(
+                    a.getServicoId(), a.getNome(), a.getPrecoAnterior(), a.getPreco(), a.getVigenciaInicio()));
+        }
+
+        return new DashboardResponse(
+                saudaveis,
+                abaixo,
+                prejuizo,
+                PrecificacaoCalculadora.money(lucroAtual),
+                PrecificacaoCalculadora.money(lucroPotencial),
+                saudaveis + abaixo + prejuizo,
+                materialRepository.countByAtivoTrue(),
+                atividadeRepository.countByAtivoTrue(),
+                recentes,
+                LocalDateTime.now());
+    }
+}
@@ -0,0 +1,148 @@
+package com.finesse.service;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.finesse.repository.ServicoRepository;
+import com.finesse.repository.projection.MaterialUsoView;
+
+/**
+ * Índice em memória de servico_materiais nos dois sentidos: material → (serviço → quantidade) e
+ * serviço → (material → quantidade). Montado na subida a partir do banco e mantido pelas escritas
+ * de {@link ServicoServiceImpl}, sempre após o commit (um rollback nunca altera o índice).
+ * Após o commit a composição do serviço é relida do banco: callbacks de transações concorrentes
+ * podem rodar fora da ordem dos commits, e reler garante que o último a rodar vê o estado final.
+ *
+ * Os mapas internos são imutáveis e trocados inteiros; leituras não bloqueiam e sempre veem a
+ * composição completa de um serviço. Escritas e recarga são serializadas.
+ */
+@Component
+public class IndiceMateriais {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceMateriais.class);
+
+    @Autowired
+    private ServicoRepository servicoRepository;
+
+    private final ConcurrentHashMap<Long, Map<Long, BigDecimal>> porMaterial = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Map<Long, BigDecimal>> porServico = new ConcurrentHashMap<>();
+    private volatile boolean carregado;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        recarregar();
+    }
+
+    /**
+     * Serviços que usam o material e a quantidade usada por atendimento.
+     * @return mapa imutável servicoId → quantidade (vazio se nenhum)
+     */
+    public Map<Long, BigDecimal> servicosDoMaterial(Long materialId) {
+        garantirCarregado();
+        return porMaterial.getOrDefault(materialId, Map.of());
+    }
+
+    /**
+     * Composição do serviço.
+     * @return mapa imutável materialId → quantidade (vazio se nenhum)
+     */
+    public Map<Long, BigDecimal> materiaisDoServico(Long servicoId) {
+        garantirCarregado();
+        return porServico.getOrDefault(servicoId, Map.of());
+    }
+
+    /**
+     * Relê servico_materiais inteiro e reconstrói o índice.
+     */
+    public synchronized void recarregar() {
+        Map<Long, Map<Long, BigDecimal>> servicos = new HashMap<>();
+        for (MaterialUsoView u : servicoRepository.findUsosDeMateriais()) {
+            servicos.computeIfAbsent(u.getServicoId(), k -> new HashMap<>()).put(u.getMaterialId(), u.getQuantidadeUsada());
+        }
+        Map<Long, Map<Long, BigDecimal>> materiais = new HashMap<>();
+        servicos.forEach((sid, comp) -> comp.forEach((mid, qtd) ->
+                materiais.computeIfAbsent(mid, k -> new HashMap<>()).put(sid, qtd)));
+
+        // troca entrada a entrada: um leitor concorrente vê a composição antiga ou a nova, nunca um índice vazio
+        servicos.forEach((sid, comp) -> porServico.put(sid, Map.copyOf(comp)));
+        porServico.keySet().retainAll(servicos.keySet());
+        materiais.forEach((mid, usos) -> porMaterial.put(mid, Map.copyOf(usos)));
+        porMaterial.keySet().retainAll(materiais.keySet());
+        carregado = true;
+        log.info("Índice de materiais carregado: {} serviços, {} materiais", porServico.size(), porMaterial.size());
+    }
+
+    /**
+     * Relê a composição do serviço depois do commit da transação corrente (ou já, se não houver).
+     */
+    public void atualizarServicoAposCommit(Long servicoId) {
+        aposCommit(() -> recarregarServico(servicoId));
+    }
+
+    /**
+     * Remove o serviço do índice depois do commit.
+     */
+    public void removerServicoAposCommit(Long servicoId) {
+        aposCommit(() -> atualizarServico(servicoId, Map.of()));
+    }
+
+    /** Lê e aplica sob o mesmo lock: a releitura mais tardia é sempre a última aplicada. */
+    synchronized void recarregarServico(Long servicoId) {
+        if (!carregado) return;
+        Map<Long, BigDecimal> materiais = new HashMap<>();
+        for (MaterialUsoView u : servicoRepository.findUsosDeMateriaisByServicoId(servicoId)) {
+            materiais.put(u.getMaterialId(), u.getQuantidadeUsada());
+        }
+        atualizarServico(servicoId, Map.copyOf(materiais));
+    }
+
+    synchronized void atualizarServico(Long servicoId, Map<Long, BigDecimal> materiais) {
+        if (!carregado) return; // a primeira leitura carrega tudo do banco, já com esta alteração
+        Map<Long, BigDecimal> anterior = porServico.getOrDefault(servicoId, Map.of());
+        Set<Long> tocados = new HashSet<>(anterior.keySet());
+        tocados.addAll(materiais.keySet());
+        for (Long mid : tocados) {
+            BigDecimal qtd = materiais.get(mid);
+            porMaterial.compute(mid, (k, usos) -> {
+                Map<Long, BigDecimal> novo = usos == null ? new HashMap<>() : new HashMap<>(usos);
+                if (qtd == null) novo.remove(servicoId); else novo.put(servicoId, qtd);
+                return novo.isEmpty() ? null : Map.copyOf(novo);
+            });
+        }
+        if (materiais.isEmpty()) porServico.remove(servicoId); else porServico.put(servicoId, materiais);
+    }
+
+    private void garantirCarregado() {
+        if (!carregado) {
+            synchronized (this) {
+                if (!carregado) recarregar();
+            }
+        }
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
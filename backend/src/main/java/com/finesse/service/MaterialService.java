@@ -1,9 +1,14 @@
 package com.finesse.service;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 
+import com.finesse.dto.MaterialAtualizadoResponse;
 import com.finesse.entity.Material;
 
 /**
@@ -23,6 +28,17 @@ public interface MaterialService {
      */
     Page<Material> list(String produto, Boolean ativo, int page, int size, String sort);
 
+    /**
+     * Lista materiais por keyset (cursor), sem contagem total.
+     * @param produto Filtro por nome do produto (parcial, case-insensitive)
+     * @param ativo Filtro por status ativo/inativo; null para todos
+     * @param posicao Posição após a última linha da página anterior
+     * @param size Tamanho da página
+     * @param sort Ordenação no formato "campo,asc|desc" (a mesma usada para gerar o cursor)
+     * @return Janela com materiais
+     */
+    Window<Material> listKeyset(String produto, Boolean ativo, KeysetScrollPosition posicao, int size, String sort);
+
     /**
      * Busca material por ID.
      * @param id Identificador do material
@@ -30,6 +46,14 @@ public interface MaterialService {
      */
     Optional<Material> findById(Long id);
 
+    /**
+     * Busca vários materiais em uma única consulta (IN).
+     * @param ids IDs dos materiais; nulos e repetidos são ignorados
+     * @return Mapa id → material com os encontrados; IDs inexistentes ficam de fora
+     * @throws com.finesse.exception.ServiceOperationException em falhas de operação
+     */
+    Map<Long, Material> findAllByIds(Collection<Long> ids);
+
     /**
      * Cria novo material.
      * @param m Entidade Material a criar
@@ -40,14 +64,14 @@ public interface MaterialService {
     Material create(Material m);
 
     /**
-     * Atualiza material existente.
+     * Atualiza material existente. Se o custo unitário mudar, reprecifica os serviços que usam o material.
      * @param id ID do material
      * @param input Dados para atualização
-     * @return Optional com material atualizado
+     * @return Optional com material atualizado e serviços impactados
      * @throws com.finesse.exception.ValidationException em caso de dados inválidos
      * @throws com.finesse.exception.ServiceOperationException em falhas de operação
      */
-    Optional<Material> update(Long id, Material input);
+    Optional<MaterialAtualizadoResponse> update(Long id, Material input);
 
     /**
      * Exclui material pelo ID.
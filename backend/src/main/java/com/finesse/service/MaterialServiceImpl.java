@@ -1,78 +1,104 @@
 package com.finesse.service;
 
-import java.text.Normalizer;
-import java.util.Comparator;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.finesse.dto.MaterialAtualizadoResponse;
+import com.finesse.dto.ServicoImpactadoResponse;
 import com.finesse.entity.Material;
 import com.finesse.exception.ServiceOperationException;
 import com.finesse.exception.ValidationException;
 import com.finesse.repository.MaterialRepository;
+import com.finesse.utils.TextoNormalizado;
+import com.finesse.utils.KeysetCursor;
 
 @Service
 public class MaterialServiceImpl implements MaterialService {
 
     private static final Logger log = LoggerFactory.getLogger(MaterialServiceImpl.class);
 
+    /** Campos aceitos em sort; produto ordena por produto_normalizado. */
+    private static final Map<String, String> ORDENAVEIS = Map.of(
+            "id", "id", "produto", "produtoNormalizado", "unidadeMedida", "unidadeMedida",
+            "volumeEmbalagem", "volumeEmbalagem", "precoEmbalagem", "precoEmbalagem",
+            "custoUnitario", "custoUnitario", "ativo", "ativo", "dataAtualizacao", "dataAtualizacao");
+
     @Autowired
     private MaterialRepository materialRepository;
+    @Autowired
+    private PrecificacaoService precificacaoService;
+    @Autowired
+    private PrecificacaoSnapshotAtualizador snapshot;
+    @Autowired
+    private DashboardService dashboard;
 
     @Override
     public Page<Material> list(String produto, Boolean ativo, int page, int size, String sort) {
+        Sort ordem = parseSort(sort);
         try {
             int page0 = Math.max(0, page);
             int size1 = Math.max(1, size);
 
-            boolean hasProduto = produto != null && !produto.isBlank();
-            if (hasProduto) {
-                List<Material> all = materialRepository.findAll();
-                Stream<Material> stream = all.stream();
-
-                String q = normalize(produto != null ? produto.trim() : null);
-                stream = stream.filter(m -> {
-                    String p = normalize(m.getProduto());
-                    return p != null && p.contains(q);
-                });
+            Pageable pageable = PageRequest.of(page0, size1, ordem);
+            if (produto != null && !produto.isBlank()) {
+                String q = TextoNormalizado.normalizar(produto);
                 if (ativo != null) {
-                    boolean target = Boolean.TRUE.equals(ativo);
-                    stream = stream.filter(m -> Boolean.TRUE.equals(m.getAtivo()) == target);
+                    return materialRepository.findByProdutoNormalizadoContainingAndAtivo(q, ativo, pageable);
                 }
+                return materialRepository.findByProdutoNormalizadoContaining(q, pageable);
+            }
+            if (ativo != null) {
+                return materialRepository.findByAtivo(ativo, pageable);
+            }
+            return materialRepository.findAll(pageable);
+        } catch (Exception ex) {
+            log.error("Falha ao listar materiais", ex);
+            throw new ServiceOperationException("Falha ao listar materiais", ex);
+        }
+    }
 
-                Comparator<Material> comparator = buildComparator(sort);
-                List<Material> filteredSorted = comparator != null ? stream.sorted(comparator).toList() : stream.toList();
-
-                int total = filteredSorted.size();
-                int from = Math.min(page0 * size1, total);
-                int to = Math.min(from + size1, total);
-                List<Material> content = filteredSorted.subList(from, to);
-
-                Pageable pageableMeta = PageRequest.of(page0, size1, parseSort(sort));
-                return new PageImpl<>(content, pageableMeta, total);
-            } else {
-                Pageable pageable = PageRequest.of(page0, size1, parseSort(sort));
+    @Override
+    public Window<Material> listKeyset(String produto, Boolean ativo, KeysetScrollPosition posicao, int size, String sort) {
+        Sort ordem = parseSort(sort);
+        KeysetCursor.exigirCompativel(posicao, ordem);
+        try {
+            Limit limit = Limit.of(Math.max(1, size));
+            if (produto != null && !produto.isBlank()) {
+                String q = TextoNormalizado.normalizar(produto);
                 if (ativo != null) {
-                    return materialRepository.findByAtivo(ativo, pageable);
+                    return materialRepository.findByProdutoNormalizadoContainingAndAtivo(q, ativo, posicao, ordem, limit);
                 }
-                return materialRepository.findAll(pageable);
+                return materialRepository.findByProdutoNormalizadoContaining(q, posicao, ordem, limit);
+            }
+            if (ativo != null) {
+                return materialRepository.findByAtivo(ativo, posicao, ordem, limit);
             }
+            return materialRepository.findAllBy(posicao, ordem, limit);
         } catch (Exception ex) {
             log.error("Falha ao listar materiais", ex);
             throw new ServiceOperationException("Falha ao listar materiais", ex);
         }
-
     }
 
     @Override
@@ -85,6 +111,23 @@ public class MaterialServiceImpl implements MaterialService {
         }
     }
 
+    @Override
+    public Map<Long, Material> findAllByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) return Map.of();
+        Set<Long> distintos = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (distintos.isEmpty()) return Map.of();
+        try {
+            Map<Long, Material> porId = new HashMap<>();
+            for (Material m : materialRepository.findAllById(distintos)) {
+                porId.put(m.getId(), m);
+            }
+            return porId;
+        } catch (Exception ex) {
+            log.error("Falha ao buscar materiais ids={}", distintos, ex);
+            throw new ServiceOperationException("Falha ao buscar materiais", ex);
+        }
+    }
+
     @Override
     @Transactional
     public Material create(Material m) {
@@ -92,6 +135,7 @@ public class MaterialServiceImpl implements MaterialService {
             sanitize(m);
             validateBusiness(m);
             Material saved = materialRepository.save(m);
+            dashboard.invalidar();
             log.info("Material criado id={}", saved.getId());
             return saved;
         } catch (ValidationException vex) {
@@ -105,9 +149,10 @@ public class MaterialServiceImpl implements MaterialService {
 
     @Override
     @Transactional
-    public Optional<Material> update(Long id, Material input) {
+    public Optional<MaterialAtualizadoResponse> update(Long id, Material input) {
         try {
             return materialRepository.findById(id).map(existing -> {
+                BigDecimal custoAnterior = existing.getCustoUnitario();
                 existing.setProduto(trim(input.getProduto()));
                 existing.setUnidadeMedida(input.getUnidadeMedida());
                 existing.setVolumeEmbalagem(input.getVolumeEmbalagem());
@@ -117,8 +162,14 @@ public class MaterialServiceImpl implements MaterialService {
                 sanitize(existing);
                 validateBusiness(existing);
                 Material saved = materialRepository.save(existing);
-                log.info("Material atualizado id={}", saved.getId());
-                return saved;
+                // flush relê o custo_unitario gerado e deixa a soma dos insumos visível para a propagação
+                materialRepository.flush();
+                List<ServicoImpactadoResponse> impactados = precificacaoService.propagarCustoMaterial(
+                        saved.getId(), custoAnterior, saved.getCustoUnitario());
+                snapshot.marcarServicos(impactados.stream().map(ServicoImpactadoResponse::servicoId).toList());
+                dashboard.invalidar();
+                log.info("Material atualizado id={} servicosImpactados={}", saved.getId(), impactados.size());
+                return new MaterialAtualizadoResponse(saved, impactados);
             });
         } catch (ValidationException vex) {
             log.warn("Validação falhou ao atualizar material id={}: {}", id, vex.getMessage());
@@ -135,6 +186,7 @@ public class MaterialServiceImpl implements MaterialService {
         try {
             if (materialRepository.existsById(id)) {
                 materialRepository.deleteById(id);
+                dashboard.invalidar();
                 log.info("Material removido id={}", id);
                 return true;
             }
@@ -152,6 +204,7 @@ public class MaterialServiceImpl implements MaterialService {
             return materialRepository.findById(id).map(m -> {
                 m.setAtivo(ativo);
                 Material saved = materialRepository.save(m);
+                dashboard.invalidar();
                 log.info("Status do material alterado id={} ativo={}", saved.getId(), ativo);
                 return saved;
             });
@@ -164,62 +217,16 @@ public class MaterialServiceImpl implements MaterialService {
     private Sort parseSort(String sort) {
         if (sort == null || sort.isBlank()) return Sort.by("id").ascending();
         String[] parts = sort.split(",");
-        String prop = parts[0].trim();
+        String campo = parts[0].trim();
+        String prop = ORDENAVEIS.get(campo);
+        if (prop == null) {
+            throw new ValidationException("Ordenação inválida: " + campo + " (use " + String.join(", ", new TreeSet<>(ORDENAVEIS.keySet())) + ")");
+        }
         String dir = parts.length > 1 ? parts[1].trim().toLowerCase() : "asc";
         Sort base = Sort.by(prop);
         return "desc".equals(dir) ? base.descending() : base.ascending();
     }
 
-    private Comparator<Material> buildComparator(String sort) {
-        if (sort == null || sort.isBlank()) {
-            return Comparator.comparing(Material::getId, Comparator.nullsLast(Long::compareTo));
-        }
-        String[] parts = sort.split(",");
-        String prop = parts[0].trim();
-        boolean desc = parts.length > 1 && "desc".equalsIgnoreCase(parts[1].trim());
-
-        Comparator<Material> cmp;
-        switch (prop) {
-            case "id":
-                cmp = Comparator.comparing(Material::getId, Comparator.nullsLast(Long::compareTo));
-                break;
-            case "produto":
-                cmp = Comparator.comparing(
-                        m -> normalize(m.getProduto()),
-                        Comparator.nullsLast(String::compareTo)
-                );
-                break;
-            case "unidadeMedida":
-                cmp = Comparator.comparing(
-                        m -> m.getUnidadeMedida() == null ? null : m.getUnidadeMedida().name(),
-                        Comparator.nullsLast(String::compareTo)
-                );
-                break;
-            case "volumeEmbalagem":
-                cmp = Comparator.comparing(Material::getVolumeEmbalagem, Comparator.nullsLast(java.math.BigDecimal::compareTo));
-                break;
-            case "precoEmbalagem":
-                cmp = Comparator.comparing(Material::getPrecoEmbalagem, Comparator.nullsLast(java.math.BigDecimal::compareTo));
-                break;
-            case "custoUnitario":
-                cmp = Comparator.comparing(Material::getCustoUnitario, Comparator.nullsLast(java.math.BigDecimal::compareTo));
-                break;
-            case "ativo":
-                cmp = Comparator.comparing(Material::getAtivo, Comparator.nullsLast(Boolean::compareTo));
-                break;
-            default:
-                cmp = Comparator.comparing(Material::getId, Comparator.nullsLast(Long::compareTo));
-        }
-        return desc ? cmp.reversed() : cmp;
-    }
-
-    private String normalize(String s) {
-        if (s == null) return null;
-        String lower = s.toLowerCase();
-        String nfd = Normalizer.normalize(lower, Normalizer.Form.NFD);
-        return nfd.replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
-    }
-
     private void sanitize(Material m) {
         m.setProduto(trim(m.getProduto()));
         m.setObservacoes(trim(m.getObservacoes()));
@@ -0,0 +1,104 @@
+package com.finesse.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import com.finesse.entity.StatusPrecificacao;
+
+/**
+ * Regras de cálculo de preço de um serviço (markup por divisão).
+ *
+ * custoDireto   = duracao x valorMinuto + custoInsumos
+ * fator         = 1 / (1 - (imposto + fixo + margem))
+ * vendaSugerida = custoDireto x fator
+ * lucro         = vendaAtual x (1 - imposto - fixo) - custoDireto
+ *
+ * Mesmas regras usadas anteriormente no frontend (calcRow).
+ */
+public final class PrecificacaoCalculadora {
+
+    static final int SCALE = 8;
+    private static final BigDecimal CEM = new BigDecimal("100");
+    private static final BigDecimal TOLERANCIA_PRECO = new BigDecimal("0.01");
+    private static final BigDecimal TOLERANCIA_MARGEM_PCT = new BigDecimal("0.05");
+    private static final BigDecimal TOLERANCIA_LUCRO = new BigDecimal("-0.000001");
+
+    private PrecificacaoCalculadora() {}
+
+    public record Resultado(
+            BigDecimal custoMaoObra,
+            BigDecimal custoDireto,
+            BigDecimal fatorPreco,
+            BigDecimal vendaSugerida,
+            BigDecimal lucro,
+            BigDecimal margemPct,
+            StatusPrecificacao status
+    ) {}
+
+    /**
+     * Calcula custos, preço sugerido, lucro e status de um serviço.
+     * @param valorMinuto valor do minuto de trabalho (configuração ativa)
+     * @param duracaoMinutos duração do atendimento
+     * @param custoInsumos soma de quantidade x custo unitário dos materiais
+     * @param impostoFrac alíquota total da atividade como fração
+     * @param fixoFrac custo fixo como fração
+     * @param margemFrac margem desejada como fração (custom ou padrão)
+     * @param vendaAtual preço praticado atual (zero se inexistente)
+     * @return resultado sem arredondamento de apresentação (scale 8)
+     */
+    public static Resultado calcular(BigDecimal valorMinuto, Integer duracaoMinutos, BigDecimal custoInsumos,
+                                     BigDecimal impostoFrac, BigDecimal fixoFrac, BigDecimal margemFrac,
+                                     BigDecimal vendaAtual) {
+        BigDecimal vm = nz(valorMinuto);
+        BigDecimal imposto = nz(impostoFrac);
+        BigDecimal fixo = nz(fixoFrac);
+        BigDecimal margem = nz(margemFrac);
+        BigDecimal venda = nz(vendaAtual);
+
+        BigDecimal mao = vm.multiply(BigDecimal.valueOf(duracaoMinutos == null ? 0 : duracaoMinutos));
+        BigDecimal direto = mao.add(nz(custoInsumos));
+
+        BigDecimal soma = imposto.add(fixo).add(margem);
+        BigDecimal denom = BigDecimal.ONE.subtract(soma);
+        BigDecimal fator = denom.signum() > 0
+                ? BigDecimal.ONE.divide(denom, SCALE, RoundingMode.HALF_UP)
+                : BigDecimal.ONE.add(soma);
+
+        BigDecimal sugerida = direto.multiply(fator);
+        BigDecimal lucro = venda.multiply(BigDecimal.ONE.subtract(imposto).subtract(fixo)).subtract(direto);
+        BigDecimal margemPct = venda.signum() > 0
+                ? lucro.multiply(CEM).divide(venda, SCALE, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+
+        StatusPrecificacao status = StatusPrecificacao.SAUDAVEL;
+        boolean precoProximo = venda.subtract(sugerida).abs().compareTo(TOLERANCIA_PRECO) <= 0;
+        if (lucro.compareTo(TOLERANCIA_LUCRO) < 0) {
+            status = StatusPrecificacao.PREJUIZO;
+        } else if (!precoProximo
+                && margemPct.compareTo(margem.multiply(CEM).subtract(TOLERANCIA_MARGEM_PCT)) < 0) {
+            status = StatusPrecificacao.ABAIXO;
+        }
+
+        return new Resultado(mao, direto, fator, sugerida, lucro, margemPct, status);
+    }
+
+    /**
+     * Converte percentual "humano" (ex.: 20.00) em fração (0.20), como nas entidades.
+     */
+    public static BigDecimal pctToFrac(BigDecimal pct) {
+        if (pct == null) return BigDecimal.ZERO;
+        return pct.divide(CEM, SCALE, RoundingMode.HALF_UP);
+    }
+
+    static BigDecimal money(BigDecimal v) {
+        return v == null ? null : v.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    static BigDecimal frac(BigDecimal v) {
+        return v == null ? null : v.setScale(4, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal nz(BigDecimal v) {
+        return v == null ? BigDecimal.ZERO : v;
+    }
+}
@@ -0,0 +1,61 @@
+package com.finesse.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.finesse.dto.PrecificacaoItemResponse;
+import com.finesse.dto.SensibilidadeResponse;
+import com.finesse.dto.ServicoImpactadoResponse;
+import com.finesse.dto.SimulacaoRequest;
+import com.finesse.dto.SimulacaoResponse;
+import com.finesse.entity.StatusPrecificacao;
+
+/**
+ * Camada de serviço para Precificação.
+ * Calcula custos, preço sugerido, lucro e status de todos os serviços.
+ */
+public interface PrecificacaoService {
+
+    /**
+     * Precificação do catálogo lida do modelo de leitura (precificacao_snapshot), com filtro e
+     * ordenação no banco. Os valores são recalculados na escrita por {@link PrecificacaoSnapshotAtualizador}.
+     * @param ativo filtro por serviços ativos/inativos; null para todos
+     * @param status filtro por status; null para todos
+     * @param margemMinPct margem mínima (%) inclusive; null sem limite
+     * @param margemMaxPct margem máxima (%) inclusive; null sem limite
+     * @param sort "campo,asc|desc" (nome, grupo, status, margemPct, lucro, vendaSugerida, vendaAtual, custoDireto);
+     *             null ordena por nome
+     * @throws com.finesse.exception.ValidationException se a ordenação for inválida
+     */
+    List<PrecificacaoItemResponse> listar(Boolean ativo, StatusPrecificacao status,
+                                          BigDecimal margemMinPct, BigDecimal margemMaxPct, String sort);
+
+    /**
+     * Avalia cenários hipotéticos (configuração e alíquotas) sobre uma fotografia do catálogo,
+     * em paralelo, sem gravar nada.
+     * @return agregados por cenário comparados à configuração ativa
+     * @throws com.finesse.exception.ValidationException se os cenários forem inválidos
+     */
+    SimulacaoResponse simular(SimulacaoRequest request);
+
+    /**
+     * Monte Carlo do custo dos materiais: em cada ensaio o custo unitário de cada material varia
+     * uniformemente em ±variacaoPct e os serviços com preço são reprecificados ao preço atual.
+     * @param ensaios ensaios por serviço; null para o padrão configurado
+     * @param variacaoPct banda de variação do custo unitário (%); null para a padrão configurada
+     * @param semente semente do sorteio; null para 0
+     * @param ativo filtro por serviços ativos/inativos; null para todos
+     * @return serviços do maior para o menor risco de prejuízo
+     * @throws com.finesse.exception.ValidationException se os parâmetros forem inválidos
+     */
+    SensibilidadeResponse analisarSensibilidade(Integer ensaios, BigDecimal variacaoPct, Long semente, Boolean ativo);
+
+    /**
+     * Reprecifica só os serviços que usam o material (pelo {@link IndiceMateriais}), comparando o
+     * custo unitário anterior com o novo. Deve rodar na transação da atualização, depois do flush.
+     * @return serviços afetados, ordenados por nome; vazio se o custo não mudou ou nenhum serviço usa o material
+     * @throws com.finesse.exception.ServiceOperationException em falhas de operação
+     */
+    List<ServicoImpactadoResponse> propagarCustoMaterial(Long materialId, BigDecimal custoUnitarioAnterior,
+                                                         BigDecimal custoUnitarioNovo);
+}
@@ -0,0 +1,410 @@
+package com.finesse.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.finesse.dto.CenarioSimulacao;
+import com.finesse.dto.ConfiguracaoAtiva;
+import com.finesse.dto.PrecificacaoItemResponse;
+import com.finesse.dto.SensibilidadeResponse;
+import com.finesse.dto.SensibilidadeServicoResponse;
+import com.finesse.dto.ServicoImpactadoResponse;
+import com.finesse.dto.SimulacaoCenarioResponse;
+import com.finesse.dto.SimulacaoRequest;
+import com.finesse.dto.SimulacaoResponse;
+import com.finesse.dto.SimulacaoServicoImpacto;
+import com.finesse.entity.Atividade;
+import com.finesse.entity.PrecificacaoSnapshot;
+import com.finesse.entity.StatusPrecificacao;
+import com.finesse.exception.ServiceOperationException;
+import com.finesse.exception.ValidationException;
+import com.finesse.repository.AtividadeRepository;
+import com.finesse.repository.PrecificacaoSnapshotRepository;
+import com.finesse.repository.PrecoPraticadoRepository;
+import com.finesse.repository.ServicoRepository;
+import com.finesse.repository.projection.CustoInsumosView;
+import com.finesse.repository.projection.PrecoAtualView;
+import com.finesse.repository.projection.ServicoPrecificacaoView;
+
+@Service
+public class PrecificacaoServiceImpl implements PrecificacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(PrecificacaoServiceImpl.class);
+
+    private static final List<String> ORDENAVEIS = List.of(
+            "nome", "grupo", "status", "margemPct", "lucro", "vendaSugerida", "vendaAtual", "custoDireto");
+    private static final int TOP_K_PADRAO = 10;
+    /** Limites das colunas NUMERIC(14,2), (10,2) e (10,4) de configuracoes, em unidades do kernel. */
+    private static final long MAX_PRETENSAO = 1_000_000_000_000L * 100;
+    private static final long MAX_HORAS = 100_000_000L * 100;
+    private static final long MAX_SEMANAS = 1_000_000L * 10_000;
+    /** 100% em unidades de {@link PricingKernel#ESCALA_PCT}. */
+    private static final long CEM_PCT = 1_000_000L;
+
+    @Autowired
+    private ServicoRepository servicoRepository;
+    @Autowired
+    private PrecoPraticadoRepository precoRepository;
+    @Autowired
+    private AtividadeRepository atividadeRepository;
+    @Autowired
+    private ConfiguracaoAtivaHolder configuracaoAtiva;
+    @Autowired
+    private CatalogoPrecificacaoLoader catalogoLoader;
+    @Autowired
+    private SimuladorPrecificacao simulador;
+    @Autowired
+    private AnaliseSensibilidade analiseSensibilidade;
+    @Autowired
+    private IndiceMateriais indiceMateriais;
+    @Autowired
+    private PrecificacaoSnapshotRepository snapshotRepository;
+
+    @Value("${app.precificacao.simulacao.max-cenarios:500}")
+    private int maxCenarios = 500;
+    @Value("${app.precificacao.simulacao.max-top-k:100}")
+    private int maxTopK = 100;
+    @Value("${app.precificacao.sensibilidade.ensaios-padrao:1000}")
+    private int ensaiosPadrao = 1000;
+    @Value("${app.precificacao.sensibilidade.max-ensaios:20000}")
+    private int maxEnsaios = 20000;
+    @Value("${app.precificacao.sensibilidade.variacao-pct:15}")
+    private BigDecimal variacaoPadraoPct = new BigDecimal("15");
+
+    @Override
+    public List<PrecificacaoItemResponse> listar(Boolean ativo, StatusPrecificacao status,
+                                                 BigDecimal margemMinPct, BigDecimal margemMaxPct, String sort) {
+        Sort ordem = parseSort(sort);
+        try {
+            List<Specification<PrecificacaoSnapshot>> filtros = new ArrayList<>();
+            if (ativo != null) filtros.add((root, q, cb) -> cb.equal(root.get("ativo"), ativo));
+            if (status != null) filtros.add((root, q, cb) -> cb.equal(root.get("status"), status));
+            if (margemMinPct != null) filtros.add((root, q, cb) -> cb.greaterThanOrEqualTo(root.get("margemPct"), margemMinPct));
+            if (margemMaxPct != null) filtros.add((root, q, cb) -> cb.lessThanOrEqualTo(root.get("margemPct"), margemMaxPct));
+            List<PrecificacaoSnapshot> linhas = snapshotRepository.findAll(Specification.allOf(filtros), ordem);
+            List<PrecificacaoItemResponse> out = new ArrayList<>(linhas.size());
+            for (PrecificacaoSnapshot l : linhas) {
+                out.add(new PrecificacaoItemResponse(
+                        l.getServicoId(),
+                        l.getNome(),
+                        l.getGrupo(),
+                        l.isAtivo(),
+                        l.getCustoMaoObra(),
+                        l.getCustoInsumos(),
+                        l.getCustoDireto(),
+                        l.getImpostoFrac(),
+                        l.getFixoFrac(),
+                        l.getMargemFrac(),
+                        l.getFatorPreco(),
+                        l.getVendaAtual(),
+                        l.getVendaSugerida(),
+                        l.getLucro(),
+                        l.getMargemPct(),
+                        l.getStatus()
+                ));
+            }
+            return out;
+        } catch (Exception ex) {
+            log.error("Falha ao listar precificação", ex);
+            throw new ServiceOperationException("Falha ao listar precificação", ex);
+        }
+    }
+
+    @Override
+    public SimulacaoResponse simular(SimulacaoRequest request) {
+        try {
+            long inicio = System.nanoTime();
+            List<CenarioSimulacao> entrada = request == null ? null : request.cenarios();
+            if (entrada == null || entrada.isEmpty()) {
+                throw new ValidationException("Informe ao menos um cenário");
+            }
+            if (entrada.size() > maxCenarios) {
+                throw new ValidationException("Máximo de " + maxCenarios + " cenários por simulação");
+            }
+            int topK = request.topK() == null ? TOP_K_PADRAO : request.topK();
+            if (topK < 0 || topK > maxTopK) {
+                throw new ValidationException("topK deve estar entre 0 e " + maxTopK);
+            }
+
+            CatalogoPrecificacao catalogo = catalogoLoader.carregar(request.ativo());
+            List<SimuladorPrecificacao.Cenario> cenarios = new ArrayList<>(entrada.size());
+            for (int c = 0; c < entrada.size(); c++) {
+                cenarios.add(converter(entrada.get(c), c, catalogo));
+            }
+
+            CatalogoPrecificacao.Base base = catalogo.base();
+            List<SimuladorPrecificacao.Resultado> resultados = simulador.simular(catalogo, base, cenarios, topK);
+
+            List<SimulacaoCenarioResponse> out = new ArrayList<>(cenarios.size());
+            PricingKernel.Resultado r = new PricingKernel.Resultado();
+            for (int c = 0; c < cenarios.size(); c++) {
+                SimuladorPrecificacao.Cenario cenario = cenarios.get(c);
+                SimuladorPrecificacao.Resultado res = resultados.get(c);
+
+                List<SimulacaoServicoImpacto> afetados = new ArrayList<>(res.maisAfetados().length);
+                for (int i : res.maisAfetados()) {
+                    catalogo.calcular(i, cenario.valorMinuto(), cenario.fixo(), cenario.margemPadrao(), cenario.aliquotas(), r);
+                    long atual = base.sugerida()[i];
+                    afetados.add(new SimulacaoServicoImpacto(
+                            catalogo.ids[i],
+                            catalogo.nomes[i],
+                            moeda(atual),
+                            moeda(r.vendaSugeridaCentavos),
+                            moeda(r.vendaSugeridaCentavos - atual),
+                            base.status()[i],
+                            r.status));
+                }
+
+                out.add(new SimulacaoCenarioResponse(
+                        cenario.nome(),
+                        PricingKernel.decimal(cenario.valorMinuto(), PricingKernel.ESCALA_FRAC),
+                        res.saudaveis(),
+                        res.abaixo(),
+                        res.prejuizo(),
+                        res.mudaramDeStatus(),
+                        moeda(custoEmCentavos(res.lucroTotal())),
+                        moeda(custoEmCentavos(res.lucroTotal() - base.lucroTotal())),
+                        moeda(catalogo.tamanho == 0 ? 0L
+                                : PricingKernel.dividir(res.sugeridaTotalCentavos(), catalogo.tamanho, RoundingMode.HALF_UP)),
+                        afetados));
+            }
+
+            long duracaoMs = (System.nanoTime() - inicio) / 1_000_000L;
+            log.info("Simulação: {} cenários x {} serviços em {} ms", cenarios.size(), catalogo.tamanho, duracaoMs);
+            return new SimulacaoResponse(catalogo.tamanho, duracaoMs, out);
+        } catch (ValidationException vex) {
+            log.warn("Validação falhou ao simular precificação: {}", vex.getMessage());
+            throw vex;
+        } catch (ArithmeticException aex) {
+            log.warn("Simulação com valores fora do intervalo suportado: {}", aex.getMessage());
+            throw new ValidationException("Cenário com valores fora do intervalo suportado");
+        } catch (Exception ex) {
+            log.error("Falha ao simular precificação", ex);
+            throw new ServiceOperationException("Falha ao simular precificação", ex);
+        }
+    }
+
+    @Override
+    public SensibilidadeResponse analisarSensibilidade(Integer ensaios, BigDecimal variacaoPct, Long semente, Boolean ativo) {
+        try {
+            long inicio = System.nanoTime();
+            int n = ensaios == null ? ensaiosPadrao : ensaios;
+            if (n < 1 || n > maxEnsaios) {
+                throw new ValidationException("ensaios deve estar entre 1 e " + maxEnsaios);
+            }
+            BigDecimal variacao = variacaoPct == null ? variacaoPadraoPct : variacaoPct;
+            // % com 4 casas = milionésimos: 20,0000% → 200000 ppm
+            long bandaPpm = frac(variacao, "Análise de sensibilidade", "variacaoPct") / 100;
+            long sementeUsada = semente == null ? 0L : semente;
+
+            CatalogoMateriais materiais = catalogoLoader.carregarComMateriais(ativo);
+            CatalogoPrecificacao catalogo = materiais.catalogo;
+            int[] comPreco = IntStream.range(0, catalogo.tamanho)
+                    .filter(i -> catalogo.venda[i] > 0)
+                    .toArray();
+
+            AnaliseSensibilidade.Resultado r = analiseSensibilidade.analisar(materiais, comPreco,
+                    PricingKernel.valorMinuto(catalogo.pretensao, catalogo.horasSemanais, catalogo.semanasMediaMes),
+                    catalogo.fixo, catalogo.margemPadrao, n, bandaPpm, sementeUsada);
+            if (!r.completo()) {
+                throw new ValidationException("Análise excedeu o tempo máximo; reduza o número de ensaios");
+            }
+
+            List<SensibilidadeServicoResponse> out = new ArrayList<>(comPreco.length);
+            for (int p = 0; p < comPreco.length; p++) {
+                int i = comPreco[p];
+                out.add(new SensibilidadeServicoResponse(
+                        catalogo.ids[i],
+                        catalogo.nomes[i],
+                        moeda(catalogo.venda[i]),
+                        pct(r.margemAtual()[p]),
+                        BigDecimal.valueOf(r.prejuizos()[p] * 100L).divide(BigDecimal.valueOf(n), 2, RoundingMode.HALF_UP),
+                        pct(r.margemP5()[p]),
+                        pct(r.margemP50()[p]),
+                        pct(r.margemP95()[p])));
+            }
+            out.sort(Comparator.comparing(SensibilidadeServicoResponse::probabilidadePrejuizoPct).reversed()
+                    .thenComparing(SensibilidadeServicoResponse::margemP5Pct)
+                    .thenComparing(SensibilidadeServicoResponse::servicoId));
+
+            long duracaoMs = (System.nanoTime() - inicio) / 1_000_000L;
+            log.info("Análise de sensibilidade: {} serviços x {} ensaios (±{}%) em {} ms",
+                    comPreco.length, n, variacao, duracaoMs);
+            return new SensibilidadeResponse(n, variacao, sementeUsada, duracaoMs, out);
+        } catch (ValidationException vex) {
+            log.warn("Validação falhou na análise de sensibilidade: {}", vex.getMessage());
+            throw vex;
+        } catch (Exception ex) {
+            log.error("Falha na análise de sensibilidade", ex);
+            throw new ServiceOperationException("Falha na análise de sensibilidade", ex);
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<ServicoImpactadoResponse> propagarCustoMaterial(Long materialId, BigDecimal custoUnitarioAnterior,
+                                                                BigDecimal custoUnitarioNovo) {
+        try {
+            BigDecimal anterior = custoUnitarioAnterior != null ? custoUnitarioAnterior : BigDecimal.ZERO;
+            BigDecimal novo = custoUnitarioNovo != null ? custoUnitarioNovo : BigDecimal.ZERO;
+            Map<Long, BigDecimal> usos = indiceMateriais.servicosDoMaterial(materialId);
+            if (usos.isEmpty() || anterior.compareTo(novo) == 0) return List.of();
+
+            ConfiguracaoAtiva cfg = configuracaoAtiva.atual();
+            List<ServicoPrecificacaoView> servicos = servicoRepository.findParaPrecificacaoByIdIn(usos.keySet());
+
+            Set<Long> atividadeIds = new HashSet<>();
+            for (ServicoPrecificacaoView s : servicos) {
+                if (s.getAtividadeId() != null) atividadeIds.add(s.getAtividadeId());
+            }
+            Map<Long, BigDecimal> impostoPorAtividade = new HashMap<>();
+            for (Atividade a : atividadeRepository.findAllById(atividadeIds)) {
+                impostoPorAtividade.put(a.getId(), a.getAliquotaTotalFrac());
+            }
+            Map<Long, BigDecimal> insumosPorServico = new HashMap<>();
+            for (CustoInsumosView v : servicoRepository.somarCustoInsumosByServicoIdIn(usos.keySet())) {
+                insumosPorServico.put(v.getServicoId(), v.getCustoInsumos());
+            }
+            Map<Long, BigDecimal> precoPorServico = new HashMap<>();
+            for (PrecoAtualView v : precoRepository.findPrecosAtuaisByServicoIdIn(usos.keySet())) {
+                precoPorServico.put(v.getServicoId(), v.getPreco());
+            }
+
+            List<ServicoImpactadoResponse> out = new ArrayList<>(servicos.size());
+            for (ServicoPrecificacaoView s : servicos) {
+                BigDecimal quantidade = usos.get(s.getId());
+                BigDecimal imposto = impostoPorAtividade.getOrDefault(s.getAtividadeId(), BigDecimal.ZERO);
+                BigDecimal margem = s.getMargemLucroCustomPct() != null
+                        ? PrecificacaoCalculadora.pctToFrac(s.getMargemLucroCustomPct())
+                        : cfg.margemPadraoFrac();
+                BigDecimal vendaAtual = precoPorServico.getOrDefault(s.getId(), BigDecimal.ZERO);
+                // soma já com o custo novo; a anterior troca só a parcela deste material (exato)
+                BigDecimal insumos = insumosPorServico.getOrDefault(s.getId(), BigDecimal.ZERO);
+                BigDecimal insumosAnteriores = insumos.add(quantidade.multiply(anterior.subtract(novo)));
+
+                PrecificacaoCalculadora.Resultado antes = PrecificacaoCalculadora.calcular(cfg.valorMinuto(),
+                        s.getDuracaoMinutos(), insumosAnteriores, imposto, cfg.custoFixoFrac(), margem, vendaAtual);
+                PrecificacaoCalculadora.Resultado depois = PrecificacaoCalculadora.calcular(cfg.valorMinuto(),
+                        s.getDuracaoMinutos(), insumos, imposto, cfg.custoFixoFrac(), margem, vendaAtual);
+
+                out.add(new ServicoImpactadoResponse(
+                        s.getId(),
+                        s.getNome(),
+                        quantidade,
+                        PrecificacaoCalculadora.money(insumosAnteriores),
+                        PrecificacaoCalculadora.money(insumos),
+                        PrecificacaoCalculadora.money(antes.vendaSugerida()),
+                        PrecificacaoCalculadora.money(depois.vendaSugerida()),
+                        PrecificacaoCalculadora.money(vendaAtual),
+                        antes.status(),
+                        depois.status()));
+            }
+            log.info("Custo do material id={} propagado para {} serviços", materialId, out.size());
+            return out;
+        } catch (Exception ex) {
+            log.error("Falha ao propagar custo do material id={}", materialId, ex);
+            throw new ServiceOperationException("Falha ao propagar custo do material", ex);
+        }
+    }
+
+    /** "campo,asc|desc" sobre as colunas indexadas do snapshot; desempate por serviço. */
+    private Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) return Sort.by("nomeNormalizado", "servicoId");
+        String[] parts = sort.split(",");
+        String prop = parts[0].trim();
+        if (!ORDENAVEIS.contains(prop)) {
+            throw new ValidationException("Ordenação inválida: " + prop + " (use " + String.join(", ", ORDENAVEIS) + ")");
+        }
+        // textos ordenam pela chave normalizada (V11), como nas listagens do cadastro
+        if ("nome".equals(prop)) prop = "nomeNormalizado";
+        else if ("grupo".equals(prop)) prop = "grupoNormalizado";
+        String dir = parts.length > 1 ? parts[1].trim().toLowerCase() : "asc";
+        Sort base = Sort.by(prop);
+        return ("desc".equals(dir) ? base.descending() : base.ascending()).and(Sort.by("servicoId"));
+    }
+
+    /** Campos nulos do cenário herdam a configuração ativa do catálogo. */
+    private SimuladorPrecificacao.Cenario converter(CenarioSimulacao c, int posicao, CatalogoPrecificacao catalogo) {
+        String nome = c != null && c.nome() != null && !c.nome().isBlank() ? c.nome().trim() : "Cenário " + (posicao + 1);
+        if (c == null) throw new ValidationException(nome + ": cenário vazio");
+
+        long pretensao = c.pretensaoSalarialMensal() == null ? catalogo.pretensao
+                : unidades(c.pretensaoSalarialMensal(), PricingKernel.ESCALA_MOEDA, nome, "pretensaoSalarialMensal");
+        long horas = c.horasSemanais() == null ? catalogo.horasSemanais
+                : unidades(c.horasSemanais(), PricingKernel.ESCALA_HORAS, nome, "horasSemanais");
+        long semanas = c.semanasMediaMes() == null ? catalogo.semanasMediaMes
+                : unidades(c.semanasMediaMes(), PricingKernel.ESCALA_SEMANAS, nome, "semanasMediaMes");
+        if (pretensao < 0 || pretensao >= MAX_PRETENSAO) {
+            throw new ValidationException(nome + ": pretensaoSalarialMensal fora do intervalo");
+        }
+        if (horas <= 0 || horas >= MAX_HORAS) {
+            throw new ValidationException(nome + ": horasSemanais deve ser positiva");
+        }
+        if (semanas <= 0 || semanas >= MAX_SEMANAS) {
+            throw new ValidationException(nome + ": semanasMediaMes deve ser positiva");
+        }
+
+        long fixo = c.custoFixoPct() == null ? catalogo.fixo : frac(c.custoFixoPct(), nome, "custoFixoPct");
+        long margem = c.margemLucroPadraoPct() == null ? catalogo.margemPadrao
+                : frac(c.margemLucroPadraoPct(), nome, "margemLucroPadraoPct");
+
+        long[] aliquotas = catalogo.aliquotas;
+        if (c.aliquotaPorAtividade() != null && !c.aliquotaPorAtividade().isEmpty()) {
+            aliquotas = aliquotas.clone();
+            for (Map.Entry<Long, BigDecimal> e : c.aliquotaPorAtividade().entrySet()) {
+                int idx = e.getKey() == null ? -1 : catalogo.indiceAtividade(e.getKey());
+                if (idx < 0) throw new ValidationException(nome + ": atividade inválida " + e.getKey());
+                if (e.getValue() == null) throw new ValidationException(nome + ": alíquota da atividade " + e.getKey() + " é obrigatória");
+                aliquotas[idx] = frac(e.getValue(), nome, "aliquotaPorAtividade");
+            }
+        }
+
+        return new SimuladorPrecificacao.Cenario(nome, PricingKernel.valorMinuto(pretensao, horas, semanas),
+                fixo, margem, aliquotas);
+    }
+
+    /** Percentual entre 0 e 100 com até 4 casas, como fração do kernel. */
+    private static long frac(BigDecimal pct, String cenario, String campo) {
+        long v = unidades(pct, PricingKernel.ESCALA_PCT, cenario, campo);
+        if (v < 0 || v > CEM_PCT) throw new ValidationException(cenario + ": " + campo + " deve estar entre 0 e 100");
+        return PricingKernel.pctParaFrac(v);
+    }
+
+    private static long unidades(BigDecimal valor, int escala, String cenario, String campo) {
+        try {
+            return PricingKernel.unidades(valor, escala);
+        } catch (ArithmeticException ex) {
+            throw new ValidationException(cenario + ": " + campo + " aceita no máximo " + escala + " casas decimais");
+        }
+    }
+
+    private static long custoEmCentavos(long custo) {
+        return PricingKernel.dividir(custo, 100_000_000L, RoundingMode.HALF_UP);
+    }
+
+    /** Percentual em escala 8 com 2 casas, HALF_UP. */
+    private static BigDecimal pct(long frac) {
+        return PricingKernel.decimal(PricingKernel.dividir(frac, 1_000_000L, RoundingMode.HALF_UP), 2);
+    }
+
+    private static BigDecimal moeda(long centavos) {
+        return PricingKernel.decimal(centavos, PricingKernel.ESCALA_MOEDA);
+    }
+}
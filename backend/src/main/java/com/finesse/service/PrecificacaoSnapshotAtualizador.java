@@ -0,0 +1,231 @@
+package com.finesse.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.finesse.dto.ConfiguracaoAtiva;
+import com.finesse.dto.PrecificacaoItemResponse;
+import com.finesse.entity.Atividade;
+import com.finesse.repository.AtividadeRepository;
+import com.finesse.repository.ConfiguracoesRepository;
+import com.finesse.repository.PrecificacaoSnapshotRepository;
+import com.finesse.repository.PrecoPraticadoRepository;
+import com.finesse.repository.ServicoRepository;
+import com.finesse.repository.projection.CustoInsumosView;
+import com.finesse.repository.projection.PrecoAtualView;
+import com.finesse.repository.projection.ServicoPrecificacaoView;
+
+/**
+ * Mantém a tabela precificacao_snapshot. As escritas que afetam o preço marcam os serviços na
+ * transação corrente; antes do commit eles são recalculados uma única vez e gravados na mesma
+ * transação, então um rollback desfaz também o snapshot. Mudanças na configuração ativa marcam
+ * o catálogo inteiro. Na subida o snapshot é reconstruído por completo. Toda marcação também
+ * invalida o resumo do {@link DashboardService}.
+ *
+ * Antes de recalcular, os serviços marcados (ou a tabela, no caso do catálogo inteiro) são travados:
+ * duas transações que marcam o mesmo serviço recalculam uma após o commit da outra, e a segunda
+ * enxerga as escritas da primeira em vez de gravar por cima uma linha calculada com dados velhos.
+ */
+@Component
+public class PrecificacaoSnapshotAtualizador {
+
+    private static final Logger log = LoggerFactory.getLogger(PrecificacaoSnapshotAtualizador.class);
+
+    @Autowired
+    private ServicoRepository servicoRepository;
+    @Autowired
+    private PrecoPraticadoRepository precoRepository;
+    @Autowired
+    private AtividadeRepository atividadeRepository;
+    @Autowired
+    private ConfiguracoesRepository configuracoesRepository;
+    @Autowired
+    private PrecificacaoSnapshotRepository snapshotRepository;
+    @Autowired
+    private DashboardService dashboard;
+
+    /** Serviços a recalcular no commit da transação corrente. */
+    private static final class Pendentes {
+        final Set<Long> servicos = new HashSet<>();
+        boolean todos;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        reconstruir();
+    }
+
+    /**
+     * Recalcula e grava o catálogo inteiro.
+     */
+    public void reconstruir() {
+        List<PrecificacaoItemResponse> linhas = calcular(null);
+        snapshotRepository.gravar(linhas);
+        log.info("Snapshot de precificação reconstruído: {} serviços", linhas.size());
+    }
+
+    public void marcarServico(Long servicoId) {
+        if (servicoId != null) marcarServicos(List.of(servicoId));
+    }
+
+    public void marcarServicos(Collection<Long> servicoIds) {
+        if (servicoIds.isEmpty()) return;
+        dashboard.invalidar();
+        Pendentes p = pendentes();
+        if (p != null) {
+            p.servicos.addAll(servicoIds);
+        } else {
+            snapshotRepository.gravar(calcular(servicoIds));
+        }
+    }
+
+    /** Serviços da atividade (alíquota alterada). */
+    public void marcarAtividade(Long atividadeId) {
+        marcarServicos(servicoRepository.findIdsByAtividadeId(atividadeId));
+    }
+
+    /** Catálogo inteiro (configuração ativa alterada). */
+    public void marcarTodos() {
+        dashboard.invalidar();
+        Pendentes p = pendentes();
+        if (p != null) {
+            p.todos = true;
+        } else {
+            reconstruir();
+        }
+    }
+
+    /**
+     * Pendências da transação corrente, registrando a sincronização na primeira marcação;
+     * null se não houver transação.
+     */
+    private Pendentes pendentes() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return null;
+        Pendentes p = (Pendentes) TransactionSynchronizationManager.getResource(this);
+        if (p != null) return p;
+        Pendentes novas = new Pendentes();
+        TransactionSynchronizationManager.bindResource(this, novas);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                aplicar(novas);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PrecificacaoSnapshotAtualizador.this);
+            }
+        });
+        return novas;
+    }
+
+    private void aplicar(Pendentes p) {
+        // as escritas JPA ainda pendentes precisam estar no banco antes das somas
+        servicoRepository.flush();
+        if (p.todos) {
+            servicoRepository.travarTodosParaPrecificacao();
+            reconstruir();
+        } else if (!p.servicos.isEmpty()) {
+            servicoRepository.travarParaPrecificacao(p.servicos);
+            snapshotRepository.gravar(calcular(p.servicos));
+        }
+    }
+
+    /**
+     * Calcula as linhas do snapshot com as consultas em lote da precificação.
+     * A configuração é lida do banco (e não do {@link ConfiguracaoAtivaHolder}) para enxergar
+     * uma alteração ainda não publicada da própria transação.
+     * @param servicoIds serviços a calcular; null para todos
+     */
+    List<PrecificacaoItemResponse> calcular(Collection<Long> servicoIds) {
+        ConfiguracaoAtiva cfg = configuracoesRepository.findFirstByAtivoTrueOrderByAtualizadoEmDesc()
+                .map(ConfiguracaoAtiva::de)
+                .orElse(ConfiguracaoAtiva.VAZIA);
+        BigDecimal valorMinuto = cfg.valorMinuto();
+        BigDecimal fixoFrac = cfg.custoFixoFrac();
+        BigDecimal margemPadraoFrac = cfg.margemPadraoFrac();
+        boolean todos = servicoIds == null;
+
+        List<ServicoPrecificacaoView> servicos = todos
+                ? servicoRepository.findAllParaPrecificacao()
+                : servicoRepository.findParaPrecificacaoByIdIn(servicoIds);
+        if (servicos.isEmpty()) return List.of();
+
+        Map<Long, BigDecimal> impostoPorAtividade = new HashMap<>();
+        Iterable<Atividade> atividades;
+        if (todos) {
+            atividades = atividadeRepository.findAll();
+        } else {
+            Set<Long> atividadeIds = new HashSet<>();
+            for (ServicoPrecificacaoView s : servicos) {
+                if (s.getAtividadeId() != null) atividadeIds.add(s.getAtividadeId());
+            }
+            atividades = atividadeRepository.findAllById(atividadeIds);
+        }
+        for (Atividade a : atividades) {
+            impostoPorAtividade.put(a.getId(), a.getAliquotaTotalFrac());
+        }
+
+        Map<Long, BigDecimal> insumosPorServico = new HashMap<>();
+        for (CustoInsumosView v : todos
+                ? servicoRepository.somarCustoInsumosPorServico()
+                : servicoRepository.somarCustoInsumosByServicoIdIn(servicoIds)) {
+            insumosPorServico.put(v.getServicoId(), v.getCustoInsumos());
+        }
+
+        Map<Long, BigDecimal> precoPorServico = new HashMap<>();
+        for (PrecoAtualView v : todos
+                ? precoRepository.findPrecosAtuais()
+                : precoRepository.findPrecosAtuaisByServicoIdIn(servicoIds)) {
+            precoPorServico.put(v.getServicoId(), v.getPreco());
+        }
+
+        List<PrecificacaoItemResponse> out = new ArrayList<>(servicos.size());
+        for (ServicoPrecificacaoView s : servicos) {
+            BigDecimal imposto = impostoPorAtividade.getOrDefault(s.getAtividadeId(), BigDecimal.ZERO);
+            BigDecimal margem = s.getMargemLucroCustomPct() != null
+                    ? PrecificacaoCalculadora.pctToFrac(s.getMargemLucroCustomPct())
+                    : margemPadraoFrac;
+            BigDecimal insumos = insumosPorServico.getOrDefault(s.getId(), BigDecimal.ZERO);
+            BigDecimal vendaAtual = precoPorServico.getOrDefault(s.getId(), BigDecimal.ZERO);
+
+            PrecificacaoCalculadora.Resultado r = PrecificacaoCalculadora.calcular(
+                    valorMinuto, s.getDuracaoMinutos(), insumos, imposto, fixoFrac, margem, vendaAtual);
+
+            out.add(new PrecificacaoItemResponse(
+                    s.getId(),
+                    s.getNome(),
+                    s.getGrupo(),
+                    s.isAtivo(),
+                    PrecificacaoCalculadora.money(r.custoMaoObra()),
+                    PrecificacaoCalculadora.money(insumos),
+                    PrecificacaoCalculadora.money(r.custoDireto()),
+                    PrecificacaoCalculadora.frac(imposto),
+                    PrecificacaoCalculadora.frac(fixoFrac),
+                    PrecificacaoCalculadora.frac(margem),
+                    PrecificacaoCalculadora.frac(r.fatorPreco()),
+                    PrecificacaoCalculadora.money(vendaAtual),
+                    PrecificacaoCalculadora.money(r.vendaSugerida()),
+                    PrecificacaoCalculadora.money(r.lucro()),
+                    PrecificacaoCalculadora.money(r.margemPct()),
+                    r.status()
+            ));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,280 @@
+package com.finesse.service;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+import com.finesse.entity.StatusPrecificacao;
+
+/**
+ * Mesmas regras de {@link PrecificacaoCalculadora} em ponto fixo sobre {@code long}, sem alocação
+ * no caminho comum. Pensado para lotes grandes (serviço x cenário), onde o BigDecimal domina o custo.
+ *
+ * Unidades (valor = inteiro x 10^-escala), escolhidas para que toda conta intermediária seja exata:
+ * <ul>
+ *   <li>{@link #ESCALA_FRAC} (8): valor do minuto/hora, frações (imposto, fixo, margem), fator e margem %</li>
+ *   <li>{@link #ESCALA_CUSTO} (10): custo de insumos, custo direto e lucro
+ *       (quantidade com 4 casas x custo unitário com 6 casas)</li>
+ *   <li>{@link #ESCALA_MOEDA} (2): preço praticado e valores apresentados</li>
+ * </ul>
+ *
+ * Arredondamento só nas bordas e igual ao modelo BigDecimal: valor hora e valor minuto (HALF_UP,
+ * 8 casas, como em {@link com.finesse.entity.Configuracoes}), fator e margem % (HALF_UP, 8 casas,
+ * como na calculadora) e apresentação (HALF_UP para 2 ou 4 casas, como money/frac).
+ * Entradas em BigDecimal são convertidas sem arredondar ({@link #unidades}); valores com mais casas
+ * que a escala do kernel são rejeitados em vez de silenciosamente divergirem.
+ *
+ * Custo x fator (escala 18) é dividido em duas metades que cabem em 64 bits ({@link #pisoCustoVezesFator});
+ * só o que ainda assim não couber cai num caminho exato com BigInteger (aloca, mas não diverge).
+ */
+public final class PricingKernel {
+
+    public static final int ESCALA_MOEDA = 2;
+    public static final int ESCALA_HORAS = 2;
+    public static final int ESCALA_SEMANAS = 4;
+    public static final int ESCALA_PCT = 4;
+    public static final int ESCALA_QUANTIDADE = 4;
+    public static final int ESCALA_CUSTO_UNITARIO = 6;
+    public static final int ESCALA_FRAC = 8;
+    public static final int ESCALA_CUSTO = 10;
+
+    /** 1,0 em unidades de {@link #ESCALA_FRAC}. */
+    static final long UM_FRAC = 100_000_000L;
+    private static final long CEM = 100L;
+    private static final long SESSENTA = 60L;
+    /** 0,000001 em unidades de {@link #ESCALA_CUSTO}. */
+    private static final long TOLERANCIA_LUCRO = 10_000L;
+    /** 0,05 ponto percentual em unidades de {@link #ESCALA_FRAC}. */
+    private static final long TOLERANCIA_MARGEM_PCT = 5_000_000L;
+    /** Custo (escala 10) x fator (escala 8) → centavos: divide por 10^16. */
+    private static final long CUSTO_X_FATOR_PARA_MOEDA = 10_000_000_000_000_000L;
+
+    private PricingKernel() {}
+
+    /**
+     * Resultado mutável, reaproveitado entre chamadas para não alocar por linha.
+     * Campos exatos nas escalas do kernel; os *Centavos/*DezMilesimos são os valores apresentados.
+     */
+    public static final class Resultado {
+        /** escala 8 */
+        public long custoMaoObra;
+        /** escala 10 */
+        public long custoDireto;
+        /** escala 8 */
+        public long fatorPreco;
+        /** escala 10 */
+        public long lucro;
+        /** escala 8 */
+        public long margemPct;
+        public long vendaSugeridaCentavos;
+        public StatusPrecificacao status;
+
+        public long custoMaoObraCentavos() {
+            return dividir(custoMaoObra, 1_000_000L, RoundingMode.HALF_UP);
+        }
+
+        public long custoDiretoCentavos() {
+            return dividir(custoDireto, 100_000_000L, RoundingMode.HALF_UP);
+        }
+
+        public long lucroCentavos() {
+            return dividir(lucro, 100_000_000L, RoundingMode.HALF_UP);
+        }
+
+        public long margemPctCentesimos() {
+            return dividir(margemPct, 1_000_000L, RoundingMode.HALF_UP);
+        }
+
+        /** Fator com 4 casas, como {@code PrecificacaoCalculadora.frac}. */
+        public long fatorPrecoDezMilesimos() {
+            return fracApresentacao(fatorPreco);
+        }
+    }
+
+    /* ====== Derivados da configuração e dos cadastros ====== */
+
+    /**
+     * Valor do minuto como em {@code Configuracoes.getValorMinuto()}:
+     * pretensão / (horas semanais x semanas), HALF_UP em 8 casas, e depois / 60, HALF_UP em 8 casas.
+     * @param pretensaoCentavos pretensão salarial mensal (escala 2)
+     * @param horasSemanais horas semanais (escala 2)
+     * @param semanasMediaMes semanas por mês (escala 4)
+     * @return valor do minuto (escala 8)
+     */
+    public static long valorMinuto(long pretensaoCentavos, long horasSemanais, long semanasMediaMes) {
+        return dividir(valorHora(pretensaoCentavos, horasSemanais, semanasMediaMes), SESSENTA, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Valor da hora (escala 8), zero quando as horas mensais não são positivas.
+     */
+    public static long valorHora(long pretensaoCentavos, long horasSemanais, long semanasMediaMes) {
+        long horasMensais = Math.multiplyExact(horasSemanais, semanasMediaMes); // escala 6
+        if (horasMensais <= 0) return 0L;
+        // (p / 10^2) / (h / 10^6) em escala 8 = p x 10^12 / h
+        return multiplicarDividir(pretensaoCentavos, 1_000_000_000_000L, horasMensais, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Percentual (escala 4) em fração (escala 8); exato, como {@code pct / 100} com 8 casas.
+     */
+    public static long pctParaFrac(long pctDezMilesimos) {
+        return Math.multiplyExact(pctDezMilesimos, CEM);
+    }
+
+    /**
+     * Quantidade (escala 4) x custo unitário (escala 6), como {@code ServicoMaterial.getCustoPorAtendimento()}.
+     * @return custo por atendimento (escala 10)
+     */
+    public static long custoPorAtendimento(long quantidade, long custoUnitario) {
+        return Math.multiplyExact(quantidade, custoUnitario);
+    }
+
+    /* ====== Cálculo da linha ====== */
+
+    /**
+     * Equivalente a {@link PrecificacaoCalculadora#calcular}, escrevendo em {@code out}.
+     * @param valorMinuto escala 8
+     * @param duracaoMinutos duração do atendimento
+     * @param custoInsumos escala 10
+     * @param impostoFrac escala 8
+     * @param fixoFrac escala 8
+     * @param margemFrac escala 8
+     * @param vendaAtualCentavos preço praticado (escala 2), zero se inexistente
+     * @param out resultado reaproveitado
+     * @return {@code out}
+     */
+    public static Resultado calcular(long valorMinuto, int duracaoMinutos, long custoInsumos,
+                                     long impostoFrac, long fixoFrac, long margemFrac,
+                                     long vendaAtualCentavos, Resultado out) {
+        long mao = Math.multiplyExact(valorMinuto, duracaoMinutos);                 // escala 8
+        long direto = Math.addExact(Math.multiplyExact(mao, CEM), custoInsumos);   // escala 10
+
+        long soma = impostoFrac + fixoFrac + margemFrac;
+        long denom = UM_FRAC - soma;
+        long fator = denom > 0
+                ? dividir(UM_FRAC * UM_FRAC, denom, RoundingMode.HALF_UP)          // 1 / denom com 8 casas
+                : UM_FRAC + soma;
+
+        // venda sugerida exata tem escala 18; só precisamos do piso, do teto e do arredondamento em centavos
+        long sugeridaPiso = pisoCustoVezesFator(direto, fator);
+        // resto em [0, 10^16): exato mesmo que os produtos deem a volta em 64 bits
+        long resto = direto * fator - sugeridaPiso * CUSTO_X_FATOR_PARA_MOEDA;
+        long sugeridaTeto = resto == 0 ? sugeridaPiso : sugeridaPiso + 1;
+        long sugeridaCentavos = arredondarMeio(sugeridaPiso, resto, CUSTO_X_FATOR_PARA_MOEDA);
+
+        // venda (2) x (1 - imposto - fixo) (8) → escala 10
+        long lucro = Math.subtractExact(
+                Math.multiplyExact(vendaAtualCentavos, UM_FRAC - impostoFrac - fixoFrac), direto);
+        // (lucro / 10^10) x 100 / (venda / 10^2) em escala 8 = lucro x 100 / venda
+        long margemPct = vendaAtualCentavos > 0
+                ? multiplicarDividir(lucro, CEM, vendaAtualCentavos, RoundingMode.HALF_UP)
+                : 0L;
+
+        // |venda - sugerida| <= 0,01  <=>  venda - 1 <= sugerida <= venda + 1 (em centavos)
+        boolean precoProximo = sugeridaPiso >= vendaAtualCentavos - 1 && sugeridaTeto <= vendaAtualCentavos + 1;
+        StatusPrecificacao status = StatusPrecificacao.SAUDAVEL;
+        if (lucro < -TOLERANCIA_LUCRO) {
+            status = StatusPrecificacao.PREJUIZO;
+        } else if (!precoProximo
+                && margemPct < Math.multiplyExact(margemFrac, CEM) - TOLERANCIA_MARGEM_PCT) {
+            status = StatusPrecificacao.ABAIXO;
+        }
+
+        out.custoMaoObra = mao;
+        out.custoDireto = direto;
+        out.fatorPreco = fator;
+        out.lucro = lucro;
+        out.margemPct = margemPct;
+        out.vendaSugeridaCentavos = sugeridaCentavos;
+        out.status = status;
+        return out;
+    }
+
+    /* ====== Bordas ====== */
+
+    /**
+     * Converte para unidades inteiras na escala pedida, sem arredondar (null vira zero).
+     * @throws ArithmeticException se o valor tiver mais casas que a escala ou não couber em long
+     */
+    public static long unidades(BigDecimal valor, int escala) {
+        if (valor == null) return 0L;
+        return valor.setScale(escala, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal decimal(long unidades, int escala) {
+        return BigDecimal.valueOf(unidades, escala);
+    }
+
+    /** Fração (escala 8) com 4 casas, HALF_UP. */
+    public static long fracApresentacao(long frac) {
+        return dividir(frac, 10_000L, RoundingMode.HALF_UP);
+    }
+
+    /* ====== Aritmética inteira ====== */
+
+    /**
+     * {@code n / d} com o arredondamento pedido (FLOOR, CEILING ou HALF_UP como no BigDecimal), d > 0.
+     */
+    static long dividir(long n, long d, RoundingMode modo) {
+        long q = n / d;
+        long r = n % d;
+        if (r == 0) return q;
+        return switch (modo) {
+            case FLOOR -> r < 0 ? q - 1 : q;
+            case CEILING -> r > 0 ? q + 1 : q;
+            case HALF_UP -> {
+                long abs = Math.abs(r);
+                yield abs >= d - abs ? q + Long.signum(n) : q;
+            }
+            default -> throw new IllegalArgumentException("Arredondamento não suportado: " + modo);
+        };
+    }
+
+    /**
+     * HALF_UP a partir do piso q e do resto r (0 <= r < d) de uma divisão por d.
+     */
+    static long arredondarMeio(long q, long r, long d) {
+        if (r == 0) return q;
+        if (q >= 0) return r >= d - r ? q + 1 : q;
+        // negativo: HALF_UP afasta do zero, ou seja, fica no piso quando a fração do módulo é >= 0,5
+        return d - r >= r ? q : q + 1;
+    }
+
+    /**
+     * Piso de {@code custo x fator / 10^16}. O produto passa de 64 bits já a partir de alguns reais de custo,
+     * então o custo é quebrado em {@code c1 x 10^8 + c0}: {@code c1 x fator} e {@code c0 x fator} cabem em long
+     * para qualquer preço realista, e o BigInteger fica só para o que não couber.
+     */
+    static long pisoCustoVezesFator(long custo, long fator) {
+        long c1 = Math.floorDiv(custo, UM_FRAC);
+        long c0 = Math.floorMod(custo, UM_FRAC);
+        long alto1 = Math.multiplyHigh(c1, fator);
+        long p = c1 * fator;
+        long alto0 = Math.multiplyHigh(c0, fator);
+        long q = c0 * fator;
+        if (alto1 == (p >> 63) && alto0 == (q >> 63)) {
+            // custo x fator = p x 10^8 + q; com p' = p + piso(q / 10^8), o piso final é piso(p' / 10^8)
+            long qAlto = Math.floorDiv(q, UM_FRAC);
+            long pq = p + qAlto;
+            if (((p ^ pq) & (qAlto ^ pq)) >= 0) { // soma sem estouro
+                return Math.floorDiv(pq, UM_FRAC);
+            }
+        }
+        return multiplicarDividir(custo, fator, CUSTO_X_FATOR_PARA_MOEDA, RoundingMode.FLOOR);
+    }
+
+    /**
+     * {@code a x b / d} exato com um único arredondamento, d > 0.
+     * Usa long quando o produto cabe em 64 bits; senão, BigInteger.
+     */
+    static long multiplicarDividir(long a, long b, long d, RoundingMode modo) {
+        long alto = Math.multiplyHigh(a, b);
+        long baixo = a * b;
+        if (alto == (baixo >> 63)) {
+            return dividir(baixo, d, modo);
+        }
+        BigInteger produto = BigInteger.valueOf(a).multiply(BigInteger.valueOf(b));
+        return new BigDecimal(produto).divide(BigDecimal.valueOf(d), 0, modo).longValueExact();
+    }
+}
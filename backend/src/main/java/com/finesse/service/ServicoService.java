@@ -1,21 +1,32 @@
 package com.finesse.service;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 
+import com.finesse.dto.PrecoAtualResponse;
+import com.finesse.dto.PrecoLoteItemRequest;
+import com.finesse.dto.PrecoLoteResponse;
 import com.finesse.dto.PrecoSetResponse;
+import com.finesse.dto.ServicoDetailResponse;
 import com.finesse.entity.PrecoPraticado;
 import com.finesse.entity.Servico;
 
 public interface ServicoService {
     Page<Servico> list(String nome, String grupo, Boolean ativo, int page, int size, String sort);
+    Window<Servico> listKeyset(String nome, String grupo, Boolean ativo, KeysetScrollPosition posicao, int size, String sort);
     Optional<Servico> findById(Long id);
+    Optional<ServicoDetailResponse> detalhar(Long id);
     Servico create(Servico s);
     Optional<Servico> update(Long id, Servico input);
     Optional<Servico> toggleStatus(Long id, boolean ativo);
     boolean delete(Long id);
     Optional<PrecoPraticado> vigente(Long servicoId);
     PrecoSetResponse definirPreco(Long servicoId, BigDecimal novoPreco);
+    PrecoLoteResponse definirPrecosEmLote(List<PrecoLoteItemRequest> itens);
+    List<PrecoAtualResponse> listarPrecosAtuais();
 }
@@ -2,29 +2,37 @@ package com.finesse.service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.text.Normalizer;
 import java.time.LocalDate;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Stream;
+import java.util.TreeSet;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.finesse.dto.PrecoAtualResponse;
+import com.finesse.dto.PrecoLoteItemRequest;
+import com.finesse.dto.PrecoLoteResponse;
 import com.finesse.dto.PrecoSetResponse;
+import com.finesse.dto.ServicoDetailResponse;
+import com.finesse.dto.ServicoMaterialResponse;
 import com.finesse.entity.Atividade;
 import com.finesse.entity.Servico;
 import com.finesse.entity.Material;
@@ -33,7 +41,10 @@ import com.finesse.entity.PrecoPraticado;
 import com.finesse.exception.ServiceOperationException;
 import com.finesse.exception.ValidationException;
 import com.finesse.repository.ServicoRepository;
+import com.finesse.repository.ServicoSpecifications;
 import com.finesse.repository.PrecoPraticadoRepository;
+import com.finesse.repository.projection.PrecoAtualView;
+import com.finesse.utils.KeysetCursor;
 
 
 @Service
@@ -41,6 +52,11 @@ public class ServicoServiceImpl implements ServicoService {
 
     private static final Logger log = LoggerFactory.getLogger(ServicoServiceImpl.class);
 
+    /** Campos aceitos em sort; nome e grupo ordenam pelas colunas *_normalizado. */
+    private static final Map<String, String> ORDENAVEIS = Map.of(
+            "id", "id", "nome", "nomeNormalizado", "grupo", "grupoNormalizado",
+            "duracaoMinutos", "duracaoMinutos", "margemLucroCustomPct", "margemLucroCustomPct", "ativo", "ativo");
+
     @Autowired
     private ServicoRepository servicoRepository;
     @Autowired
@@ -49,9 +65,16 @@ public class ServicoServiceImpl implements ServicoService {
     private AtividadeService atividadeService;
     @Autowired
     private MaterialService materialService;
+    @Autowired
+    private IndiceMateriais indiceMateriais;
+    @Autowired
+    private PrecificacaoSnapshotAtualizador snapshot;
+    @Autowired
+    private DashboardService dashboard;
 
     @Override
     public Page<Servico> list(String nome, String grupo, Boolean ativo, int page, int size, String sort) {
+        Sort ordem = parseSort(sort);
         try {
             int page0 = Math.max(0, page);
             int size1 = Math.max(1, size);
@@ -59,46 +82,37 @@ public class ServicoServiceImpl implements ServicoService {
             boolean hasNome = nome != null && !nome.isBlank();
             boolean hasGrupo = grupo != null && !grupo.isBlank();
 
+            Pageable pageable = PageRequest.of(page0, size1, ordem);
             if (hasNome || hasGrupo) {
-                List<Servico> all = servicoRepository.findAll();
-                Stream<Servico> stream = all.stream();
-
-                if (hasNome) {
-                    String q = normalize(Optional.ofNullable(nome).orElse("").trim());
-                    stream = stream.filter(s -> {
-                        String n = normalize(Optional.ofNullable(s.getNome()).orElse(""));
-                        return n != null && n.contains(q);
-                    });
-                }
-                if (hasGrupo) {
-                    String qg = normalize(Optional.ofNullable(grupo).orElse("").trim());
-                    stream = stream.filter(s -> {
-                        String g = normalize(Optional.ofNullable(s.getGrupo()).orElse(""));
-                        return g != null && g.contains(qg);
-                    });
-                }
-                if (ativo != null) {
-                    boolean target = Boolean.TRUE.equals(ativo);
-                    stream = stream.filter(s -> Boolean.TRUE.equals(s.isAtivo()) == target);
-                }
-
-                Comparator<Servico> comparator = buildComparator(sort);
-                List<Servico> filteredSorted = comparator != null ? stream.sorted(comparator).toList() : stream.toList();
-
-                int total = filteredSorted.size();
-                int from = Math.min(page0 * size1, total);
-                int to = Math.min(from + size1, total);
-                List<Servico> content = filteredSorted.subList(from, to);
-
-                Pageable pageableMeta = PageRequest.of(page0, size1, parseSort(sort));
-                return new PageImpl<>(content, pageableMeta, total);
-            } else {
-                Pageable pageable = PageRequest.of(page0, size1, parseSort(sort));
-                if (ativo != null) {
-                    return servicoRepository.findByAtivo(ativo, pageable);
-                }
-                return servicoRepository.findAll(pageable);
+                // filtro, ordenação e paginação no banco (unaccent + pg_trgm)
+                List<Specification<Servico>> filtros = new ArrayList<>();
+                if (hasNome) filtros.add(ServicoSpecifications.nomeContem(nome));
+                if (hasGrupo) filtros.add(ServicoSpecifications.grupoContem(grupo));
+                if (ativo != null) filtros.add(ServicoSpecifications.ativo(ativo));
+                return servicoRepository.findAll(Specification.allOf(filtros), pageable);
             }
+            if (ativo != null) {
+                return servicoRepository.findByAtivo(ativo, pageable);
+            }
+            return servicoRepository.findAll(pageable);
+        } catch (Exception ex) {
+            log.error("Falha ao listar serviços", ex);
+            throw new ServiceOperationException("Falha ao listar serviços", ex);
+        }
+    }
+
+    @Override
+    public Window<Servico> listKeyset(String nome, String grupo, Boolean ativo, KeysetScrollPosition posicao, int size, String sort) {
+        Sort ordem = parseSort(sort);
+        KeysetCursor.exigirCompativel(posicao, ordem);
+        try {
+            List<Specification<Servico>> filtros = new ArrayList<>();
+            if (nome != null && !nome.isBlank()) filtros.add(ServicoSpecifications.nomeContem(nome));
+            if (grupo != null && !grupo.isBlank()) filtros.add(ServicoSpecifications.grupoContem(grupo));
+            if (ativo != null) filtros.add(ServicoSpecifications.ativo(ativo));
+            int limit = Math.max(1, size);
+            return servicoRepository.findBy(Specification.allOf(filtros),
+                    q -> q.sortBy(ordem).limit(limit).scroll(posicao));
         } catch (Exception ex) {
             log.error("Falha ao listar serviços", ex);
             throw new ServiceOperationException("Falha ao listar serviços", ex);
@@ -115,6 +129,46 @@ public class ServicoServiceImpl implements ServicoService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ServicoDetailResponse> detalhar(Long id) {
+        try {
+            // 1 consulta (servico + atividade + materiais + material) e 1 para o preço atual
+            return servicoRepository.findDetalheById(id).map(s -> {
+                Atividade atv = s.getAtividade();
+                List<ServicoMaterialResponse> materiais = s.getMateriais().stream().map(sm ->
+                        new ServicoMaterialResponse(
+                                sm.getId(),
+                                sm.getMaterial() != null ? sm.getMaterial().getId() : null,
+                                sm.getMaterial() != null ? sm.getMaterial().getProduto() : null,
+                                sm.getMaterial() != null ? sm.getMaterial().getCustoUnitario() : BigDecimal.ZERO,
+                                sm.getQuantidadeUsada()
+                        )
+                ).toList();
+                Double precoVigente = precoRepository.findFirstByServico_IdOrderByVigenteDescVigenciaInicioDescIdDesc(s.getId())
+                        .map(p -> p.getPreco() != null ? p.getPreco().doubleValue() : null)
+                        .orElse(null);
+                return new ServicoDetailResponse(
+                        s.getId(),
+                        s.getNome(),
+                        s.getGrupo(),
+                        s.getDuracaoMinutos(),
+                        atv != null ? atv.getId() : null,
+                        atv != null ? atv.getNome() : null,
+                        atv != null && atv.getAliquotaTotalPct() != null ? atv.getAliquotaTotalPct().doubleValue() : null,
+                        atv != null && atv.getIssPct() != null ? atv.getIssPct().doubleValue() : null,
+                        s.getMargemLucroCustomPct() != null ? s.getMargemLucroCustomPct().doubleValue() : null,
+                        s.isAtivo(),
+                        precoVigente,
+                        materiais
+                );
+            });
+        } catch (Exception ex) {
+            log.error("Falha ao detalhar serviço id={}", id, ex);
+            throw new ServiceOperationException("Falha ao detalhar serviço", ex);
+        }
+    }
+
     @Override
     @Transactional
     public Servico create(Servico s) {
@@ -127,6 +181,8 @@ public class ServicoServiceImpl implements ServicoService {
             if (s.getPrecoPraticadoInput() != null) {
                 definirPreco(saved.getId(), s.getPrecoPraticadoInput());
             }
+            indiceMateriais.atualizarServicoAposCommit(saved.getId());
+            snapshot.marcarServico(saved.getId());
             log.info("Serviço criado id={}", saved.getId());
             return saved;
         } catch (ValidationException vex) {
@@ -142,7 +198,7 @@ public class ServicoServiceImpl implements ServicoService {
     @Transactional
     public Optional<Servico> update(Long id, Servico input) {
         try {
-            return servicoRepository.findById(id).map(existing -> {
+            return servicoRepository.findComMateriaisById(id).map(existing -> {
                 existing.setNome(trim(input.getNome()));
                 existing.setGrupo(trim(input.getGrupo()));
                 existing.setDuracaoMinutos(input.getDuracaoMinutos());
@@ -159,6 +215,7 @@ public class ServicoServiceImpl implements ServicoService {
                 }
                 // materiais (merge: atualiza existentes, adiciona novos, remove ausentes)
                 if (input.getMateriais() != null) {
+                    Map<Long, Material> materiaisPorId = carregarMateriais(input.getMateriais());
                     Map<Long, ServicoMaterial> byMatId = new HashMap<>();
                     for (ServicoMaterial sm : existing.getMateriais()) {
                         Material m = sm.getMaterial();
@@ -168,11 +225,8 @@ public class ServicoServiceImpl implements ServicoService {
                     Set<Long> seen = new HashSet<>();
                     for (ServicoMaterial smIn : input.getMateriais()) {
                         if (smIn == null) continue;
-                        Material mIn = smIn.getMaterial();
-                        Long mid = mIn != null ? mIn.getId() : null;
-                        if (mid == null) throw new ValidationException("Material inválido");
-                        Material mat = materialService.findById(mid)
-                                .orElseThrow(() -> new ValidationException("Material não encontrado"));
+                        Long mid = smIn.getMaterial().getId();
+                        Material mat = materiaisPorId.get(mid);
                         BigDecimal qtd = smIn.getQuantidadeUsada();
                         if (qtd == null || qtd.compareTo(BigDecimal.ZERO) <= 0) {
                             throw new ValidationException("Quantidade do material deve ser positiva");
@@ -200,6 +254,8 @@ public class ServicoServiceImpl implements ServicoService {
                 if (input.getPrecoPraticadoInput() != null) {
                     definirPreco(saved.getId(), input.getPrecoPraticadoInput());
                 }
+                indiceMateriais.atualizarServicoAposCommit(saved.getId());
+                snapshot.marcarServico(saved.getId());
                 log.info("Serviço atualizado id={}", saved.getId());
                 return saved;
             });
@@ -219,6 +275,7 @@ public class ServicoServiceImpl implements ServicoService {
             return servicoRepository.findById(id).map(s -> {
                 s.setAtivo(ativo);
                 Servico saved = servicoRepository.save(s);
+                snapshot.marcarServico(saved.getId());
                 log.info("Status do serviço alterado id={} ativo={}", saved.getId(), ativo);
                 return saved;
             });
@@ -234,6 +291,8 @@ public class ServicoServiceImpl implements ServicoService {
         try {
             if (servicoRepository.existsById(id)) {
                 servicoRepository.deleteById(id);
+                indiceMateriais.removerServicoAposCommit(id);
+                dashboard.invalidar();
                 log.info("Serviço removido id={}", id);
                 return true;
             }
@@ -256,14 +315,11 @@ public class ServicoServiceImpl implements ServicoService {
     private void validarCarregarMateriais(Servico s) {
         List<ServicoMaterial> list = s.getMateriais();
         if (list == null) return;
-        java.util.ArrayList<ServicoMaterial> rebuilt = new java.util.ArrayList<>();
+        Map<Long, Material> materiaisPorId = carregarMateriais(list);
+        java.util.ArrayList<ServicoMaterial> rebuilt = new ArrayList<>();
         for (ServicoMaterial sm : list) {
             if (sm == null) continue;
-            Material m = sm.getMaterial();
-            Long mid = m != null ? m.getId() : null;
-            if (mid == null) throw new ValidationException("Material inválido");
-            Material mat = materialService.findById(mid)
-                    .orElseThrow(() -> new ValidationException("Material não encontrado"));
+            Material mat = materiaisPorId.get(sm.getMaterial().getId());
             BigDecimal qtd = sm.getQuantidadeUsada();
             if (qtd == null || qtd.compareTo(BigDecimal.ZERO) <= 0) {
                 throw new ValidationException("Quantidade do material deve ser positiva");
@@ -275,6 +331,26 @@ public class ServicoServiceImpl implements ServicoService {
         s.setMateriais(rebuilt);
     }
 
+    /**
+     * Resolve os materiais das linhas em uma única consulta; falha listando todos os IDs inexistentes.
+     */
+    private Map<Long, Material> carregarMateriais(List<ServicoMaterial> linhas) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (ServicoMaterial sm : linhas) {
+            if (sm == null) continue;
+            Material m = sm.getMaterial();
+            Long mid = m != null ? m.getId() : null;
+            if (mid == null) throw new ValidationException("Material inválido");
+            ids.add(mid);
+        }
+        Map<Long, Material> encontrados = materialService.findAllByIds(ids);
+        List<Long> ausentes = ids.stream().filter(id -> !encontrados.containsKey(id)).toList();
+        if (!ausentes.isEmpty()) {
+            throw new ValidationException("Materiais não encontrados: " + ausentes);
+        }
+        return encontrados;
+    }
+
     private void normalizarDadosServico(Servico s) {
         s.setNome(trim(s.getNome()));
         s.setGrupo(trim(s.getGrupo()));
@@ -335,6 +411,7 @@ public class ServicoServiceImpl implements ServicoService {
             novo.setVigente(true);
             novo.setVigenciaFim(null);
             PrecoPraticado saved = precoRepository.save(novo);
+            snapshot.marcarServico(servicoId);
             return new PrecoSetResponse(true, saved);
         } catch (ValidationException vex) {
             throw vex;
@@ -344,6 +421,73 @@ public class ServicoServiceImpl implements ServicoService {
         }
     }
 
+    @Override
+    @Transactional
+    public PrecoLoteResponse definirPrecosEmLote(List<PrecoLoteItemRequest> itens) {
+        try {
+            if (itens == null || itens.isEmpty()) throw new ValidationException("Informe ao menos um preço");
+            LocalDate hoje = LocalDate.now();
+            Map<Long, PrecoLoteItemRequest> porServico = new LinkedHashMap<>();
+            for (PrecoLoteItemRequest item : itens) {
+                if (item == null || item.servicoId() == null) throw new ValidationException("Serviço é obrigatório");
+                if (item.preco() == null) throw new ValidationException("Preço é obrigatório (serviço " + item.servicoId() + ")");
+                BigDecimal valor = obterAbsolutoArredondado(item.preco());
+                if (valor.compareTo(new BigDecimal("1000000")) > 0)
+                    throw new ValidationException("Preço excede o limite permitido (serviço " + item.servicoId() + ")");
+                if (porServico.put(item.servicoId(), new PrecoLoteItemRequest(item.servicoId(), valor)) != null)
+                    throw new ValidationException("Serviço repetido no lote: " + item.servicoId());
+            }
+
+            Set<Long> existentes = new HashSet<>(servicoRepository.findIdsExistentes(porServico.keySet()));
+            List<Long> ausentes = porServico.keySet().stream().filter(id -> !existentes.contains(id)).toList();
+            if (!ausentes.isEmpty()) throw new ValidationException("Serviços não encontrados: " + ausentes);
+
+            // mesmo critério de definirPreco: preço igual ao vigente não gera nova linha
+            Map<Long, BigDecimal> vigentes = new HashMap<>();
+            for (PrecoAtualView v : precoRepository.findPrecosVigentes(porServico.keySet())) {
+                vigentes.put(v.getServicoId(), v.getPreco());
+            }
+            List<PrecoLoteItemRequest> alterar = new ArrayList<>();
+            List<Long> inalterados = new ArrayList<>();
+            for (PrecoLoteItemRequest item : porServico.values()) {
+                BigDecimal atual = vigentes.get(item.servicoId());
+                if (atual != null && obterAbsolutoArredondado(atual).compareTo(item.preco()) == 0) {
+                    inalterados.add(item.servicoId());
+                } else {
+                    alterar.add(item);
+                }
+            }
+
+            // como em definirPreco: o vigente é encerrado hoje e o novo já nasce vigente
+            precoRepository.encerrarVigentes(alterar, hoje);
+            precoRepository.inserirVigentes(alterar, hoje);
+            snapshot.marcarServicos(alterar.stream().map(PrecoLoteItemRequest::servicoId).toList());
+            log.info("Preços aplicados em lote: recebidos={} alterados={}", porServico.size(), alterar.size());
+            return new PrecoLoteResponse(porServico.size(), alterar.size(), inalterados);
+        } catch (ValidationException vex) {
+            log.warn("Validação falhou ao aplicar preços em lote: {}", vex.getMessage());
+            throw vex;
+        } catch (Exception ex) {
+            log.error("Falha ao aplicar preços em lote", ex);
+            throw new ServiceOperationException("Falha ao aplicar preços em lote", ex);
+        }
+    }
+
+    @Override
+    public List<PrecoAtualResponse> listarPrecosAtuais() {
+        try {
+            List<PrecoAtualView> precos = precoRepository.findPrecosAtuaisDeTodosServicos();
+            java.util.ArrayList<PrecoAtualResponse> lista = new java.util.ArrayList<>(precos.size());
+            for (PrecoAtualView p : precos) {
+                lista.add(new PrecoAtualResponse(p.getServicoId(), p.getPreco() != null ? p.getPreco().doubleValue() : null));
+            }
+            return lista;
+        } catch (Exception ex) {
+            log.error("Falha ao listar preços atuais", ex);
+            throw new ServiceOperationException("Falha ao listar preços atuais", ex);
+        }
+    }
+
     private BigDecimal obterAbsolutoArredondado(BigDecimal v) {
         return v.abs().setScale(2, RoundingMode.HALF_UP);
     }
@@ -351,55 +495,15 @@ public class ServicoServiceImpl implements ServicoService {
     private Sort parseSort(String sort) {
         if (sort == null || sort.isBlank()) return Sort.by("id").ascending();
         String[] parts = sort.split(",");
-        String prop = parts[0].trim();
+        String campo = parts[0].trim();
+        String prop = ORDENAVEIS.get(campo);
+        if (prop == null) {
+            throw new ValidationException("Ordenação inválida: " + campo + " (use " + String.join(", ", new TreeSet<>(ORDENAVEIS.keySet())) + ")");
+        }
         String dir = parts.length > 1 ? parts[1].trim().toLowerCase() : "asc";
         Sort base = Sort.by(prop);
         return "desc".equals(dir) ? base.descending() : base.ascending();
     }
 
-    private Comparator<Servico> buildComparator(String sort) {
-        if (sort == null || sort.isBlank()) {
-            return Comparator.comparing(Servico::getId, Comparator.nullsLast(Long::compareTo));
-        }
-        String[] parts = sort.split(",");
-        String prop = parts[0].trim();
-        boolean desc = parts.length > 1 && "desc".equalsIgnoreCase(parts[1].trim());
-
-        Comparator<Servico> cmp;
-        switch (prop) {
-            case "id":
-                cmp = Comparator.comparing(Servico::getId, Comparator.nullsLast(Long::compareTo));
-                break;
-            case "nome":
-                cmp = Comparator.comparing(
-                        s -> normalize(s.getNome()),
-                        Comparator.nullsLast(String::compareTo)
-                );
-                break;
-            case "grupo":
-                cmp = Comparator.comparing(
-                        s -> normalize(s.getGrupo()),
-                        Comparator.nullsLast(String::compareTo)
-                );
-                break;
-            case "duracaoMinutos":
-                cmp = Comparator.comparing(Servico::getDuracaoMinutos, Comparator.nullsLast(Integer::compareTo));
-                break;
-            case "ativo":
-                cmp = Comparator.comparing(Servico::isAtivo, Comparator.nullsLast(Boolean::compareTo));
-                break;
-            default:
-                cmp = Comparator.comparing(Servico::getId, Comparator.nullsLast(Long::compareTo));
-        }
-        return desc ? cmp.reversed() : cmp;
-    }
-
-    private String normalize(String s) {
-        if (s == null) return null;
-        String lower = s.toLowerCase();
-        String nfd = Normalizer.normalize(lower, Normalizer.Form.NFD);
-        return nfd.replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
-    }
-
     private String trim(String s) { return s == null ? null : s.trim(); }
 }
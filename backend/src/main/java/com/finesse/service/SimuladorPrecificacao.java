@@ -0,0 +1,168 @@
+package com.finesse.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Avalia cenários hipotéticos sobre um {@link CatalogoPrecificacao} em um ForkJoinPool próprio
+ * (fora do pool comum e das threads do Tomcat). O trabalho é dividido em blocos
+ * (cenário x faixa de serviços); cada bloco usa o {@link PricingKernel} sem alocar por serviço
+ * e devolve agregados parciais que são somados por cenário no fim.
+ * Métricas em /actuator/metrics/executor.* com name=simulacao.
+ */
+@Component
+public class SimuladorPrecificacao {
+
+    private static final Logger log = LoggerFactory.getLogger(SimuladorPrecificacao.class);
+
+    /** Serviços por bloco: grande o bastante para amortizar o fork, pequeno para balancear. */
+    static final int BLOCO = 512;
+
+    private final ForkJoinPool pool;
+
+    public SimuladorPrecificacao(
+            @Value("${app.precificacao.simulacao.paralelismo:0}") int paralelismo,
+            MeterRegistry meterRegistry) {
+        int tamanho = paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(tamanho, p -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            t.setName("simulacao-" + t.getPoolIndex());
+            return t;
+        }, null, false);
+        ExecutorServiceMetrics.monitor(meterRegistry, pool, "simulacao");
+        log.info("Pool de simulação: paralelismo {}", tamanho);
+    }
+
+    /**
+     * Parâmetros de um cenário já nas escalas do kernel.
+     * @param aliquotas alíquota (fração, escala 8) por índice de atividade do catálogo
+     */
+    public record Cenario(String nome, long valorMinuto, long fixo, long margemPadrao, long[] aliquotas) {}
+
+    /**
+     * Agregados de um cenário comparado à base.
+     * @param lucroTotal escala 10, só serviços com preço
+     * @param maisAfetados índices no catálogo, da maior para a menor variação absoluta da venda sugerida
+     */
+    public record Resultado(int saudaveis, int abaixo, int prejuizo, int mudaramDeStatus,
+                            long lucroTotal, long sugeridaTotalCentavos, int[] maisAfetados) {}
+
+    /**
+     * @param base venda sugerida e status de cada serviço com a configuração ativa
+     * @param topK quantidade de serviços mais afetados por cenário
+     * @return um resultado por cenário, na mesma ordem
+     */
+    List<Resultado> simular(CatalogoPrecificacao catalogo, CatalogoPrecificacao.Base base,
+                            List<Cenario> cenarios, int topK) {
+        int blocos = Math.max(1, (catalogo.tamanho + BLOCO - 1) / BLOCO);
+        Parcial[] parciais = new Parcial[cenarios.size() * blocos];
+        pool.invoke(new Tarefa(catalogo, base, cenarios, topK, blocos, parciais, 0, parciais.length));
+
+        List<Resultado> out = new ArrayList<>(cenarios.size());
+        for (int c = 0; c < cenarios.size(); c++) {
+            Parcial total = new Parcial(topK);
+            for (int b = 0; b < blocos; b++) {
+                total.somar(parciais[c * blocos + b]);
+            }
+            out.add(new Resultado(total.saudaveis, total.abaixo, total.prejuizo, total.mudaram,
+                    total.lucro, total.sugerida, total.top.ordenados()));
+        }
+        return out;
+    }
+
+    /** Divide [inicio, fim) de unidades (cenário x bloco) ao meio até restar uma. */
+    private static final class Tarefa extends RecursiveAction {
+        private final CatalogoPrecificacao catalogo;
+        private final CatalogoPrecificacao.Base base;
+        private final List<Cenario> cenarios;
+        private final int topK;
+        private final int blocos;
+        private final Parcial[] parciais;
+        private final int inicio;
+        private final int fim;
+
+        Tarefa(CatalogoPrecificacao catalogo, CatalogoPrecificacao.Base base, List<Cenario> cenarios, int topK,
+               int blocos, Parcial[] parciais, int inicio, int fim) {
+            this.catalogo = catalogo;
+            this.base = base;
+            this.cenarios = cenarios;
+            this.topK = topK;
+            this.blocos = blocos;
+            this.parciais = parciais;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected void compute() {
+            if (fim - inicio == 1) {
+                parciais[inicio] = avaliar(cenarios.get(inicio / blocos), inicio % blocos);
+                return;
+            }
+            int meio = (inicio + fim) >>> 1;
+            invokeAll(new Tarefa(catalogo, base, cenarios, topK, blocos, parciais, inicio, meio),
+                    new Tarefa(catalogo, base, cenarios, topK, blocos, parciais, meio, fim));
+        }
+
+        private Parcial avaliar(Cenario cenario, int bloco) {
+            Parcial p = new Parcial(topK);
+            PricingKernel.Resultado r = new PricingKernel.Resultado();
+            int de = bloco * BLOCO;
+            int ate = Math.min(catalogo.tamanho, de + BLOCO);
+            for (int i = de; i < ate; i++) {
+                catalogo.calcular(i, cenario.valorMinuto(), cenario.fixo(), cenario.margemPadrao(), cenario.aliquotas(), r);
+                switch (r.status) {
+                    case SAUDAVEL -> p.saudaveis++;
+                    case ABAIXO -> p.abaixo++;
+                    case PREJUIZO -> p.prejuizo++;
+                }
+                if (r.status != base.status()[i]) p.mudaram++;
+                if (catalogo.venda[i] > 0) p.lucro += r.lucro;
+                p.sugerida += r.vendaSugeridaCentavos;
+                p.top.oferecer(Math.abs(r.vendaSugeridaCentavos - base.sugerida()[i]), i);
+            }
+            return p;
+        }
+    }
+
+    private static final class Parcial {
+        int saudaveis;
+        int abaixo;
+        int prejuizo;
+        int mudaram;
+        long lucro;
+        long sugerida;
+        final TopK top;
+
+        Parcial(int topK) {
+            this.top = new TopK(topK);
+        }
+
+        void somar(Parcial o) {
+            saudaveis += o.saudaveis;
+            abaixo += o.abaixo;
+            prejuizo += o.prejuizo;
+            mudaram += o.mudaram;
+            lucro += o.lucro;
+            sugerida += o.sugerida;
+            top.juntar(o.top);
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        pool.shutdown();
+    }
+}
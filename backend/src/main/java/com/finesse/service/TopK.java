@@ -0,0 +1,86 @@
+package com.finesse.service;
+
+import java.util.Arrays;
+
+/**
+ * Os k maiores (chave, índice) em um min-heap sobre arrays primitivos.
+ * Empate de chave: vence o menor índice, para o resultado não depender da ordem de chegada.
+ */
+final class TopK {
+
+    private final long[] chaves;
+    private final int[] indices;
+    private int tamanho;
+
+    TopK(int k) {
+        this.chaves = new long[k];
+        this.indices = new int[k];
+    }
+
+    void oferecer(long chave, int indice) {
+        if (chaves.length == 0) return;
+        if (tamanho < chaves.length) {
+            chaves[tamanho] = chave;
+            indices[tamanho] = indice;
+            subir(tamanho++);
+        } else if (pior(0, chave, indice)) {
+            chaves[0] = chave;
+            indices[0] = indice;
+            descer(0);
+        }
+    }
+
+    void juntar(TopK outro) {
+        for (int i = 0; i < outro.tamanho; i++) {
+            oferecer(outro.chaves[i], outro.indices[i]);
+        }
+    }
+
+    /** Índices do maior para o menor. */
+    int[] ordenados() {
+        Integer[] ordem = new Integer[tamanho];
+        for (int i = 0; i < tamanho; i++) ordem[i] = i;
+        Arrays.sort(ordem, (a, b) -> chaves[a] != chaves[b]
+                ? Long.compare(chaves[b], chaves[a])
+                : Integer.compare(indices[a], indices[b]));
+        int[] out = new int[tamanho];
+        for (int i = 0; i < tamanho; i++) out[i] = indices[ordem[i]];
+        return out;
+    }
+
+    /** A posição p perde para (chave, indice)? */
+    private boolean pior(int p, long chave, int indice) {
+        return chaves[p] < chave || (chaves[p] == chave && indices[p] > indice);
+    }
+
+    private void subir(int p) {
+        while (p > 0) {
+            int pai = (p - 1) >>> 1;
+            if (!pior(p, chaves[pai], indices[pai])) break;
+            trocar(p, pai);
+            p = pai;
+        }
+    }
+
+    private void descer(int p) {
+        while (true) {
+            int menor = p;
+            int esq = 2 * p + 1;
+            int dir = esq + 1;
+            if (esq < tamanho && pior(esq, chaves[menor], indices[menor])) menor = esq;
+            if (dir < tamanho && pior(dir, chaves[menor], indices[menor])) menor = dir;
+            if (menor == p) return;
+            trocar(p, menor);
+            p = menor;
+        }
+    }
+
+    private void trocar(int a, int b) {
+        long c = chaves[a];
+        chaves[a] = chaves[b];
+        chaves[b] = c;
+        int i = indices[a];
+        indices[a] = indices[b];
+        indices[b] = i;
+    }
+}
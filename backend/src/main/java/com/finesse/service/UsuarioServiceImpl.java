@@ -19,6 +19,7 @@ import com.finesse.exception.NotFoundException;
 import com.finesse.exception.ServiceOperationException;
 import com.finesse.exception.ValidationException;
 import com.finesse.repository.UsuarioRepository;
+import com.finesse.security.PrincipalCache;
 
 @Service
 public class UsuarioServiceImpl implements UsuarioService {
@@ -31,10 +32,13 @@ public class UsuarioServiceImpl implements UsuarioService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
-    // construtor para unit tests
-    public UsuarioServiceImpl(UsuarioRepository repo, PasswordEncoder passwordEncoder) {
+    // obrigatório: sem ele uma troca de perfil ou desativação manteria o principal antigo até o TTL
+    private final PrincipalCache principalCache;
+
+    public UsuarioServiceImpl(UsuarioRepository repo, PasswordEncoder passwordEncoder, PrincipalCache principalCache) {
         this.repo = repo;
         this.passwordEncoder = passwordEncoder;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -66,8 +70,10 @@ public class UsuarioServiceImpl implements UsuarioService {
                 if (u.getPerfil() == null) {
                     throw new ValidationException("Usuário deve possuir ao menos um perfil");
                 }
-            
-            return repo.save(u);
+
+            Usuario saved = repo.save(u);
+            invalidarPrincipal(id);
+            return saved;
         } catch (Exception ex) {
             if (ex instanceof ValidationException vex) throw vex;
             log.error("Falha ao atualizar usuário id={}", id, ex);
@@ -153,6 +159,7 @@ public class UsuarioServiceImpl implements UsuarioService {
             Usuario u = buscarPorId(id);
             u.setSenha(passwordEncoder.encode(novaSenha));
             repo.save(u);
+            invalidarPrincipal(id);
             log.info("Senha alterada para usuário id={}", id);
         } catch (ValidationException vex) {
             log.warn("Validação falhou ao alterar senha: {}", vex.getMessage());
@@ -171,6 +178,7 @@ public class UsuarioServiceImpl implements UsuarioService {
                 throw new NotFoundException("Usuário não encontrado");
             }
             repo.deleteById(id);
+            invalidarPrincipal(id);
             log.info("Usuário deletado id={}", id);
         } catch (Exception ex) {
             log.error("Falha ao deletar usuário id={}", id, ex);
@@ -189,6 +197,10 @@ public class UsuarioServiceImpl implements UsuarioService {
         }
     }
 
+    private void invalidarPrincipal(Long id) {
+        principalCache.invalidar(id);
+    }
+
     private boolean senhaForte(String senha) {
         if (senha == null) return false;
         String s = senha.trim();
@@ -227,6 +239,7 @@ public class UsuarioServiceImpl implements UsuarioService {
             return repo.findById(id).map(u -> {
                 u.setAtivo(ativo);
                 Usuario saved = repo.save(u);
+                invalidarPrincipal(id);
                 log.info("Status do usuário alterado id={} ativo={}", saved.getId(), ativo);
                 return saved;
             });
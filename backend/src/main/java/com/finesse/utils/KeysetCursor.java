@@ -0,0 +1,86 @@
+package com.finesse.utils;
+
+import java.lang.reflect.Field;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.ReflectionUtils;
+
+import com.finesse.exception.ValidationException;
+
+/**
+ * Cursor opaco para paginação por keyset (?after=).
+ * Codifica as chaves da última linha (campos de ordenação + id) em base64 url-safe;
+ * na leitura os valores são convertidos de volta ao tipo do campo da entidade.
+ */
+public final class KeysetCursor {
+
+    private static final ConversionService CONVERSOR = DefaultConversionService.getSharedInstance();
+
+    private KeysetCursor() {}
+
+    public static String encode(ScrollPosition posicao) {
+        if (!(posicao instanceof KeysetScrollPosition keyset) || keyset.isInitial()) return null;
+        StringBuilder sb = new StringBuilder();
+        keyset.getKeys().forEach((campo, valor) -> {
+            if (!sb.isEmpty()) sb.append('&');
+            sb.append(enc(campo)).append('=');
+            if (valor != null) sb.append(enc(valor instanceof Enum<?> e ? e.name() : valor.toString()));
+        });
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor valor de ?after=; vazio significa primeira página
+     * @param tipo entidade paginada, usada para tipar os valores das chaves
+     * @throws IllegalArgumentException se o cursor estiver malformado
+     */
+    public static KeysetScrollPosition decode(String cursor, Class<?> tipo) {
+        if (cursor == null || cursor.isBlank()) return ScrollPosition.keyset();
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            Map<String, Object> chaves = new LinkedHashMap<>();
+            for (String par : raw.split("&")) {
+                int i = par.indexOf('=');
+                if (i <= 0) throw new IllegalArgumentException("Cursor inválido");
+                String campo = dec(par.substring(0, i));
+                Field field = ReflectionUtils.findField(tipo, campo);
+                if (field == null) throw new IllegalArgumentException("Cursor inválido: campo " + campo);
+                String valor = par.substring(i + 1);
+                chaves.put(campo, valor.isEmpty() ? null : CONVERSOR.convert(dec(valor), field.getType()));
+            }
+            return ScrollPosition.forward(chaves);
+        } catch (ConversionException ex) {
+            throw new IllegalArgumentException("Cursor inválido", ex);
+        }
+    }
+
+    /**
+     * O cursor precisa ter sido gerado com a mesma ordenação (mais o id de desempate).
+     */
+    public static void exigirCompativel(KeysetScrollPosition posicao, Sort sort) {
+        if (posicao.isInitial()) return;
+        Set<String> esperado = new LinkedHashSet<>();
+        sort.forEach(o -> esperado.add(o.getProperty()));
+        esperado.add("id");
+        if (!esperado.equals(posicao.getKeys().keySet())) {
+            throw new ValidationException("Cursor não corresponde à ordenação informada");
+        }
+    }
+
+    private static String enc(String s) { return URLEncoder.encode(s, StandardCharsets.UTF_8); }
+
+    private static String dec(String s) { return URLDecoder.decode(s, StandardCharsets.UTF_8); }
+}
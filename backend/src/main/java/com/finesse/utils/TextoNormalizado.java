@@ -0,0 +1,34 @@
+package com.finesse.utils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Chave de busca/ordenação: minúsculas e sem acentos.
+ * Calculada uma vez na escrita (colunas *_normalizado) e aplicada ao termo buscado.
+ * Letras que o NFD não decompõe (æ, ß, ø...) são dobradas como no unaccent do PostgreSQL;
+ * as chaves existentes foram regravadas com esta mesma rotina (V10__RenormalizarChavesBusca).
+ */
+public final class TextoNormalizado {
+
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
+    // já em minúsculas; mesmas saídas de unaccent.rules
+    private static final String[][] LETRAS_SEM_DECOMPOSICAO = {
+            {"æ", "ae"}, {"œ", "oe"}, {"ß", "ss"}, {"ø", "o"}, {"đ", "d"}, {"ð", "d"},
+            {"þ", "th"}, {"ł", "l"}, {"ħ", "h"}, {"ı", "i"}, {"ŀ", "l"}, {"ŧ", "t"}
+    };
+
+    private TextoNormalizado() {}
+
+    public static String normalizar(String s) {
+        if (s == null) return null;
+        String nfd = Normalizer.normalize(s.trim().toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        String semMarcas = DIACRITICOS.matcher(nfd).replaceAll("");
+        for (String[] troca : LETRAS_SEM_DECOMPOSICAO) {
+            if (semMarcas.contains(troca[0])) semMarcas = semMarcas.replace(troca[0], troca[1]);
+        }
+        return semMarcas;
+    }
+}
@@ -0,0 +1,18 @@
+-- =========================
+-- Chave normalizada do grupo do serviço e chaves de ordenação do snapshot de precificação.
+-- Mantidas pela aplicação na escrita (TextoNormalizado); backfill em V12__NormalizarGrupoServicos.
+-- =========================
+ALTER TABLE servicos              ADD COLUMN IF NOT EXISTS grupo_normalizado VARCHAR(80)  COLLATE "C";
+ALTER TABLE precificacao_snapshot ADD COLUMN IF NOT EXISTS nome_normalizado  VARCHAR(180) COLLATE "C";
+ALTER TABLE precificacao_snapshot ADD COLUMN IF NOT EXISTS grupo_normalizado VARCHAR(80)  COLLATE "C";
+
+-- ordenação e prefixo
+CREATE INDEX IF NOT EXISTS idx_servicos_grupo_normalizado ON servicos (grupo_normalizado);
+
+-- busca parcial (%termo%) por grupo passa a usar a coluna normalizada
+DROP INDEX IF EXISTS idx_servicos_grupo_trgm;
+CREATE INDEX IF NOT EXISTS idx_servicos_grupo_normalizado_trgm ON servicos USING gin (grupo_normalizado gin_trgm_ops);
+
+-- ordem padrão da listagem de precificação
+DROP INDEX IF EXISTS idx_precificacao_snapshot_nome_id;
+CREATE INDEX IF NOT EXISTS idx_precificacao_snapshot_nome_normalizado_id ON precificacao_snapshot (nome_normalizado, servico_id);
@@ -0,0 +1,6 @@
+-- =========================
+-- Índice para a busca do preço atual por serviço
+-- (DISTINCT ON servico_id ordenado por vigente/vigencia_inicio)
+-- =========================
+CREATE INDEX IF NOT EXISTS idx_precos_praticados_preco_atual
+ON precos_praticados (servico_id, vigente DESC, vigencia_inicio DESC, id DESC);
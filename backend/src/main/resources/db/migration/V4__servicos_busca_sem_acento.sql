@@ -0,0 +1,19 @@
+-- =========================
+-- Busca acento-insensível de serviços (nome/grupo) no banco
+-- =========================
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- unaccent() é STABLE; o wrapper IMMUTABLE (com dicionário explícito) permite uso em índices
+CREATE OR REPLACE FUNCTION public.f_unaccent(text)
+RETURNS text
+LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+AS $$
+  SELECT public.unaccent('public.unaccent'::regdictionary, $1)
+$$;
+
+CREATE INDEX IF NOT EXISTS idx_servicos_nome_trgm
+ON servicos USING gin (lower(public.f_unaccent(nome)) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_servicos_grupo_trgm
+ON servicos USING gin (lower(public.f_unaccent(grupo)) gin_trgm_ops);
@@ -0,0 +1,23 @@
+-- =========================
+-- Chaves de busca/ordenação normalizadas (minúsculas, sem acentos)
+-- Mantidas pela aplicação na escrita (TextoNormalizado); aqui só o backfill.
+-- COLLATE "C": o B-tree atende tanto ORDER BY quanto LIKE 'prefixo%'.
+-- =========================
+ALTER TABLE servicos   ADD COLUMN IF NOT EXISTS nome_normalizado    VARCHAR(180) COLLATE "C";
+ALTER TABLE materiais  ADD COLUMN IF NOT EXISTS produto_normalizado VARCHAR(200) COLLATE "C";
+ALTER TABLE atividades ADD COLUMN IF NOT EXISTS nome_normalizado    VARCHAR(120) COLLATE "C";
+
+UPDATE servicos   SET nome_normalizado    = lower(public.f_unaccent(btrim(nome)))    WHERE nome_normalizado IS NULL;
+UPDATE materiais  SET produto_normalizado = lower(public.f_unaccent(btrim(produto))) WHERE produto_normalizado IS NULL;
+UPDATE atividades SET nome_normalizado    = lower(public.f_unaccent(btrim(nome)))    WHERE nome_normalizado IS NULL;
+
+-- ordenação e prefixo
+CREATE INDEX IF NOT EXISTS idx_servicos_nome_normalizado     ON servicos (nome_normalizado);
+CREATE INDEX IF NOT EXISTS idx_materiais_produto_normalizado ON materiais (produto_normalizado);
+CREATE INDEX IF NOT EXISTS idx_atividades_nome_normalizado   ON atividades (nome_normalizado);
+
+-- busca parcial (%termo%) passa a usar a coluna normalizada
+DROP INDEX IF EXISTS idx_servicos_nome_trgm;
+CREATE INDEX IF NOT EXISTS idx_servicos_nome_normalizado_trgm     ON servicos USING gin (nome_normalizado gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_materiais_produto_normalizado_trgm ON materiais USING gin (produto_normalizado gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_atividades_nome_normalizado_trgm   ON atividades USING gin (nome_normalizado gin_trgm_ops);
@@ -0,0 +1,12 @@
+-- =========================
+-- Paginação por keyset: (chave de ordenação, id) em um único índice
+-- Substituem os índices simples da V5, que passam a ser prefixo destes.
+-- =========================
+DROP INDEX IF EXISTS idx_servicos_nome_normalizado;
+DROP INDEX IF EXISTS idx_materiais_produto_normalizado;
+DROP INDEX IF EXISTS idx_atividades_nome_normalizado;
+
+CREATE INDEX IF NOT EXISTS idx_servicos_nome_normalizado_id     ON servicos (nome_normalizado, id);
+CREATE INDEX IF NOT EXISTS idx_materiais_produto_normalizado_id ON materiais (produto_normalizado, id);
+CREATE INDEX IF NOT EXISTS idx_atividades_nome_normalizado_id   ON atividades (nome_normalizado, id);
+CREATE INDEX IF NOT EXISTS idx_configuracoes_atualizado_em_id   ON configuracoes (atualizado_em, id);
@@ -0,0 +1,19 @@
+-- =========================
+-- IDs por sequence (INCREMENT BY 50) no lugar de IDENTITY
+-- IDENTITY impede o batch de INSERT do Hibernate; com sequence + otimizador pooled-lo
+-- a aplicação reserva blocos de 50 IDs com um único nextval.
+-- O DEFAULT nextval continua atendendo INSERTs fora do Hibernate (seed, JDBC em lote):
+-- com pooled-lo o valor retornado é o início do bloco, então não há colisão.
+-- =========================
+DO $$
+DECLARE
+  t text;
+BEGIN
+  FOREACH t IN ARRAY ARRAY['usuarios', 'configuracoes', 'atividades', 'materiais',
+                           'servicos', 'servico_materiais', 'precos_praticados'] LOOP
+    EXECUTE format('ALTER TABLE public.%I ALTER COLUMN id DROP IDENTITY IF EXISTS', t);
+    EXECUTE format('CREATE SEQUENCE IF NOT EXISTS public.%I INCREMENT BY 50 OWNED BY public.%I.id', t || '_seq', t);
+    EXECUTE format('SELECT setval(%L, (SELECT COALESCE(MAX(id), 0) + 1 FROM public.%I), false)', 'public.' || t || '_seq', t);
+    EXECUTE format('ALTER TABLE public.%I ALTER COLUMN id SET DEFAULT nextval(%L)', t, 'public.' || t || '_seq');
+  END LOOP;
+END $$;
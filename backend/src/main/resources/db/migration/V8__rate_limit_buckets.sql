@@ -0,0 +1,11 @@
+-- =========================
+-- Rate limit compartilhado entre réplicas (app.security.rate-limit.store=jdbc)
+-- chegada = instante teórico de chegada (GCRA) em microssegundos desde a época.
+-- UNLOGGED: sem WAL; perder os contadores num crash apenas zera os limites.
+-- =========================
+CREATE UNLOGGED TABLE IF NOT EXISTS rate_limit_buckets (
+    chave   VARCHAR(300) PRIMARY KEY,
+    chegada BIGINT       NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_rate_limit_buckets_chegada ON rate_limit_buckets (chegada);
@@ -0,0 +1,34 @@
+-- =========================
+-- Modelo de leitura da precificação: uma linha por serviço com os valores já calculados
+-- (arredondados como na API). Mantido pela aplicação antes do commit de cada escrita que
+-- afeta o preço (PrecificacaoSnapshotAtualizador) e reconstruído inteiro na subida.
+-- =========================
+CREATE TABLE IF NOT EXISTS precificacao_snapshot (
+    servico_id     BIGINT        PRIMARY KEY,
+    nome           VARCHAR(180)  NOT NULL,
+    grupo          VARCHAR(80)   NOT NULL,
+    ativo          BOOLEAN       NOT NULL,
+    custo_mao_obra NUMERIC(14,2) NOT NULL,
+    custo_insumos  NUMERIC(14,2) NOT NULL,
+    custo_direto   NUMERIC(14,2) NOT NULL,
+    imposto_frac   NUMERIC(14,4) NOT NULL,
+    fixo_frac      NUMERIC(14,4) NOT NULL,
+    margem_frac    NUMERIC(14,4) NOT NULL,
+    fator_preco    NUMERIC(14,4) NOT NULL,
+    venda_atual    NUMERIC(14,2) NOT NULL,
+    venda_sugerida NUMERIC(14,2) NOT NULL,
+    lucro          NUMERIC(14,2) NOT NULL,
+    margem_pct     NUMERIC(14,2) NOT NULL,
+    status         VARCHAR(20)   NOT NULL,
+    atualizado_em  TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_precificacao_snapshot_servico
+        FOREIGN KEY (servico_id) REFERENCES servicos (id)
+        ON UPDATE RESTRICT
+        ON DELETE CASCADE
+);
+
+-- ordem padrão da listagem e filtros/ordenação por status e margem
+CREATE INDEX IF NOT EXISTS idx_precificacao_snapshot_nome_id     ON precificacao_snapshot (nome, servico_id);
+CREATE INDEX IF NOT EXISTS idx_precificacao_snapshot_status      ON precificacao_snapshot (status, margem_pct);
+CREATE INDEX IF NOT EXISTS idx_precificacao_snapshot_margem      ON precificacao_snapshot (margem_pct, servico_id);
@@ -0,0 +1,140 @@
+package com.finesse.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gerador de carga HTTP (modelo fechado) para comparar threads de plataforma x virtuais.
+ *
+ * Para cada endpoint: aquecimento, depois {@code duracao} segundos com {@code clientes} conexões
+ * em laço; imprime vazão (req/s), p50/p99/máx em ms e erros. Uma linha JSON por endpoint vai para
+ * stdout, com o modo informado em {@code -Dcarga.modo}, para comparar execuções.
+ *
+ * Uso via scripts/bench-threads.sh, que sobe o backend nos dois modos e roda esta classe.
+ * Propriedades: carga.url, carga.email, carga.senha, carga.clientes (64), carga.duracao (30),
+ * carga.aquecimento (10), carga.modo.
+ */
+public final class CargaHttp {
+
+    private static final List<String> ENDPOINTS = List.of(
+            "/api/servicos?page=0&size=20",
+            "/api/servicos/precos",
+            "/api/materiais?page=0&size=20");
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("carga.url", "http://localhost:8080");
+        String email = exigir("carga.email");
+        String senha = exigir("carga.senha");
+        int clientes = Integer.getInteger("carga.clientes", 64);
+        int duracao = Integer.getInteger("carga.duracao", 30);
+        int aquecimento = Integer.getInteger("carga.aquecimento", 10);
+        String modo = System.getProperty("carga.modo", "?");
+
+        HttpClient http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        String cookie = login(http, url, email, senha);
+
+        for (String endpoint : ENDPOINTS) {
+            HttpRequest req = HttpRequest.newBuilder(URI.create(url + endpoint))
+                    .header("Cookie", cookie)
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            rodar(http, req, clientes, aquecimento);
+            Resultado r = rodar(http, req, clientes, duracao);
+            System.out.printf(Locale.ROOT,
+                    "{\"modo\":\"%s\",\"endpoint\":\"%s\",\"clientes\":%d,\"duracaoS\":%d,\"reqPorS\":%.1f,"
+                            + "\"p50Ms\":%.2f,\"p99Ms\":%.2f,\"maxMs\":%.2f,\"erros\":%d}%n",
+                    modo, endpoint, clientes, duracao, r.total() / (double) duracao,
+                    r.percentil(0.50), r.percentil(0.99), r.percentil(1.0), r.erros());
+        }
+    }
+
+    private record Resultado(long[] latenciasNanos, long erros) {
+        long total() {
+            return latenciasNanos.length;
+        }
+
+        double percentil(double p) {
+            if (latenciasNanos.length == 0) return 0;
+            int i = (int) Math.ceil(p * latenciasNanos.length) - 1;
+            return latenciasNanos[Math.max(0, Math.min(i, latenciasNanos.length - 1))] / 1_000_000.0;
+        }
+    }
+
+    private static Resultado rodar(HttpClient http, HttpRequest req, int clientes, int segundos) throws Exception {
+        long fim = System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+        AtomicLong erros = new AtomicLong();
+        List<Future<long[]>> futuros = new ArrayList<>(clientes);
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clientes; c++) {
+                futuros.add(pool.submit(() -> {
+                    long[] amostras = new long[1024];
+                    int n = 0;
+                    while (System.nanoTime() < fim) {
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<Void> res = http.send(req, HttpResponse.BodyHandlers.discarding());
+                            if (res.statusCode() != 200) {
+                                erros.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception ex) {
+                            erros.incrementAndGet();
+                            continue;
+                        }
+                        if (n == amostras.length) amostras = Arrays.copyOf(amostras, n * 2);
+                        amostras[n++] = System.nanoTime() - t0;
+                    }
+                    return Arrays.copyOf(amostras, n);
+                }));
+            }
+            long[] todas = new long[0];
+            for (Future<long[]> f : futuros) {
+                long[] parte = f.get();
+                int base = todas.length;
+                todas = Arrays.copyOf(todas, base + parte.length);
+                System.arraycopy(parte, 0, todas, base, parte.length);
+            }
+            Arrays.sort(todas);
+            return new Resultado(todas, erros.get());
+        }
+    }
+
+    private static String login(HttpClient http, String url, String email, String senha) throws Exception {
+        String corpo = "{\"email\":\"" + email + "\",\"senha\":\"" + senha + "\"}";
+        HttpResponse<String> res = http.send(HttpRequest.newBuilder(URI.create(url + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (res.statusCode() != 200) {
+            throw new IllegalStateException("Login falhou: HTTP " + res.statusCode() + " " + res.body());
+        }
+        return res.headers().allValues("set-cookie").stream()
+                .map(c -> c.split(";", 2)[0])
+                .filter(c -> c.startsWith("access_token="))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Login sem cookie access_token"));
+    }
+
+    private static String exigir(String prop) {
+        String v = System.getProperty(prop);
+        if (v == null || v.isBlank()) {
+            throw new IllegalArgumentException("Informe -D" + prop);
+        }
+        return v;
+    }
+}
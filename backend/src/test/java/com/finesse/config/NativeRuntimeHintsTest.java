@@ -0,0 +1,67 @@
+package com.finesse.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import com.finesse.dto.auth.LoginResponseRecord;
+import com.finesse.entity.Servico;
+import com.finesse.entity.Usuario;
+import com.finesse.entity.converter.UnidadeMedidaConverter;
+
+class NativeRuntimeHintsTest {
+
+    RuntimeHints hints;
+
+    @BeforeEach
+    void setup() {
+        hints = new RuntimeHints();
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void entidadesTemConstrutoresECamposParaHibernate() {
+        for (Class<?> entidade : NativeRuntimeHints.ENTIDADES) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(entidade)
+                            .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints),
+                    entidade.getSimpleName());
+            assertTrue(RuntimeHintsPredicates.reflection().onType(entidade)
+                            .withMemberCategory(MemberCategory.ACCESS_DECLARED_FIELDS).test(hints),
+                    entidade.getSimpleName());
+        }
+    }
+
+    @Test
+    void principalEConversorRegistrados() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethodInvocation(Usuario.class, "getAuthorities").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethodInvocation(Servico.class, "getMateriais").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onConstructorInvocation(UnidadeMedidaConverter.class.getConstructor()).test(hints));
+    }
+
+    @Test
+    void dtosRegistradosParaJackson() {
+        for (Class<?> dto : NativeRuntimeHints.DTOS) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(dto).test(hints), dto.getSimpleName());
+        }
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethodInvocation(LoginResponseRecord.class, "token").test(hints));
+    }
+
+    @Test
+    void classesDoJjwtExistemNoClasspathERegistradas() {
+        for (String nome : NativeRuntimeHints.JJWT) {
+            assertDoesNotThrow(() -> Class.forName(nome, false, getClass().getClassLoader()), nome);
+            assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(nome)).test(hints), nome);
+        }
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/services/io.jsonwebtoken.io.Serializer").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/services/io.jsonwebtoken.io.Deserializer").test(hints));
+    }
+}
@@ -0,0 +1,26 @@
+package com.finesse.config.migracao;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.finesse.utils.TextoNormalizado;
+
+/**
+ * A cópia congelada na migração precisa coincidir com o helper enquanto ele não mudar;
+ * se este teste quebrar por uma mudança no helper, as chaves existentes pedem uma nova migração.
+ */
+class V10__RenormalizarChavesBuscaTest {
+
+    @Test
+    void normalizar_shouldMatchTextoNormalizado() {
+        List<String> amostras = List.of("  Depilação À Cera ", "ILUMINAÇÃO", "Æther", "Straße", "Øresund",
+                "Œuvre", "Łódź", "Þórr", "Đorđe", "Ħamrun", "Istanbul ıi", "Ŧest", "café crème", "");
+        for (String s : amostras) {
+            assertEquals(TextoNormalizado.normalizar(s), V10__RenormalizarChavesBusca.normalizar(s), s);
+        }
+        assertNull(V10__RenormalizarChavesBusca.normalizar(null));
+    }
+}
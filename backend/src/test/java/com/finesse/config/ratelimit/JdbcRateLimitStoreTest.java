@@ -0,0 +1,101 @@
+package com.finesse.config.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import com.finesse.config.ratelimit.RateLimitProperties.Chave;
+import com.finesse.config.ratelimit.RateLimitProperties.Politica;
+
+/**
+ * Duas instâncias do store sobre o mesmo banco simulam duas réplicas do backend.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class JdbcRateLimitStoreTest {
+
+    @Container
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setup() throws Exception {
+        jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+        jdbc.execute(Files.readString(Path.of("src/main/resources/db/migration/V8__rate_limit_buckets.sql")));
+        jdbc.update("DELETE FROM rate_limit_buckets");
+    }
+
+    @Test
+    void replicas_shouldShareCounters() {
+        Politica login = new Politica("login", "/api/auth/login", "POST", Chave.IP, 10, 60_000, 5);
+        JdbcRateLimitStore replicaA = new JdbcRateLimitStore(jdbc, 60_000);
+        JdbcRateLimitStore replicaB = new JdbcRateLimitStore(jdbc, 60_000);
+
+        int permitidas = 0;
+        for (int i = 0; i < 10; i++) {
+            JdbcRateLimitStore replica = i % 2 == 0 ? replicaA : replicaB;
+            if (replica.tentarAdquirir(login, "ip:10.0.0.1") == 0) permitidas++;
+        }
+
+        assertEquals(5, permitidas);
+        assertTrue(replicaB.tentarAdquirir(login, "ip:10.0.0.1") > 0);
+        assertEquals(0, replicaA.tentarAdquirir(login, "ip:10.0.0.2"));
+    }
+
+    @Test
+    void oversizedKey_shouldStillBeLimitedNotFailOpen() {
+        Politica login = new Politica("login", "/api/auth/login", "POST", Chave.IP, 10, 60_000, 2);
+        JdbcRateLimitStore store = new JdbcRateLimitStore(jdbc, 60_000);
+        String chave = "ip:" + "9".repeat(5_000);
+
+        assertEquals(0, store.tentarAdquirir(login, chave));
+        assertEquals(0, store.tentarAdquirir(login, chave));
+        assertTrue(store.tentarAdquirir(login, chave) > 0);
+        assertEquals(64, jdbc.queryForObject("SELECT max(length(chave)) FROM rate_limit_buckets", Integer.class));
+    }
+
+    @Test
+    void concurrentReplicas_shouldNeverExceedBurst() throws Exception {
+        Politica politica = new Politica("leitura", "/api/**", "GET", Chave.USER, 1, 3_600_000, 20);
+        List<JdbcRateLimitStore> replicas = List.of(new JdbcRateLimitStore(jdbc, 60_000), new JdbcRateLimitStore(jdbc, 60_000));
+        AtomicInteger permitidas = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futuros = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                JdbcRateLimitStore replica = replicas.get(t % 2);
+                futuros.add(pool.submit(() -> {
+                    for (int i = 0; i < 25; i++) {
+                        if (replica.tentarAdquirir(politica, "user:ana") == 0) permitidas.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : futuros) {
+                f.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(20, permitidas.get());
+    }
+}
@@ -0,0 +1,125 @@
+package com.finesse.config.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.finesse.config.ratelimit.RateLimitProperties.Chave;
+import com.finesse.config.ratelimit.RateLimitProperties.Politica;
+
+class RateLimitFilterTest {
+
+    RateLimitProperties props;
+    RateLimitFilter filter;
+
+    @BeforeEach
+    void setup() {
+        props = new RateLimitProperties(true, "memory", 60_000,
+                new Politica("default", "/**", null, Chave.IP, 100, 60_000, 3),
+                List.of(
+                        new Politica("login", "/api/auth/login", "POST", Chave.IP, 10, 60_000, 2),
+                        new Politica("leitura", "/api/**", "GET", Chave.USER, 1200, 60_000, 5)));
+        filter = new RateLimitFilter(props, new RateLimitPolicies(props), new InMemoryRateLimitStore(60_000));
+    }
+
+    @AfterEach
+    void limparContexto() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private int status(String metodo, String uri, String ip) throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest(metodo, uri);
+        req.setRemoteAddr(ip);
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        filter.doFilter(req, res, new MockFilterChain());
+        return res.getStatus();
+    }
+
+    @Test
+    void resolver_shouldPickFirstMatchingPolicyOrDefault() {
+        RateLimitPolicies policies = new RateLimitPolicies(props);
+
+        assertEquals("login", policies.resolver("POST", "/api/auth/login").name());
+        assertEquals("leitura", policies.resolver("GET", "/api/servico").name());
+        assertEquals("default", policies.resolver("GET", "/actuator/health").name());
+        assertEquals("default", policies.resolver("PUT", "/api/servico/1").name());
+    }
+
+    @Test
+    void login_shouldBeThrottledIndependentlyFromReads() throws Exception {
+        assertEquals(200, status("POST", "/api/auth/login", "10.0.0.1"));
+        assertEquals(200, status("POST", "/api/auth/login", "10.0.0.1"));
+        assertEquals(429, status("POST", "/api/auth/login", "10.0.0.1"));
+
+        // leituras do mesmo IP usam outro balde
+        assertEquals(200, status("GET", "/api/servico", "10.0.0.1"));
+    }
+
+    @Test
+    void rejection_shouldCarryRetryAfter() throws Exception {
+        for (int i = 0; i < 2; i++) status("POST", "/api/auth/login", "10.0.0.9");
+
+        MockHttpServletRequest req = new MockHttpServletRequest("POST", "/api/auth/login");
+        req.setRemoteAddr("10.0.0.9");
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        filter.doFilter(req, res, new MockFilterChain());
+
+        assertEquals(429, res.getStatus());
+        assertEquals("6", res.getHeader("Retry-After"));
+    }
+
+    @Test
+    void userPolicy_shouldCountPerPrincipalNotPerIp() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("ana@finesse.com", null, List.of()));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, status("GET", "/api/material", "10.0.0." + i));
+        }
+        assertEquals(429, status("GET", "/api/material", "10.0.0.99"));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("bia@finesse.com", null, List.of()));
+        assertEquals(200, status("GET", "/api/material", "10.0.0.99"));
+    }
+
+    @Test
+    void clientIp_shouldIgnoreForwardedForAndUseRemoteAddr() throws Exception {
+        List<String> chaves = new ArrayList<>();
+        RateLimitFilter capturando = new RateLimitFilter(props, new RateLimitPolicies(props),
+                (politica, chave) -> { chaves.add(chave); return 0; });
+
+        for (String xff : List.of("203.0.113.7, 10.0.0.1", "x".repeat(10_000))) {
+            MockHttpServletRequest req = new MockHttpServletRequest("POST", "/api/auth/login");
+            req.setRemoteAddr("192.168.0.5");
+            req.addHeader("X-Forwarded-For", xff);
+            capturando.doFilter(req, new MockHttpServletResponse(), new MockFilterChain());
+        }
+
+        assertEquals(List.of("ip:192.168.0.5", "ip:192.168.0.5"), chaves);
+    }
+
+    @Test
+    void login_spoofedForwardedFor_shouldNotResetBucket() throws Exception {
+        int[] status = new int[3];
+        for (int i = 0; i < status.length; i++) {
+            MockHttpServletRequest req = new MockHttpServletRequest("POST", "/api/auth/login");
+            req.setRemoteAddr("10.0.0.7");
+            req.addHeader("X-Forwarded-For", "198.51.100." + i);
+            MockHttpServletResponse res = new MockHttpServletResponse();
+            filter.doFilter(req, res, new MockFilterChain());
+            status[i] = res.getStatus();
+        }
+
+        assertArrayEquals(new int[] {200, 200, 429}, status);
+    }
+}
@@ -0,0 +1,132 @@
+package com.finesse.config.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong relogio = new AtomicLong(1_000_000_000L);
+
+    private TokenBucketRateLimiter limiter(int limite, long janelaMs, int rajada) {
+        return new TokenBucketRateLimiter(limite, janelaMs, rajada, 60_000, relogio::get);
+    }
+
+    private void avancarMs(long ms) {
+        relogio.addAndGet(TimeUnit.MILLISECONDS.toNanos(ms));
+    }
+
+    @Test
+    void tentarAdquirir_shouldAllowBurstThenReject() {
+        TokenBucketRateLimiter l = limiter(100, 60_000, 100);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, l.tentarAdquirir("10.0.0.1"), "requisição " + i);
+        }
+        long espera = l.tentarAdquirir("10.0.0.1");
+
+        assertTrue(espera > 0);
+        assertTrue(espera <= TimeUnit.MILLISECONDS.toNanos(600));
+        assertEquals(0, l.tentarAdquirir("10.0.0.2"), "chaves são independentes");
+    }
+
+    @Test
+    void tentarAdquirir_shouldRefillAtSustainedRate() {
+        TokenBucketRateLimiter l = limiter(100, 60_000, 1);
+
+        assertEquals(0, l.tentarAdquirir("ip"));
+        assertTrue(l.tentarAdquirir("ip") > 0);
+        avancarMs(599);
+        assertTrue(l.tentarAdquirir("ip") > 0);
+        avancarMs(1);
+        assertEquals(0, l.tentarAdquirir("ip"));
+    }
+
+    @Test
+    void tentarAdquirir_shouldEvictIdleKeys() {
+        TokenBucketRateLimiter l = limiter(100, 60_000, 10);
+        for (int i = 0; i < 1_000; i++) {
+            l.tentarAdquirir("scan-" + i);
+        }
+        assertEquals(1_000, l.chavesAtivas());
+
+        avancarMs(60_000);
+        l.tentarAdquirir("novo");
+
+        assertEquals(1, l.chavesAtivas());
+    }
+
+    @Test
+    void tentarAdquirir_underContention_shouldNeverExceedBurst() throws Exception {
+        int rajada = 500;
+        int threads = 16;
+        int tentativasPorThread = 2_000;
+        TokenBucketRateLimiter l = limiter(1, 3_600_000, rajada);
+        AtomicInteger permitidas = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futuros = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futuros.add(pool.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < tentativasPorThread; i++) {
+                        if (l.tentarAdquirir("mesmo-ip") == 0) {
+                            permitidas.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> f : futuros) {
+                f.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(rajada, permitidas.get());
+    }
+
+    @Test
+    void tentarAdquirir_concurrentWithEviction_shouldKeepCountsExact() throws Exception {
+        // limpeza a cada 1ms de relógio real força varreduras concorrentes com os CAS
+        TokenBucketRateLimiter l = new TokenBucketRateLimiter(1, 3_600_000, 50, 1);
+        int threads = 8;
+        AtomicInteger permitidas = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futuros = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futuros.add(pool.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        if (l.tentarAdquirir("chave") == 0) {
+                            permitidas.incrementAndGet();
+                        }
+                        l.tentarAdquirir("ocioso-" + i);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : futuros) {
+                f.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(50, permitidas.get());
+    }
+}
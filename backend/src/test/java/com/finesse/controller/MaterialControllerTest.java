@@ -1,5 +1,6 @@
 package com.finesse.controller;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -9,16 +10,23 @@ import java.math.BigDecimal;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finesse.dto.MaterialAtualizadoResponse;
+import com.finesse.dto.ServicoImpactadoResponse;
 import com.finesse.entity.Material;
+import com.finesse.entity.StatusPrecificacao;
 import com.finesse.entity.UnidadeMedida;
 import com.finesse.service.MaterialService;
 import org.junit.jupiter.api.BeforeEach;
@@ -56,6 +64,36 @@ class MaterialControllerTest {
         mvc.perform(get("/api/materiais")).andExpect(status().isOk());
     }
 
+    @Test @WithMockUser
+    void listCursor_shouldReturnNextCursorAndAcceptItBack() throws Exception {
+        Material m = sample();
+        Window<Material> janela = Window.from(java.util.List.of(m),
+                i -> ScrollPosition.forward(java.util.Map.of("produtoNormalizado", "alcool", "id", 1L)), true);
+        when(service.listKeyset(any(), any(), any(KeysetScrollPosition.class), anyInt(), any())).thenReturn(janela);
+
+        String body = mvc.perform(get("/api/materiais").param("after", "").param("size", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.last").value(false))
+            .andExpect(jsonPath("$.totalElements").doesNotExist())
+            .andReturn().getResponse().getContentAsString();
+        String next = om.readTree(body).get("next").asText();
+
+        mvc.perform(get("/api/materiais").param("after", next).param("size", "1"))
+            .andExpect(status().isOk());
+
+        ArgumentCaptor<KeysetScrollPosition> posicao = ArgumentCaptor.forClass(KeysetScrollPosition.class);
+        verify(service, times(2)).listKeyset(any(), any(), posicao.capture(), eq(1), any());
+        assertTrue(posicao.getAllValues().get(0).isInitial());
+        assertEquals("alcool", posicao.getAllValues().get(1).getKeys().get("produtoNormalizado"));
+        assertEquals(1L, posicao.getAllValues().get(1).getKeys().get("id"));
+        verify(service, never()).list(any(), any(), anyInt(), anyInt(), any());
+    }
+
+    @Test @WithMockUser
+    void listCursor_invalidCursor_badRequest() throws Exception {
+        mvc.perform(get("/api/materiais").param("after", "@@@")).andExpect(status().isBadRequest());
+    }
+
     @Test @WithMockUser
     void get_found() throws Exception {
         when(service.findById(eq(1L))).thenReturn(Optional.of(sample()));
@@ -81,10 +119,17 @@ class MaterialControllerTest {
 
     @Test @WithMockUser(roles = {"ADMIN"})
     void update_ok() throws Exception {
-        when(service.update(eq(1L), any(Material.class))).thenReturn(Optional.of(sample()));
+        ServicoImpactadoResponse impactado = new ServicoImpactadoResponse(7L, "Limpeza", new BigDecimal("0.0500"),
+                new BigDecimal("0.50"), new BigDecimal("0.60"), new BigDecimal("120.00"), new BigDecimal("120.20"),
+                new BigDecimal("130.00"), StatusPrecificacao.SAUDAVEL, StatusPrecificacao.SAUDAVEL);
+        when(service.update(eq(1L), any(Material.class)))
+                .thenReturn(Optional.of(new MaterialAtualizadoResponse(sample(), java.util.List.of(impactado))));
         mvc.perform(put("/api/materiais/1").contentType(MediaType.APPLICATION_JSON)
                 .content(om.writeValueAsString(sample())))
-           .andExpect(status().isOk());
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$.id").value(1))
+           .andExpect(jsonPath("$.produto").value("Álcool"))
+           .andExpect(jsonPath("$.servicosImpactados[0].servicoId").value(7));
     }
 
     @Test @WithMockUser(roles = {"ADMIN"})
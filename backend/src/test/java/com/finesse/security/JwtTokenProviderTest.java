@@ -1,15 +1,77 @@
 package com.finesse.security;
 
+import java.util.Optional;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import io.jsonwebtoken.Claims;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class JwtTokenProviderTest {
+
+    private static final String SECRET = "finesse_test_secret_key_2025_HS256_32bytes_minimum";
+
+    private JwtTokenProvider provider(long expirationMs) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationMs", expirationMs);
+        ReflectionTestUtils.setField(provider, "refreshExpirationMs", expirationMs);
+        provider.init();
+        return provider;
+    }
+
     @Test
     void shortSecretIsUpgradedTo256Bits() {
         JwtTokenProvider provider = new JwtTokenProvider();
         ReflectionTestUtils.setField(provider, "jwtSecret", "short");
         assertDoesNotThrow(() -> ReflectionTestUtils.invokeMethod(provider, "getSigningKey"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void verificar_shouldReturnClaimsAndReuseThemForSameToken() {
+        JwtTokenProvider provider = provider(60_000);
+        String token = provider.generateRefreshTokenForUserId(42L);
+
+        Optional<Claims> primeira = provider.verificar(token);
+        Optional<Claims> segunda = provider.verificar(token);
+
+        assertTrue(primeira.isPresent());
+        assertEquals("42", primeira.get().getSubject());
+        assertSame(primeira.get(), segunda.get());
+    }
+
+    @Test
+    void verificar_shouldRejectTamperedSignature() {
+        JwtTokenProvider provider = provider(60_000);
+        String token = provider.generateRefreshTokenForUserId(42L);
+        // troca um caractere no meio da assinatura: o último só carrega bits de padding
+        // e às vezes decodifica para os mesmos bytes
+        int meio = token.lastIndexOf('.') + (token.length() - token.lastIndexOf('.')) / 2;
+        char original = token.charAt(meio);
+        String adulterado = token.substring(0, meio) + (original == 'A' ? 'B' : 'A') + token.substring(meio + 1);
+
+        assertTrue(provider.verificar(adulterado).isEmpty());
+        assertFalse(provider.validateToken(adulterado));
+    }
+
+    @Test
+    void verificar_shouldRejectExpiredToken() {
+        JwtTokenProvider provider = provider(-1_000);
+        String token = provider.generateRefreshTokenForUserId(42L);
+
+        assertTrue(provider.verificar(token).isEmpty());
+    }
+
+    @Test
+    void verificar_shouldRejectTokenSignedWithAnotherKey() {
+        JwtTokenProvider outro = new JwtTokenProvider();
+        ReflectionTestUtils.setField(outro, "jwtSecret", SECRET + "_outro");
+        ReflectionTestUtils.setField(outro, "refreshExpirationMs", 60_000L);
+        outro.init();
+        String token = outro.generateRefreshTokenForUserId(7L);
+
+        assertTrue(provider(60_000).verificar(token).isEmpty());
+    }
+}
@@ -0,0 +1,81 @@
+package com.finesse.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.finesse.entity.Usuario;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHashingExecutorTest {
+
+    @Test
+    void submeter_shouldRejectImmediatelyWhenPoolAndQueueAreFull() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1, registry);
+        CountDownLatch liberar = new CountDownLatch(1);
+        try {
+            CompletableFuture<Boolean> ocupando = executor.submeter(() -> aguardar(liberar));
+            CompletableFuture<Boolean> naFila = executor.submeter(() -> aguardar(liberar));
+
+            assertThrows(RejectedExecutionException.class, () -> executor.submeter(() -> true));
+            assertEquals(1.0, registry.get("bcrypt.rejeitadas").counter().count());
+
+            liberar.countDown();
+            assertTrue(ocupando.get(5, TimeUnit.SECONDS));
+            assertTrue(naFila.get(5, TimeUnit.SECONDS));
+            assertTrue(executor.submeter(() -> true).get(5, TimeUnit.SECONDS));
+        } finally {
+            liberar.countDown();
+            executor.encerrar();
+        }
+    }
+
+    @Test
+    void submeter_shouldRunOffTheCallerThread() throws Exception {
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(2, 10, new SimpleMeterRegistry());
+        try {
+            String nome = executor.submeter(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+            assertTrue(nome.startsWith("bcrypt-"), nome);
+        } finally {
+            executor.encerrar();
+        }
+    }
+
+    @Test
+    void login_withWeakerStoredHash_shouldTriggerRehashHook() {
+        Usuario usuario = new Usuario("Ana", "ana@finesse.com", new BCryptPasswordEncoder(4).encode("Senha@123"));
+        UserDetailsService uds = email -> usuario;
+        UserDetailsPasswordService upgrade = mock(UserDetailsPasswordService.class);
+        when(upgrade.updatePassword(any(), anyString())).thenAnswer(inv -> inv.getArgument(0));
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(uds);
+        provider.setPasswordEncoder(new BCryptPasswordEncoder(5));
+        provider.setUserDetailsPasswordService(upgrade);
+        provider.authenticate(new UsernamePasswordAuthenticationToken("ana@finesse.com", "Senha@123"));
+
+        verify(upgrade).updatePassword(eq(usuario), argThat(hash -> hash.startsWith("$2a$05$")));
+    }
+
+    private static boolean aguardar(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.finesse.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.finesse.entity.Usuario;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PrincipalCacheTest {
+
+    SimpleMeterRegistry registry;
+    PrincipalCache cache;
+    AtomicInteger cargas;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        cache = new PrincipalCache(100, 60_000, registry);
+        cargas = new AtomicInteger();
+    }
+
+    private Function<Long, UserDetails> loader() {
+        return id -> {
+            cargas.incrementAndGet();
+            Usuario u = new Usuario("Nome", "u" + id + "@finesse.com", "x");
+            u.setId(id);
+            return u;
+        };
+    }
+
+    @Test
+    void obter_shouldHitDatabaseOnlyOncePerUser() {
+        UserDetails primeiro = cache.obter(1L, loader());
+        for (int i = 0; i < 9; i++) {
+            assertSame(primeiro, cache.obter(1L, loader()));
+        }
+
+        assertEquals(1, cargas.get());
+        assertEquals(0.9, cache.estatisticas().hitRate(), 1e-9);
+        assertEquals(9.0, registry.get("cache.gets").tag("cache", "principais").tag("result", "hit")
+                .functionCounter().count(), 1e-9);
+    }
+
+    @Test
+    void invalidar_shouldForceReload() {
+        cache.obter(1L, loader());
+        cache.invalidar(1L);
+        cache.obter(1L, loader());
+
+        assertEquals(2, cargas.get());
+    }
+
+    @Test
+    void obter_shouldNotCacheLoaderFailures() {
+        Function<Long, UserDetails> desativado = id -> {
+            cargas.incrementAndGet();
+            throw new UsernameNotFoundException("Usuário desativado com id: " + id);
+        };
+
+        assertThrows(UsernameNotFoundException.class, () -> cache.obter(7L, desativado));
+        assertThrows(UsernameNotFoundException.class, () -> cache.obter(7L, desativado));
+        assertEquals(2, cargas.get());
+    }
+}
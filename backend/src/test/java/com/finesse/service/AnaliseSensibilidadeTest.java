@@ -0,0 +1,194 @@
+package com.finesse.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.finesse.entity.StatusPrecificacao;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Monte Carlo de materiais: reprodutível pela semente, independente do paralelismo e igual a uma
+ * reprecificação sequencial com a PrecificacaoCalculadora.
+ */
+class AnaliseSensibilidadeTest {
+
+    private static final long VALOR_MINUTO = PricingKernel.valorMinuto(1_200_000L, 5_000L, 43_300L);
+    private static final long FIXO = 12_000_000L;
+    private static final long MARGEM = 20_000_000L;
+
+    @Test
+    void analisar_deveSerIgualAReprecificacaoSequencial() {
+        CatalogoMateriais m = catalogo(new Random(3L), 40);
+        int[] servicos = comPreco(m.catalogo);
+        int ensaios = 200;
+        long banda = 250_000L;
+
+        AnaliseSensibilidade.Resultado r = executar(4, m, servicos, ensaios, banda, 99L);
+
+        assertTrue(r.completo());
+        CatalogoPrecificacao cat = m.catalogo;
+        for (int p = 0; p < servicos.length; p++) {
+            int i = servicos[p];
+            long[] margens = new long[ensaios];
+            int prejuizos = 0;
+            for (int t = 0; t < ensaios; t++) {
+                BigDecimal insumos = BigDecimal.ZERO;
+                for (int k = m.inicio[i]; k < m.inicio[i + 1]; k++) {
+                    long variacao = AnaliseSensibilidade.sortear(99L, m.materialIds[k], t, banda);
+                    insumos = insumos.add(PricingKernel.decimal(m.custo[k], 10)
+                            .multiply(PricingKernel.decimal(AnaliseSensibilidade.UM_PPM + variacao, 6))
+                            .setScale(10, RoundingMode.HALF_UP));
+                }
+                PrecificacaoCalculadora.Resultado esperado = calcular(cat, i, insumos);
+                if (esperado.status() == StatusPrecificacao.PREJUIZO) prejuizos++;
+                margens[t] = PricingKernel.unidades(esperado.margemPct(), 8);
+            }
+            Arrays.sort(margens);
+            String caso = "serviço " + i;
+            assertEquals(prejuizos, r.prejuizos()[p], caso);
+            assertEquals(margens[9], r.margemP5()[p], caso);       // posto ceil(0,05 x 200) = 10
+            assertEquals(margens[99], r.margemP50()[p], caso);
+            assertEquals(margens[189], r.margemP95()[p], caso);
+        }
+    }
+
+    @Test
+    void analisar_mesmaSementeDeveDarMesmoResultadoComQualquerParalelismo() {
+        CatalogoMateriais m = catalogo(new Random(5L), 300);
+        int[] servicos = comPreco(m.catalogo);
+
+        AnaliseSensibilidade.Resultado a = executar(1, m, servicos, 500, 150_000L, 7L);
+        AnaliseSensibilidade.Resultado b = executar(4, m, servicos, 500, 150_000L, 7L);
+        AnaliseSensibilidade.Resultado c = executar(4, m, servicos, 500, 150_000L, 8L);
+
+        assertArrayEquals(a.prejuizos(), b.prejuizos());
+        assertArrayEquals(a.margemP5(), b.margemP5());
+        assertArrayEquals(a.margemP50(), b.margemP50());
+        assertArrayEquals(a.margemP95(), b.margemP95());
+        assertFalse(Arrays.equals(a.margemP50(), c.margemP50()));
+    }
+
+    @Test
+    void analisar_semVariacaoDeveRepetirAMargemAtual() {
+        CatalogoMateriais m = catalogo(new Random(9L), 50);
+        int[] servicos = comPreco(m.catalogo);
+
+        AnaliseSensibilidade.Resultado r = executar(2, m, servicos, 50, 0L, 1L);
+
+        assertArrayEquals(r.margemAtual(), r.margemP5());
+        assertArrayEquals(r.margemAtual(), r.margemP95());
+        for (int p : r.prejuizos()) assertTrue(p == 0 || p == 50);
+    }
+
+    @Test
+    void analisar_deveInterromperAoEsgotarOTempo() {
+        AnaliseSensibilidade semTempo = new AnaliseSensibilidade(2, 0L, new SimpleMeterRegistry());
+        try {
+            CatalogoMateriais m = catalogo(new Random(1L), 100);
+            AnaliseSensibilidade.Resultado r = semTempo.analisar(m, comPreco(m.catalogo),
+                    VALOR_MINUTO, FIXO, MARGEM, 1000, 100_000L, 1L);
+            assertFalse(r.completo());
+        } finally {
+            semTempo.encerrar();
+        }
+    }
+
+    @Test
+    void sortear_deveFicarNaBandaComMediaProximaDeZero() {
+        long banda = 200_000L;
+        long soma = 0;
+        long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+        for (int t = 0; t < 200_000; t++) {
+            long v = AnaliseSensibilidade.sortear(42L, t % 17, t, banda);
+            soma += v;
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+        }
+        assertTrue(min >= -banda && max <= banda);
+        assertTrue(min < -banda * 99 / 100 && max > banda * 99 / 100);
+        assertTrue(Math.abs(soma / 200_000.0) < banda * 0.01);
+        assertEquals(AnaliseSensibilidade.sortear(42L, 3L, 10, banda), AnaliseSensibilidade.sortear(42L, 3L, 10, banda));
+    }
+
+    @Test
+    void percentil_devePegarOPostoMaisProximo() {
+        long[] v = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        assertEquals(1, AnaliseSensibilidade.percentil(v, 5));
+        assertEquals(5, AnaliseSensibilidade.percentil(v, 50));
+        assertEquals(10, AnaliseSensibilidade.percentil(v, 95));
+        assertEquals(7, AnaliseSensibilidade.percentil(new long[] {7}, 5));
+    }
+
+    private static AnaliseSensibilidade.Resultado executar(int paralelismo, CatalogoMateriais m, int[] servicos,
+                                                           int ensaios, long banda, long semente) {
+        AnaliseSensibilidade analise = new AnaliseSensibilidade(paralelismo, 60_000L, new SimpleMeterRegistry());
+        try {
+            return analise.analisar(m, servicos, VALOR_MINUTO, FIXO, MARGEM, ensaios, banda, semente);
+        } finally {
+            analise.encerrar();
+        }
+    }
+
+    private static PrecificacaoCalculadora.Resultado calcular(CatalogoPrecificacao cat, int i, BigDecimal insumos) {
+        long margem = cat.temMargemCustom[i] ? cat.margemCustom[i] : MARGEM;
+        long imposto = cat.atividade[i] >= 0 ? cat.aliquotas[cat.atividade[i]] : 0L;
+        return PrecificacaoCalculadora.calcular(
+                PricingKernel.decimal(VALOR_MINUTO, 8), cat.duracao[i], insumos,
+                PricingKernel.decimal(imposto, 8), PricingKernel.decimal(FIXO, 8), PricingKernel.decimal(margem, 8),
+                PricingKernel.decimal(cat.venda[i], 2));
+    }
+
+    private static int[] comPreco(CatalogoPrecificacao cat) {
+        return IntStream.range(0, cat.tamanho).filter(i -> cat.venda[i] > 0).toArray();
+    }
+
+    /** Serviços com 0 a 5 de 20 materiais compartilhados; preço perto da sugerida para haver risco. */
+    private static CatalogoMateriais catalogo(Random rnd, int n) {
+        long[] custoUnitario = new long[20];
+        for (int j = 0; j < custoUnitario.length; j++) custoUnitario[j] = 1 + rnd.nextInt(5_000_000); // até R$ 5
+        long[] ids = new long[n];
+        String[] nomes = new String[n];
+        int[] duracao = new int[n];
+        long[] insumos = new long[n];
+        long[] venda = new long[n];
+        long[] margemCustom = new long[n];
+        boolean[] temMargemCustom = new boolean[n];
+        int[] atividade = new int[n];
+        int[] inicio = new int[n + 1];
+        long[] materialIds = new long[n * 5];
+        long[] custo = new long[n * 5];
+        PricingKernel.Resultado r = new PricingKernel.Resultado();
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            ids[i] = 500L + i;
+            nomes[i] = "Serviço " + i;
+            duracao[i] = 15 + rnd.nextInt(120);
+            atividade[i] = rnd.nextInt(3) - 1;
+            int usados = rnd.nextInt(6);
+            int primeiro = rnd.nextInt(custoUnitario.length - usados + 1);
+            for (int u = 0; u < usados; u++) {
+                int mat = primeiro + u;
+                materialIds[k] = mat + 1L;
+                custo[k] = PricingKernel.custoPorAtendimento(1 + rnd.nextInt(200_000), custoUnitario[mat]);
+                insumos[i] += custo[k];
+                k++;
+            }
+            inicio[i + 1] = k;
+            long imposto = atividade[i] >= 0 ? (atividade[i] == 0 ? 6_000_000L : 16_770_000L) : 0L;
+            PricingKernel.calcular(VALOR_MINUTO, duracao[i], insumos[i], imposto, FIXO, MARGEM, 0L, r);
+            venda[i] = rnd.nextInt(8) == 0 ? 0L : Math.max(1L, r.vendaSugeridaCentavos * (60 + rnd.nextInt(60)) / 100);
+        }
+        CatalogoPrecificacao cat = new CatalogoPrecificacao(ids, nomes, duracao, insumos, venda, margemCustom,
+                temMargemCustom, atividade, new long[] {1L, 2L}, new long[] {6_000_000L, 16_770_000L},
+                1_200_000L, 5_000L, 43_300L, FIXO, MARGEM);
+        return new CatalogoMateriais(cat, inicio, Arrays.copyOf(materialIds, k), Arrays.copyOf(custo, k));
+    }
+}
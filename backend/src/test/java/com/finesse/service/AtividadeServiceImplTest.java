@@ -3,6 +3,7 @@ package com.finesse.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +13,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 
 import com.finesse.entity.Atividade;
 import com.finesse.repository.AtividadeRepository;
@@ -21,6 +24,12 @@ class AtividadeServiceImplTest {
     @Mock
     AtividadeRepository repo;
 
+    @Mock
+    PrecificacaoSnapshotAtualizador snapshot;
+
+    @Mock
+    DashboardService dashboard;
+
     @InjectMocks
     AtividadeServiceImpl service;
 
@@ -40,14 +49,13 @@ class AtividadeServiceImplTest {
 
     @Test
     void list_shouldFilterByTitulo() {
-        when(repo.findAll()).thenReturn(List.of(
-            atividade(1L, "Planejamento", true),
-            atividade(2L, "Execução", false),
-            atividade(3L, "Revisão", true)
-        ));
+        when(repo.findByNomeNormalizadoContaining(eq("ex"), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of(atividade(2L, "Execução", false))));
         Page<Atividade> page = service.list("Ex", null, 0, 10, "nome,asc");
         assertEquals(1, page.getTotalElements());
         assertEquals("Execução", page.getContent().get(0).getNome());
+        assertEquals("execucao", page.getContent().get(0).getNomeNormalizado());
+        verify(repo, never()).findAll();
     }
 
     @Test
@@ -74,10 +82,29 @@ class AtividadeServiceImplTest {
         assertFalse(updated.get().isAtivo());
     }
 
+    @Test
+    void update_shouldRepriceServicesOnlyWhenAliquotaChanges() {
+        Atividade ex = atividade(5L, "Antiga", true);
+        ex.setAliquotaTotalPct(new BigDecimal("6.0000"));
+        when(repo.findById(5L)).thenReturn(Optional.of(ex));
+        when(repo.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        Atividade mesma = atividade(null, "Renomeada", true);
+        mesma.setAliquotaTotalPct(new BigDecimal("6"));
+        service.update(5L, mesma);
+        verify(snapshot, never()).marcarAtividade(any());
+
+        Atividade outra = atividade(null, "Renomeada", true);
+        outra.setAliquotaTotalPct(new BigDecimal("16.77"));
+        service.update(5L, outra);
+        verify(snapshot).marcarAtividade(5L);
+    }
+
     @Test
     void delete_shouldReturnFalseWhenNotExists() {
         when(repo.existsById(1L)).thenReturn(false);
         assertFalse(service.delete(1L));
+        verify(dashboard, never()).invalidar();
     }
 
     @Test
@@ -88,5 +115,6 @@ class AtividadeServiceImplTest {
         Optional<Atividade> toggled = service.toggleStatus(8L, false);
         assertTrue(toggled.isPresent());
         assertFalse(toggled.get().isAtivo());
+        verify(dashboard).invalidar();
     }
 }
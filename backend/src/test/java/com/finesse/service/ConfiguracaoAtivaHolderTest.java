@@ -0,0 +1,110 @@
+package com.finesse.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.finesse.dto.ConfiguracaoAtiva;
+import com.finesse.entity.Configuracoes;
+import com.finesse.repository.ConfiguracoesRepository;
+
+class ConfiguracaoAtivaHolderTest {
+
+    @Mock
+    ConfiguracoesRepository repo;
+
+    @InjectMocks
+    ConfiguracaoAtivaHolder holder;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @AfterEach
+    void limparSincronizacao() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Configuracoes cfg(Long id, String salario) {
+        Configuracoes c = new Configuracoes();
+        c.setId(id);
+        c.setPretensaoSalarialMensal(new BigDecimal(salario));
+        c.setHorasSemanais(new BigDecimal("50.00"));
+        c.setSemanasMediaMes(new BigDecimal("4.33"));
+        c.setCustoFixoPct(new BigDecimal("12.0000"));
+        c.setMargemLucroPadraoPct(new BigDecimal("20.0000"));
+        c.setAtualizadoEm(LocalDateTime.of(2025, 1, 10, 9, 30));
+        return c;
+    }
+
+    @Test
+    void atual_shouldPrecomputeDerivedValuesAndLoadOnlyOnce() {
+        Configuracoes c = cfg(1L, "12000.00");
+        when(repo.findFirstByAtivoTrueOrderByAtualizadoEmDesc()).thenReturn(Optional.of(c));
+
+        ConfiguracaoAtiva primeira = holder.atual();
+        ConfiguracaoAtiva segunda = holder.atual();
+
+        assertSame(primeira, segunda);
+        assertEquals(c.getValorMinuto(), primeira.valorMinuto());
+        assertEquals(c.getValorHora(), primeira.valorHora());
+        assertEquals(c.getCustoFixoFrac(), primeira.custoFixoFrac());
+        assertEquals(c.getMargemPadraoFrac(), primeira.margemPadraoFrac());
+        verify(repo, times(1)).findFirstByAtivoTrueOrderByAtualizadoEmDesc();
+    }
+
+    @Test
+    void atual_withoutActiveConfig_shouldReturnZeros() {
+        when(repo.findFirstByAtivoTrueOrderByAtualizadoEmDesc()).thenReturn(Optional.empty());
+
+        ConfiguracaoAtiva cfg = holder.atual();
+
+        assertFalse(cfg.definida());
+        assertEquals(BigDecimal.ZERO, cfg.valorMinuto());
+        assertEquals(BigDecimal.ZERO, cfg.margemPadraoFrac());
+    }
+
+    @Test
+    void recarregarAposCommit_shouldSwapSnapshotOnlyAfterCommit() {
+        when(repo.findFirstByAtivoTrueOrderByAtualizadoEmDesc())
+                .thenReturn(Optional.of(cfg(1L, "12000.00")))
+                .thenReturn(Optional.of(cfg(1L, "15000.00")));
+        ConfiguracaoAtiva antes = holder.atual();
+
+        TransactionSynchronizationManager.initSynchronization();
+        holder.recarregarAposCommit();
+        assertSame(antes, holder.atual());
+
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            sync.afterCommit();
+        }
+
+        assertEquals(new BigDecimal("15000.00"), holder.atual().pretensaoSalarialMensal());
+        assertNotEquals(antes.valorMinuto(), holder.atual().valorMinuto());
+    }
+
+    @Test
+    void etag_shouldChangeWhenConfigIsUpdated() {
+        Configuracoes c = cfg(1L, "12000.00");
+        String etag = ConfiguracaoAtiva.de(c).etag();
+        c.setAtualizadoEm(c.getAtualizadoEm().plusMinutes(1));
+
+        assertNotEquals(etag, ConfiguracaoAtiva.de(c).etag());
+        assertEquals(etag, ConfiguracaoAtiva.de(cfg(1L, "12000.00")).etag());
+    }
+}
@@ -15,6 +15,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
+import com.finesse.dto.ConfiguracaoAtiva;
 import com.finesse.entity.Configuracoes;
 import com.finesse.repository.ConfiguracoesRepository;
 
@@ -23,6 +24,12 @@ class ConfiguracoesServiceImplTest {
     @Mock
     ConfiguracoesRepository repo;
 
+    @Mock
+    ConfiguracaoAtivaHolder configuracaoAtiva;
+
+    @Mock
+    PrecificacaoSnapshotAtualizador snapshot;
+
     @InjectMocks
     ConfiguracoesServiceImpl service;
 
@@ -70,6 +77,8 @@ class ConfiguracoesServiceImplTest {
         Optional<Configuracoes> updated = service.update(9L, in);
         assertTrue(updated.isPresent());
         assertFalse(updated.get().isAtivo());
+        verify(configuracaoAtiva).recarregarAposCommit();
+        verify(snapshot).marcarTodos();
     }
 
     @Test
@@ -86,5 +95,16 @@ class ConfiguracoesServiceImplTest {
         Optional<Configuracoes> res = service.toggleStatus(4L, false);
         assertTrue(res.isPresent());
         assertFalse(res.get().isAtivo());
+        verify(configuracaoAtiva).recarregarAposCommit();
+        verify(snapshot).marcarTodos();
+    }
+
+    @Test
+    void ativa_shouldServeSnapshotWithoutTouchingRepository() {
+        ConfiguracaoAtiva snapshot = ConfiguracaoAtiva.de(cfg(2L, true));
+        when(configuracaoAtiva.atual()).thenReturn(snapshot);
+
+        assertSame(snapshot, service.ativa());
+        verifyNoInteractions(repo);
     }
 }
@@ -0,0 +1,113 @@
+package com.finesse.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.finesse.dto.AlteracaoPrecoResponse;
+import com.finesse.dto.DashboardResponse;
+import com.finesse.repository.AtividadeRepository;
+import com.finesse.repository.MaterialRepository;
+import com.finesse.repository.PrecificacaoSnapshotRepository;
+import com.finesse.repository.PrecoPraticadoRepository;
+import com.finesse.repository.projection.AlteracaoPrecoView;
+import com.finesse.repository.projection.ResumoStatusView;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DashboardServiceImplTest {
+
+    @Mock
+    PrecificacaoSnapshotRepository snapshotRepository;
+
+    @Mock
+    PrecoPraticadoRepository precoRepository;
+
+    @Mock
+    MaterialRepository materialRepository;
+
+    @Mock
+    AtividadeRepository atividadeRepository;
+
+    @InjectMocks
+    DashboardServiceImpl service;
+
+    SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+        service.init();
+
+        List<ResumoStatusView> resumo = List.of(
+                status("SAUDAVEL", 3L, "120.50", "150.00"),
+                status("PREJUIZO", 1L, "-20.25", "30.00"));
+        when(snapshotRepository.resumirAtivosPorStatus()).thenReturn(resumo);
+        List<AlteracaoPrecoView> alteracoes = List.of(alteracao(7L, "Corte", "80.00", "95.00"));
+        when(precoRepository.findAlteracoesRecentes(10)).thenReturn(alteracoes);
+        when(materialRepository.countByAtivoTrue()).thenReturn(12L);
+        when(atividadeRepository.countByAtivoTrue()).thenReturn(2L);
+    }
+
+    private ResumoStatusView status(String status, Long quantidade, String lucroAtual, String lucroPotencial) {
+        ResumoStatusView v = mock(ResumoStatusView.class);
+        when(v.getStatus()).thenReturn(status);
+        when(v.getQuantidade()).thenReturn(quantidade);
+        when(v.getLucroAtual()).thenReturn(new BigDecimal(lucroAtual));
+        when(v.getLucroPotencial()).thenReturn(new BigDecimal(lucroPotencial));
+        return v;
+    }
+
+    private AlteracaoPrecoView alteracao(Long servicoId, String nome, String anterior, String preco) {
+        AlteracaoPrecoView v = mock(AlteracaoPrecoView.class);
+        when(v.getServicoId()).thenReturn(servicoId);
+        when(v.getNome()).thenReturn(nome);
+        when(v.getPrecoAnterior()).thenReturn(new BigDecimal(anterior));
+        when(v.getPreco()).thenReturn(new BigDecimal(preco));
+        when(v.getVigenciaInicio()).thenReturn(LocalDate.of(2025, 3, 1));
+        return v;
+    }
+
+    @Test
+    void resumo_shouldAggregateStatusesProfitsAndCounts() {
+        DashboardResponse r = service.resumo();
+
+        assertEquals(3, r.servicosSaudaveis());
+        assertEquals(0, r.servicosAbaixo());
+        assertEquals(1, r.servicosPrejuizo());
+        assertEquals(4, r.servicosAtivos());
+        assertEquals(new BigDecimal("100.25"), r.lucroAtual());
+        assertEquals(new BigDecimal("180.00"), r.lucroPotencial());
+        assertEquals(12, r.materiaisAtivos());
+        assertEquals(2, r.atividadesAtivas());
+        assertEquals(List.of(new AlteracaoPrecoResponse(7L, "Corte", new BigDecimal("80.00"),
+                new BigDecimal("95.00"), LocalDate.of(2025, 3, 1))), r.alteracoesRecentes());
+    }
+
+    @Test
+    void resumo_shouldServeFromCacheUntilInvalidated() {
+        DashboardResponse primeiro = service.resumo();
+        assertSame(primeiro, service.resumo());
+        verify(snapshotRepository, times(1)).resumirAtivosPorStatus();
+        verify(materialRepository, times(1)).countByAtivoTrue();
+
+        service.invalidar();
+        service.resumo();
+
+        verify(snapshotRepository, times(2)).resumirAtivosPorStatus();
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "dashboard").tag("result", "hit")
+                .functionCounter().count(), 1e-9);
+    }
+}
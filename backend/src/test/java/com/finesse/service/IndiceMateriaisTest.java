@@ -0,0 +1,113 @@
+package com.finesse.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.finesse.repository.ServicoRepository;
+import com.finesse.repository.projection.MaterialUsoView;
+
+class IndiceMateriaisTest {
+
+    private static final BigDecimal UM = new BigDecimal("1.0000");
+    private static final BigDecimal DOIS = new BigDecimal("2.0000");
+
+    @Mock
+    ServicoRepository servicoRepository;
+
+    @InjectMocks
+    IndiceMateriais indice;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        // mocks das projeções criados antes do when(...) externo: stubbing aninhado não é permitido
+        List<MaterialUsoView> usos = List.of(uso(1L, 10L, UM), uso(1L, 20L, DOIS), uso(2L, 10L, DOIS));
+        when(servicoRepository.findUsosDeMateriais()).thenReturn(usos);
+    }
+
+    private MaterialUsoView uso(Long servicoId, Long materialId, BigDecimal quantidade) {
+        MaterialUsoView v = mock(MaterialUsoView.class);
+        when(v.getServicoId()).thenReturn(servicoId);
+        when(v.getMaterialId()).thenReturn(materialId);
+        when(v.getQuantidadeUsada()).thenReturn(quantidade);
+        return v;
+    }
+
+    @Test
+    void recarregar_shouldIndexBothDirections() {
+        indice.recarregar();
+
+        assertEquals(Map.of(1L, UM, 2L, DOIS), indice.servicosDoMaterial(10L));
+        assertEquals(Map.of(1L, DOIS), indice.servicosDoMaterial(20L));
+        assertEquals(Map.of(10L, UM, 20L, DOIS), indice.materiaisDoServico(1L));
+        assertTrue(indice.servicosDoMaterial(99L).isEmpty());
+    }
+
+    @Test
+    void firstRead_shouldLoadLazilyOnce() {
+        indice.servicosDoMaterial(10L);
+        indice.materiaisDoServico(2L);
+
+        verify(servicoRepository, times(1)).findUsosDeMateriais();
+    }
+
+    @Test
+    void atualizarServico_shouldMoveReverseEntries() {
+        indice.recarregar();
+
+        // serviço 1 deixa o material 20, muda a quantidade do 10 e passa a usar o 30
+        List<MaterialUsoView> novos = List.of(uso(1L, 10L, DOIS), uso(1L, 30L, UM));
+        when(servicoRepository.findUsosDeMateriaisByServicoId(1L)).thenReturn(novos);
+        indice.atualizarServicoAposCommit(1L);
+
+        assertEquals(Map.of(1L, DOIS, 2L, DOIS), indice.servicosDoMaterial(10L));
+        assertTrue(indice.servicosDoMaterial(20L).isEmpty());
+        assertEquals(Map.of(1L, UM), indice.servicosDoMaterial(30L));
+        assertEquals(Map.of(10L, DOIS, 30L, UM), indice.materiaisDoServico(1L));
+    }
+
+    @Test
+    void removerServico_shouldDropItFromEveryMaterial() {
+        indice.recarregar();
+
+        indice.removerServicoAposCommit(1L);
+
+        assertEquals(Map.of(2L, DOIS), indice.servicosDoMaterial(10L));
+        assertTrue(indice.servicosDoMaterial(20L).isEmpty());
+        assertTrue(indice.materiaisDoServico(1L).isEmpty());
+    }
+
+    @Test
+    void atualizarAntesDeCarregar_shouldBeIgnoredAndComeFromDatabase() {
+        indice.atualizarServicoAposCommit(3L);
+
+        assertTrue(indice.servicosDoMaterial(40L).isEmpty());
+        verify(servicoRepository, times(1)).findUsosDeMateriais();
+        verify(servicoRepository, never()).findUsosDeMateriaisByServicoId(any());
+    }
+
+    @Test
+    void atualizarServico_shouldApplyStateReadAtCallbackTimeRegardlessOfOrder() {
+        indice.recarregar();
+        // dois callbacks do mesmo serviço fora da ordem dos commits: ambos releem o estado final
+        List<MaterialUsoView> finais = List.of(uso(2L, 30L, UM));
+        when(servicoRepository.findUsosDeMateriaisByServicoId(2L)).thenReturn(finais);
+
+        indice.atualizarServicoAposCommit(2L);
+        indice.atualizarServicoAposCommit(2L);
+
+        assertEquals(Map.of(30L, UM), indice.materiaisDoServico(2L));
+        assertEquals(Map.of(1L, UM), indice.servicosDoMaterial(10L));
+        assertEquals(Map.of(2L, UM), indice.servicosDoMaterial(30L));
+    }
+}
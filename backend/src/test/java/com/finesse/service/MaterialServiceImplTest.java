@@ -13,10 +13,20 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
-
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import com.finesse.dto.MaterialAtualizadoResponse;
+import com.finesse.dto.ServicoImpactadoResponse;
 import com.finesse.entity.Material;
 import com.finesse.entity.UnidadeMedida;
+import com.finesse.exception.ValidationException;
 import com.finesse.repository.MaterialRepository;
 
 class MaterialServiceImplTest {
@@ -24,6 +34,15 @@ class MaterialServiceImplTest {
     @Mock
     MaterialRepository repo;
 
+    @Mock
+    PrecificacaoService precificacaoService;
+
+    @Mock
+    PrecificacaoSnapshotAtualizador snapshot;
+
+    @Mock
+    DashboardService dashboard;
+
     @InjectMocks
     MaterialServiceImpl service;
 
@@ -44,16 +63,51 @@ class MaterialServiceImplTest {
     }
 
     @Test
-    void list_shouldFilterByProdutoAndSortAsc() {
-        when(repo.findAll()).thenReturn(List.of(
-            material(2L, "Sabonete", true),
-            material(1L, "Álcool", true),
-            material(3L, "Shampoo", false)
-        ));
-
-        Page<Material> page = service.list("a", null, 0, 10, "produto,asc");
-        assertEquals(2, page.getTotalElements());
-        assertEquals("Sabonete", page.getContent().get(0).getProduto());
+    void list_shouldFilterByProdutoNormalizadoAndSortAsc() {
+        when(repo.findByProdutoNormalizadoContaining(eq("alc"), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of(material(1L, "Álcool", true))));
+
+        Page<Material> page = service.list("  ÁLC ", null, 0, 10, "produto,asc");
+        assertEquals(1, page.getTotalElements());
+        assertEquals("alcool", page.getContent().get(0).getProdutoNormalizado());
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(repo).findByProdutoNormalizadoContaining(eq("alc"), pageable.capture());
+        assertNotNull(pageable.getValue().getSort().getOrderFor("produtoNormalizado"));
+        verify(repo, never()).findAll();
+    }
+
+    @Test
+    void listKeyset_shouldUseWindowQueryWithoutCount() {
+        KeysetScrollPosition posicao = ScrollPosition.forward(java.util.Map.of("produtoNormalizado", "alcool", "id", 1L));
+        when(repo.findByAtivo(eq(true), eq(posicao), any(Sort.class), any(Limit.class)))
+            .thenReturn(Window.from(List.of(material(2L, "Sabonete", true)), i -> posicao, false));
+
+        Window<Material> janela = service.listKeyset(null, true, posicao, 20, "produto,asc");
+
+        assertEquals(1, janela.size());
+        verify(repo).findByAtivo(eq(true), eq(posicao), eq(Sort.by("produtoNormalizado").ascending()), eq(Limit.of(20)));
+        verify(repo, never()).findByAtivo(any(), any(Pageable.class));
+        verify(repo, never()).count();
+    }
+
+    @Test
+    void listKeyset_shouldRejectCursorFromAnotherSort() {
+        KeysetScrollPosition posicao = ScrollPosition.forward(java.util.Map.of("produtoNormalizado", "alcool", "id", 1L));
+        assertThrows(ValidationException.class, () -> service.listKeyset(null, null, posicao, 20, "precoEmbalagem,asc"));
+        verifyNoInteractions(repo);
+    }
+
+    @Test
+    void findAllByIds_shouldIssueSingleQueryAndSkipNulls() {
+        when(repo.findAllById(any())).thenReturn(List.of(material(1L, "A", true), material(2L, "B", true)));
+
+        java.util.Map<Long, Material> porId = service.findAllByIds(java.util.Arrays.asList(1L, 2L, 2L, null, 9L));
+
+        assertEquals(2, porId.size());
+        assertFalse(porId.containsKey(9L));
+        verify(repo, times(1)).findAllById(any());
+        verify(repo, never()).findById(any());
     }
 
     @Test
@@ -90,21 +144,52 @@ class MaterialServiceImplTest {
         input.setVolumeEmbalagem(new BigDecimal("20"));
         input.setPrecoEmbalagem(new BigDecimal("100"));
 
-        Optional<Material> updatedOpt = service.update(5L, input);
+        Optional<MaterialAtualizadoResponse> updatedOpt = service.update(5L, input);
         assertTrue(updatedOpt.isPresent());
-        Material updated = updatedOpt.get();
+        Material updated = updatedOpt.get().material();
         assertEquals("Novo", updated.getProduto());
         assertEquals(new BigDecimal("20.00"), updated.getVolumeEmbalagem());
         assertEquals(new BigDecimal("100.00"), updated.getPrecoEmbalagem());
         assertFalse(updated.getAtivo());
     }
 
+    @Test
+    void update_shouldPropagateNewUnitCostAfterFlush() {
+        Material existing = material(5L, "X", true);
+        existing.setCustoUnitario(new BigDecimal("5.000000"));
+        when(repo.findById(5L)).thenReturn(Optional.of(existing));
+        // simula a coluna gerada relida pelo Hibernate no flush
+        when(repo.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        doAnswer(inv -> {
+            existing.setCustoUnitario(existing.getPrecoEmbalagem().divide(existing.getVolumeEmbalagem(), 6, java.math.RoundingMode.HALF_UP));
+            return null;
+        }).when(repo).flush();
+        List<ServicoImpactadoResponse> impactados = List.of(new ServicoImpactadoResponse(9L, "Srv", BigDecimal.ONE,
+                new BigDecimal("5.00"), new BigDecimal("6.00"), new BigDecimal("50.00"), new BigDecimal("51.50"),
+                BigDecimal.ZERO, null, null));
+        when(precificacaoService.propagarCustoMaterial(5L, new BigDecimal("5.000000"), new BigDecimal("6.000000")))
+                .thenReturn(impactados);
+
+        Material input = material(null, "X", true);
+        input.setPrecoEmbalagem(new BigDecimal("60.00"));
+
+        MaterialAtualizadoResponse r = service.update(5L, input).orElseThrow();
+
+        assertSame(impactados, r.servicosImpactados());
+        verify(snapshot).marcarServicos(List.of(9L));
+        var ordem = inOrder(repo, precificacaoService);
+        ordem.verify(repo).save(existing);
+        ordem.verify(repo).flush();
+        ordem.verify(precificacaoService).propagarCustoMaterial(5L, new BigDecimal("5.000000"), new BigDecimal("6.000000"));
+    }
+
     @Test
     void delete_shouldReturnTrueWhenExists() {
         when(repo.existsById(7L)).thenReturn(true);
         doNothing().when(repo).deleteById(7L);
         assertTrue(service.delete(7L));
         verify(repo).deleteById(7L);
+        verify(dashboard).invalidar();
     }
 
     @Test
@@ -116,5 +201,6 @@ class MaterialServiceImplTest {
         Optional<Material> saved = service.toggleStatus(3L, false);
         assertTrue(saved.isPresent());
         assertFalse(saved.get().getAtivo());
+        verify(dashboard).invalidar();
     }
 }
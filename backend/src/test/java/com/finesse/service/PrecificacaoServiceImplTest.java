@@ -0,0 +1,286 @@
+package com.finesse.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.finesse.dto.CenarioSimulacao;
+import com.finesse.dto.ConfiguracaoAtiva;
+import com.finesse.dto.PrecificacaoItemResponse;
+import com.finesse.dto.SensibilidadeResponse;
+import com.finesse.dto.ServicoImpactadoResponse;
+import com.finesse.dto.SimulacaoCenarioResponse;
+import com.finesse.dto.SimulacaoRequest;
+import com.finesse.dto.SimulacaoResponse;
+import com.finesse.dto.SimulacaoServicoImpacto;
+import com.finesse.entity.Atividade;
+import com.finesse.entity.Configuracoes;
+import com.finesse.entity.PrecificacaoSnapshot;
+import com.finesse.entity.StatusPrecificacao;
+import com.finesse.exception.ValidationException;
+import com.finesse.repository.AtividadeRepository;
+import com.finesse.repository.PrecificacaoSnapshotRepository;
+import com.finesse.repository.PrecoPraticadoRepository;
+import com.finesse.repository.ServicoRepository;
+import com.finesse.repository.projection.CustoInsumosView;
+import com.finesse.repository.projection.PrecoAtualView;
+import com.finesse.repository.projection.ServicoPrecificacaoView;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PrecificacaoServiceImplTest {
+
+    @Mock
+    ServicoRepository servicoRepository;
+
+    @Mock
+    PrecoPraticadoRepository precoRepository;
+
+    @Mock
+    AtividadeRepository atividadeRepository;
+
+    @Mock
+    ConfiguracaoAtivaHolder configuracaoAtiva;
+
+    @Mock
+    CatalogoPrecificacaoLoader catalogoLoader;
+
+    @Mock
+    SimuladorPrecificacao simulador;
+
+    @Mock
+    AnaliseSensibilidade analiseSensibilidade;
+
+    @Mock
+    IndiceMateriais indiceMateriais;
+
+    @Mock
+    PrecificacaoSnapshotRepository snapshotRepository;
+
+    @InjectMocks
+    PrecificacaoServiceImpl service;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        Configuracoes cfg = new Configuracoes();
+        cfg.setPretensaoSalarialMensal(new BigDecimal("12000.00"));
+        cfg.setHorasSemanais(new BigDecimal("50.00"));
+        cfg.setSemanasMediaMes(new BigDecimal("4.33"));
+        cfg.setCustoFixoPct(new BigDecimal("12.0000"));
+        cfg.setMargemLucroPadraoPct(new BigDecimal("20.0000"));
+        when(configuracaoAtiva.atual()).thenReturn(ConfiguracaoAtiva.de(cfg));
+
+        Atividade atv = new Atividade();
+        atv.setId(1L);
+        atv.setAliquotaTotalPct(new BigDecimal("16.7700"));
+        when(atividadeRepository.findAll()).thenReturn(List.of(atv));
+        when(atividadeRepository.findAllById(any())).thenReturn(List.of(atv));
+    }
+
+    private ServicoPrecificacaoView servico(Long id, String nome) {
+        ServicoPrecificacaoView v = mock(ServicoPrecificacaoView.class);
+        when(v.getId()).thenReturn(id);
+        when(v.getNome()).thenReturn(nome);
+        when(v.getGrupo()).thenReturn("G");
+        when(v.getDuracaoMinutos()).thenReturn(60);
+        when(v.isAtivo()).thenReturn(true);
+        when(v.getAtividadeId()).thenReturn(1L);
+        return v;
+    }
+
+    private CustoInsumosView insumos(Long servicoId, String valor) {
+        CustoInsumosView v = mock(CustoInsumosView.class);
+        when(v.getServicoId()).thenReturn(servicoId);
+        when(v.getCustoInsumos()).thenReturn(new BigDecimal(valor));
+        return v;
+    }
+
+    private PrecoAtualView preco(Long servicoId, String valor) {
+        PrecoAtualView v = mock(PrecoAtualView.class);
+        when(v.getServicoId()).thenReturn(servicoId);
+        when(v.getPreco()).thenReturn(new BigDecimal(valor));
+        return v;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void listar_shouldReadSnapshotAndMapRows() {
+        PrecificacaoSnapshot l = new PrecificacaoSnapshot();
+        l.setServicoId(1L);
+        l.setNome("Saudavel");
+        l.setGrupo("G");
+        l.setAtivo(true);
+        l.setVendaSugerida(new BigDecimal("127.71"));
+        l.setMargemPct(new BigDecimal("33.53"));
+        l.setStatus(StatusPrecificacao.SAUDAVEL);
+        when(snapshotRepository.findAll(any(Specification.class), any(Sort.class))).thenReturn(List.of(l));
+
+        List<PrecificacaoItemResponse> rows = service.listar(true, StatusPrecificacao.SAUDAVEL,
+                new BigDecimal("10"), null, "margemPct,desc");
+
+        assertEquals(1, rows.size());
+        assertEquals(1L, rows.get(0).servicoId());
+        assertEquals(new BigDecimal("127.71"), rows.get(0).vendaSugerida());
+        assertEquals(StatusPrecificacao.SAUDAVEL, rows.get(0).status());
+        ArgumentCaptor<Sort> ordem = ArgumentCaptor.forClass(Sort.class);
+        verify(snapshotRepository).findAll(any(Specification.class), ordem.capture());
+        assertEquals(Sort.by(Sort.Order.desc("margemPct"), Sort.Order.asc("servicoId")), ordem.getValue());
+        verify(servicoRepository, never()).findAllParaPrecificacao();
+        verify(servicoRepository, never()).somarCustoInsumosPorServico();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void listar_shouldRejectUnknownSortField() {
+        assertThrows(ValidationException.class, () -> service.listar(null, null, null, null, "duracaoMinutos"));
+        verify(snapshotRepository, never()).findAll(any(Specification.class), any(Sort.class));
+    }
+
+    @Test
+    void propagarCustoMaterial_shouldRepriceOnlyServicesUsingTheMaterial() {
+        when(indiceMateriais.servicosDoMaterial(9L)).thenReturn(Map.of(1L, new BigDecimal("5.0000")));
+        List<ServicoPrecificacaoView> servicos = List.of(servico(1L, "Saudavel"));
+        // soma já com o custo novo (3,00): 10,00 + 5 x (3,00 - 2,00)
+        List<CustoInsumosView> custos = List.of(insumos(1L, "15.00"));
+        List<PrecoAtualView> precos = List.of(preco(1L, "150.00"));
+        when(servicoRepository.findParaPrecificacaoByIdIn(Set.of(1L))).thenReturn(servicos);
+        when(servicoRepository.somarCustoInsumosByServicoIdIn(Set.of(1L))).thenReturn(custos);
+        when(precoRepository.findPrecosAtuaisByServicoIdIn(Set.of(1L))).thenReturn(precos);
+
+        List<ServicoImpactadoResponse> out = service.propagarCustoMaterial(9L,
+                new BigDecimal("2.000000"), new BigDecimal("3.000000"));
+
+        assertEquals(1, out.size());
+        ServicoImpactadoResponse r = out.get(0);
+        assertEquals(1L, r.servicoId());
+        assertEquals(new BigDecimal("10.00"), r.custoInsumosAnterior());
+        assertEquals(new BigDecimal("15.00"), r.custoInsumos());
+        // anterior igual ao primeiro caso de PrecificacaoSnapshotAtualizadorTest
+        assertEquals(new BigDecimal("127.71"), r.vendaSugeridaAnterior());
+        assertEquals(new BigDecimal("137.47"), r.vendaSugerida());
+        assertEquals(new BigDecimal("150.00"), r.vendaAtual());
+        assertEquals(StatusPrecificacao.SAUDAVEL, r.statusAnterior());
+        verify(servicoRepository, never()).findAllParaPrecificacao();
+        verify(servicoRepository, never()).somarCustoInsumosPorServico();
+        verify(precoRepository, never()).findPrecosAtuais();
+    }
+
+    @Test
+    void propagarCustoMaterial_shouldSkipWhenCostUnchangedOrUnused() {
+        when(indiceMateriais.servicosDoMaterial(9L)).thenReturn(Map.of(1L, BigDecimal.ONE));
+        when(indiceMateriais.servicosDoMaterial(8L)).thenReturn(Map.of());
+
+        assertTrue(service.propagarCustoMaterial(9L, new BigDecimal("2.000000"), new BigDecimal("2.0")).isEmpty());
+        assertTrue(service.propagarCustoMaterial(8L, new BigDecimal("2.000000"), new BigDecimal("3.000000")).isEmpty());
+        verifyNoInteractions(servicoRepository, precoRepository);
+    }
+
+    /** Mesmo serviço do primeiro caso de PrecificacaoSnapshotAtualizadorTest (60 min, insumos 10,00, venda 150,00), nas escalas do kernel. */
+    private CatalogoPrecificacao catalogoUmServico() {
+        return new CatalogoPrecificacao(new long[] {1L}, new String[] {"Saudavel"}, new int[] {60},
+                new long[] {100_000_000_000L}, new long[] {15_000L}, new long[] {0L}, new boolean[] {false},
+                new int[] {0}, new long[] {1L}, new long[] {16_770_000L},
+                1_200_000L, 5_000L, 43_300L, 12_000_000L, 20_000_000L);
+    }
+
+    private static CenarioSimulacao cenario(String nome, String pretensao, Map<Long, BigDecimal> aliquotas) {
+        return new CenarioSimulacao(nome, pretensao == null ? null : new BigDecimal(pretensao),
+                null, null, null, null, aliquotas);
+    }
+
+    @Test
+    void simular_shouldCompareScenariosWithActiveConfiguration() {
+        SimuladorPrecificacao real = new SimuladorPrecificacao(2, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "simulador", real);
+        when(catalogoLoader.carregar(null)).thenReturn(catalogoUmServico());
+        try {
+            SimulacaoResponse resp = service.simular(new SimulacaoRequest(List.of(
+                    cenario("Atual", null, null),
+                    cenario("Pretensão maior", "15000.00", Map.of(1L, new BigDecimal("20.0000")))), null, null));
+
+            assertEquals(1, resp.servicos());
+            SimulacaoCenarioResponse atual = resp.cenarios().get(0);
+            assertEquals(1, atual.saudaveis());
+            assertEquals(0, atual.mudaramDeStatus());
+            assertEquals(new BigDecimal("0.00"), atual.variacaoLucroTotal());
+            assertEquals(new BigDecimal("127.71"), atual.vendaSugeridaMedia());
+            SimulacaoServicoImpacto semMudanca = atual.maisAfetados().get(0);
+            assertEquals(new BigDecimal("127.71"), semMudanca.vendaSugeridaAtual());
+            assertEquals(new BigDecimal("0.00"), semMudanca.variacao());
+
+            SimulacaoCenarioResponse maior = resp.cenarios().get(1);
+            SimulacaoServicoImpacto impacto = maior.maisAfetados().get(0);
+            assertEquals(1L, impacto.servicoId());
+            assertTrue(impacto.variacao().signum() != 0);
+            assertEquals(impacto.vendaSugeridaCenario().subtract(impacto.vendaSugeridaAtual()), impacto.variacao());
+            assertTrue(maior.variacaoLucroTotal().signum() < 0);
+        } finally {
+            real.encerrar();
+        }
+    }
+
+    @Test
+    void simular_shouldRejectEmptyScenarioList() {
+        assertThrows(ValidationException.class, () -> service.simular(new SimulacaoRequest(List.of(), null, null)));
+        verify(catalogoLoader, never()).carregar(any());
+    }
+
+    @Test
+    void simular_shouldRejectUnknownActivityAndExtraDecimals() {
+        when(catalogoLoader.carregar(null)).thenReturn(catalogoUmServico());
+
+        assertThrows(ValidationException.class, () -> service.simular(new SimulacaoRequest(
+                List.of(cenario("x", null, Map.of(99L, BigDecimal.TEN))), null, null)));
+        assertThrows(ValidationException.class, () -> service.simular(new SimulacaoRequest(
+                List.of(cenario("x", "12000.001", null)), null, null)));
+        verifyNoInteractions(simulador);
+    }
+
+    @Test
+    void analisarSensibilidade_shouldRejectInvalidParametersBeforeLoading() {
+        assertThrows(ValidationException.class, () -> service.analisarSensibilidade(0, null, null, null));
+        assertThrows(ValidationException.class,
+                () -> service.analisarSensibilidade(100, new BigDecimal("101"), null, null));
+        assertThrows(ValidationException.class,
+                () -> service.analisarSensibilidade(100, new BigDecimal("10.00001"), null, null));
+        verifyNoInteractions(catalogoLoader, analiseSensibilidade);
+    }
+
+    @Test
+    void analisarSensibilidade_shouldOnlyAnalyzePricedServicesAndSortByRisk() {
+        CatalogoPrecificacao cat = new CatalogoPrecificacao(new long[] {1L, 2L, 3L}, new String[] {"A", "B", "Sem preço"},
+                new int[] {60, 60, 60}, new long[3], new long[] {15_000L, 6_000L, 0L}, new long[3], new boolean[3],
+                new int[] {0, 0, 0}, new long[] {1L}, new long[] {16_770_000L},
+                1_200_000L, 5_000L, 43_300L, 12_000_000L, 20_000_000L);
+        CatalogoMateriais materiais = new CatalogoMateriais(cat, new int[4], new long[0], new long[0]);
+        when(catalogoLoader.carregarComMateriais(true)).thenReturn(materiais);
+        when(analiseSensibilidade.analisar(eq(materiais), eq(new int[] {0, 1}), anyLong(), eq(12_000_000L),
+                eq(20_000_000L), eq(100), eq(150_000L), eq(0L)))
+                .thenReturn(new AnaliseSensibilidade.Resultado(new int[] {0, 1}, new int[] {0, 100},
+                        new long[] {2_761_333_333L, -6_000_000_000L}, new long[2], new long[2], new long[2], true));
+
+        SensibilidadeResponse resp = service.analisarSensibilidade(100, null, null, true);
+
+        assertEquals(new BigDecimal("15"), resp.variacaoPct());
+        assertEquals(2, resp.servicos().size());
+        assertEquals(2L, resp.servicos().get(0).servicoId());
+        assertEquals(new BigDecimal("100.00"), resp.servicos().get(0).probabilidadePrejuizoPct());
+        assertEquals(new BigDecimal("27.61"), resp.servicos().get(1).margemAtualPct());
+    }
+}
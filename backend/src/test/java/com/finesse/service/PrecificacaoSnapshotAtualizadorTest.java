@@ -0,0 +1,198 @@
+package com.finesse.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.finesse.dto.PrecificacaoItemResponse;
+import com.finesse.entity.Atividade;
+import com.finesse.entity.Configuracoes;
+import com.finesse.entity.StatusPrecificacao;
+import com.finesse.repository.AtividadeRepository;
+import com.finesse.repository.ConfiguracoesRepository;
+import com.finesse.repository.PrecificacaoSnapshotRepository;
+import com.finesse.repository.PrecoPraticadoRepository;
+import com.finesse.repository.ServicoRepository;
+import com.finesse.repository.projection.CustoInsumosView;
+import com.finesse.repository.projection.PrecoAtualView;
+import com.finesse.repository.projection.ServicoPrecificacaoView;
+
+class PrecificacaoSnapshotAtualizadorTest {
+
+    @Mock
+    ServicoRepository servicoRepository;
+
+    @Mock
+    PrecoPraticadoRepository precoRepository;
+
+    @Mock
+    AtividadeRepository atividadeRepository;
+
+    @Mock
+    ConfiguracoesRepository configuracoesRepository;
+
+    @Mock
+    PrecificacaoSnapshotRepository snapshotRepository;
+
+    @Mock
+    DashboardService dashboard;
+
+    @InjectMocks
+    PrecificacaoSnapshotAtualizador atualizador;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        Configuracoes cfg = new Configuracoes();
+        cfg.setPretensaoSalarialMensal(new BigDecimal("12000.00"));
+        cfg.setHorasSemanais(new BigDecimal("50.00"));
+        cfg.setSemanasMediaMes(new BigDecimal("4.33"));
+        cfg.setCustoFixoPct(new BigDecimal("12.0000"));
+        cfg.setMargemLucroPadraoPct(new BigDecimal("20.0000"));
+        when(configuracoesRepository.findFirstByAtivoTrueOrderByAtualizadoEmDesc()).thenReturn(Optional.of(cfg));
+
+        Atividade atv = new Atividade();
+        atv.setId(1L);
+        atv.setAliquotaTotalPct(new BigDecimal("16.7700"));
+        when(atividadeRepository.findAll()).thenReturn(List.of(atv));
+        when(atividadeRepository.findAllById(any())).thenReturn(List.of(atv));
+    }
+
+    private ServicoPrecificacaoView servico(Long id, String nome) {
+        ServicoPrecificacaoView v = mock(ServicoPrecificacaoView.class);
+        when(v.getId()).thenReturn(id);
+        when(v.getNome()).thenReturn(nome);
+        when(v.getGrupo()).thenReturn("G");
+        when(v.getDuracaoMinutos()).thenReturn(60);
+        when(v.isAtivo()).thenReturn(true);
+        when(v.getAtividadeId()).thenReturn(1L);
+        return v;
+    }
+
+    private CustoInsumosView insumos(Long servicoId, String valor) {
+        CustoInsumosView v = mock(CustoInsumosView.class);
+        when(v.getServicoId()).thenReturn(servicoId);
+        when(v.getCustoInsumos()).thenReturn(new BigDecimal(valor));
+        return v;
+    }
+
+    private PrecoAtualView preco(Long servicoId, String valor) {
+        PrecoAtualView v = mock(PrecoAtualView.class);
+        when(v.getServicoId()).thenReturn(servicoId);
+        when(v.getPreco()).thenReturn(new BigDecimal(valor));
+        return v;
+    }
+
+    @Test
+    void calcular_shouldClassifyEveryServiceInOnePass() {
+        List<ServicoPrecificacaoView> servicos = List.of(
+                servico(1L, "Saudavel"), servico(2L, "Prejuizo"), servico(3L, "Abaixo"));
+        List<CustoInsumosView> custos = List.of(
+                insumos(1L, "10.00"), insumos(2L, "10.00"), insumos(3L, "10.00"));
+        List<PrecoAtualView> precos = List.of(
+                preco(1L, "150.00"), preco(2L, "60.00"), preco(3L, "110.00"));
+        when(servicoRepository.findAllParaPrecificacao()).thenReturn(servicos);
+        when(servicoRepository.somarCustoInsumosPorServico()).thenReturn(custos);
+        when(precoRepository.findPrecosAtuais()).thenReturn(precos);
+
+        List<PrecificacaoItemResponse> rows = atualizador.calcular(null);
+
+        assertEquals(3, rows.size());
+        assertEquals(new BigDecimal("55.43"), rows.get(0).custoMaoObra());
+        assertEquals(new BigDecimal("65.43"), rows.get(0).custoDireto());
+        assertEquals(new BigDecimal("127.71"), rows.get(0).vendaSugerida());
+        assertEquals(StatusPrecificacao.SAUDAVEL, rows.get(0).status());
+        assertEquals(StatusPrecificacao.PREJUIZO, rows.get(1).status());
+        assertEquals(StatusPrecificacao.ABAIXO, rows.get(2).status());
+
+        verify(servicoRepository, times(1)).somarCustoInsumosPorServico();
+        verify(precoRepository, times(1)).findPrecosAtuais();
+        verify(servicoRepository, never()).findById(any());
+    }
+
+    @Test
+    void calcular_shouldTreatMissingPriceAndMaterialsAsZero() {
+        List<ServicoPrecificacaoView> servicos = List.of(servico(4L, "Novo"));
+        when(servicoRepository.findAllParaPrecificacao()).thenReturn(servicos);
+        when(servicoRepository.somarCustoInsumosPorServico()).thenReturn(List.of());
+        when(precoRepository.findPrecosAtuais()).thenReturn(List.of());
+
+        PrecificacaoItemResponse row = atualizador.calcular(null).get(0);
+
+        assertEquals(new BigDecimal("0.00"), row.custoInsumos());
+        assertEquals(new BigDecimal("0.00"), row.vendaAtual());
+        assertEquals(StatusPrecificacao.PREJUIZO, row.status());
+    }
+
+    @Test
+    void marcarServicos_withoutTransaction_shouldRecalculateOnlyThoseAndWrite() {
+        Set<Long> ids = Set.of(1L);
+        stubServico1(ids);
+
+        atualizador.marcarServicos(ids);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PrecificacaoItemResponse>> captor = ArgumentCaptor.forClass(List.class);
+        verify(snapshotRepository).gravar(captor.capture());
+        verify(dashboard).invalidar();
+        assertEquals(1, captor.getValue().size());
+        assertEquals(new BigDecimal("127.71"), captor.getValue().get(0).vendaSugerida());
+        verify(servicoRepository, never()).findAllParaPrecificacao();
+        verify(atividadeRepository, never()).findAll();
+    }
+
+    private void stubServico1(Set<Long> ids) {
+        List<ServicoPrecificacaoView> servicos = List.of(servico(1L, "Saudavel"));
+        List<CustoInsumosView> custos = List.of(insumos(1L, "10.00"));
+        List<PrecoAtualView> precos = List.of(preco(1L, "150.00"));
+        when(servicoRepository.findParaPrecificacaoByIdIn(ids)).thenReturn(servicos);
+        when(servicoRepository.somarCustoInsumosByServicoIdIn(ids)).thenReturn(custos);
+        when(precoRepository.findPrecosAtuaisByServicoIdIn(ids)).thenReturn(precos);
+    }
+
+    @Test
+    void marcarServicos_inTransaction_shouldLockBeforeReadingAtCommit() {
+        Set<Long> ids = Set.of(1L);
+        stubServico1(ids);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            atualizador.marcarServicos(ids);
+            verify(snapshotRepository, never()).gravar(any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.beforeCommit(false));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        InOrder ordem = inOrder(servicoRepository, snapshotRepository);
+        ordem.verify(servicoRepository).flush();
+        ordem.verify(servicoRepository).travarParaPrecificacao(ids);
+        ordem.verify(servicoRepository).findParaPrecificacaoByIdIn(ids);
+        ordem.verify(snapshotRepository).gravar(any());
+        verify(servicoRepository, never()).travarTodosParaPrecificacao();
+    }
+
+    @Test
+    void marcarServicos_empty_shouldNotTouchDatabase() {
+        atualizador.marcarServicos(List.of());
+
+        verifyNoInteractions(servicoRepository, snapshotRepository, dashboard);
+    }
+}
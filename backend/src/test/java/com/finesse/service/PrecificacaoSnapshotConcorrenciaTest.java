@@ -0,0 +1,149 @@
+package com.finesse.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import com.finesse.entity.Atividade;
+import com.finesse.entity.Material;
+import com.finesse.entity.Servico;
+import com.finesse.entity.ServicoMaterial;
+import com.finesse.entity.UnidadeMedida;
+import com.finesse.repository.AtividadeRepository;
+import com.finesse.repository.MaterialRepository;
+
+/**
+ * Duas transações marcam o mesmo serviço: a primeira muda o custo de um insumo e segura o commit
+ * depois de recalcular; a segunda muda o preço. A linha final do snapshot precisa refletir as duas.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class PrecificacaoSnapshotConcorrenciaTest {
+
+    @Container
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    ServicoService servicoService;
+
+    @Autowired
+    PrecificacaoSnapshotAtualizador snapshot;
+
+    @Autowired
+    AtividadeRepository atividadeRepository;
+
+    @Autowired
+    MaterialRepository materialRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Test
+    void concurrentTransactions_onSameService_shouldNotLoseUpdate() throws Exception {
+        Atividade atv = new Atividade();
+        atv.setNome("Atividade concorrência");
+        atv.setCnae("9602-5/02");
+        atv.setAliquotaTotalPct(new BigDecimal("6.0000"));
+        atv.setIssPct(new BigDecimal("2.0000"));
+        atv = atividadeRepository.save(atv);
+        Material material = materialRepository.save(
+                new Material("Insumo concorrência", UnidadeMedida.UN, new BigDecimal("10.00"), new BigDecimal("5.00")));
+
+        Servico input = new Servico();
+        input.setNome("Serviço concorrência");
+        input.setGrupo("Concorrência");
+        input.setDuracaoMinutos(60);
+        Atividade ref = new Atividade();
+        ref.setId(atv.getId());
+        input.setAtividade(ref);
+        Material mRef = new Material();
+        mRef.setId(material.getId());
+        input.setMateriais(new ArrayList<>(List.of(new ServicoMaterial(input, mRef, new BigDecimal("1.5")))));
+        Long servicoId = servicoService.create(input).getId();
+        Long materialId = material.getId();
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        CountDownLatch recalculou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            // custo unitário 0,50 -> 5,00
+            Future<?> custo = pool.submit(() -> tx.executeWithoutResult(st -> {
+                jdbc.update("UPDATE materiais SET preco_embalagem = 50.00 WHERE id = ?", materialId);
+                snapshot.marcarServico(servicoId);
+                // registrada depois da marcação: roda após o recálculo e segura o commit
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void beforeCommit(boolean readOnly) {
+                        recalculou.countDown();
+                        try {
+                            liberar.await(30, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                });
+            }));
+            assertTrue(recalculou.await(30, TimeUnit.SECONDS));
+
+            Future<?> preco = pool.submit(() -> tx.executeWithoutResult(st ->
+                    servicoService.definirPreco(servicoId, new BigDecimal("200.00"))));
+            // com a trava a segunda transação fica esperando o commit da primeira
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!preco.isDone() && !aguardandoLock() && System.nanoTime() < limite) {
+                Thread.sleep(20);
+            }
+            liberar.countDown();
+            custo.get(30, TimeUnit.SECONDS);
+            preco.get(30, TimeUnit.SECONDS);
+        } finally {
+            liberar.countDown();
+            pool.shutdownNow();
+        }
+
+        Map<String, Object> linha = jdbc.queryForMap(
+                "SELECT custo_insumos, venda_atual FROM precificacao_snapshot WHERE servico_id = ?", servicoId);
+        assertEquals(new BigDecimal("7.50"), linha.get("custo_insumos"));
+        assertEquals(new BigDecimal("200.00"), linha.get("venda_atual"));
+    }
+
+    private boolean aguardandoLock() {
+        Integer n = jdbc.queryForObject("""
+                SELECT count(*) FROM pg_stat_activity
+                WHERE datname = current_database() AND wait_event_type = 'Lock'
+                """, Integer.class);
+        return n != null && n > 0;
+    }
+}
@@ -0,0 +1,201 @@
+package com.finesse.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.finesse.entity.Atividade;
+import com.finesse.entity.Configuracoes;
+import com.finesse.entity.Material;
+import com.finesse.entity.Servico;
+import com.finesse.entity.ServicoMaterial;
+import com.finesse.entity.StatusPrecificacao;
+import com.finesse.entity.UnidadeMedida;
+
+/**
+ * Equivalência do PricingKernel com o modelo BigDecimal (entidades + PrecificacaoCalculadora):
+ * entradas aleatórias nas escalas das colunas, com uma parte das vendas forçada para perto da
+ * sugerida para exercitar os empates de arredondamento e as tolerâncias do status.
+ */
+class PricingKernelTest {
+
+    private static final int CASOS = 20_000;
+
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 42L, 2025L, 987_654_321L})
+    void calcular_deveSerIdenticoAoModeloBigDecimal(long semente) {
+        Random rnd = new Random(semente);
+        PricingKernel.Resultado out = new PricingKernel.Resultado();
+
+        for (int i = 0; i < CASOS; i++) {
+            Configuracoes cfg = new Configuracoes();
+            cfg.setPretensaoSalarialMensal(decimal(rnd, 5_000_000, 2));
+            cfg.setHorasSemanais(decimal(rnd, 8_000, 2));
+            cfg.setSemanasMediaMes(decimal(rnd, 60_000, 4));
+            cfg.setCustoFixoPct(decimal(rnd, 400_000, 4));
+            cfg.setMargemLucroPadraoPct(decimal(rnd, 600_000, 4));
+
+            Atividade atv = new Atividade();
+            // parte das alíquotas leva imposto + fixo + margem acima de 100% (fator alternativo)
+            atv.setAliquotaTotalPct(decimal(rnd, rnd.nextBoolean() ? 400_000 : 1_100_000, 4));
+
+            Servico servico = new Servico();
+            servico.setDuracaoMinutos(rnd.nextInt(300));
+            if (rnd.nextBoolean()) {
+                servico.setMargemLucroCustomPct(decimal(rnd, 600_000, 4));
+            }
+
+            BigDecimal insumos = BigDecimal.ZERO;
+            long insumosK = 0;
+            int materiais = rnd.nextInt(6);
+            for (int m = 0; m < materiais; m++) {
+                Material material = new Material("Insumo " + m, UnidadeMedida.ML, BigDecimal.ONE, BigDecimal.ONE);
+                material.setCustoUnitario(decimal(rnd, 100_000_000, 6));
+                ServicoMaterial sm = new ServicoMaterial(servico, material, decimal(rnd, 100_000, 4));
+                insumos = insumos.add(sm.getCustoPorAtendimento());
+                long parcela = PricingKernel.custoPorAtendimento(
+                        PricingKernel.unidades(sm.getQuantidadeUsada(), 4),
+                        PricingKernel.unidades(material.getCustoUnitario(), 6));
+                assertEquals(0, sm.getCustoPorAtendimento().compareTo(PricingKernel.decimal(parcela, 10)));
+                insumosK += parcela;
+            }
+
+            // derivados da configuração e dos cadastros
+            long valorMinuto = PricingKernel.valorMinuto(
+                    PricingKernel.unidades(cfg.getPretensaoSalarialMensal(), 2),
+                    PricingKernel.unidades(cfg.getHorasSemanais(), 2),
+                    PricingKernel.unidades(cfg.getSemanasMediaMes(), 4));
+            assertEquals(0, cfg.getValorMinuto().compareTo(PricingKernel.decimal(valorMinuto, 8)), "valor minuto");
+            long imposto = PricingKernel.pctParaFrac(PricingKernel.unidades(atv.getAliquotaTotalPct(), 4));
+            assertEquals(0, atv.getAliquotaTotalFrac().compareTo(PricingKernel.decimal(imposto, 8)));
+            long fixo = PricingKernel.pctParaFrac(PricingKernel.unidades(cfg.getCustoFixoPct(), 4));
+            assertEquals(0, cfg.getCustoFixoFrac().compareTo(PricingKernel.decimal(fixo, 8)));
+            BigDecimal margemFrac = servico.getMargemCustomFrac() != null
+                    ? servico.getMargemCustomFrac()
+                    : cfg.getMargemPadraoFrac();
+            long margem = PricingKernel.pctParaFrac(PricingKernel.unidades(
+                    servico.getMargemLucroCustomPct() != null
+                            ? servico.getMargemLucroCustomPct()
+                            : cfg.getMargemLucroPadraoPct(), 4));
+            assertEquals(0, margemFrac.compareTo(PricingKernel.decimal(margem, 8)));
+
+            BigDecimal venda = rnd.nextInt(5) == 0 ? BigDecimal.ZERO : decimal(rnd, 100_000, 2);
+            PrecificacaoCalculadora.Resultado esperado = PrecificacaoCalculadora.calcular(
+                    cfg.getValorMinuto(), servico.getDuracaoMinutos(), insumos,
+                    atv.getAliquotaTotalFrac(), cfg.getCustoFixoFrac(), margemFrac, venda);
+            if (rnd.nextInt(3) == 0) {
+                // venda a até 2 centavos da sugerida
+                venda = PrecificacaoCalculadora.money(esperado.vendaSugerida())
+                        .add(BigDecimal.valueOf(rnd.nextInt(5) - 2, 2))
+                        .max(BigDecimal.ZERO);
+                esperado = PrecificacaoCalculadora.calcular(
+                        cfg.getValorMinuto(), servico.getDuracaoMinutos(), insumos,
+                        atv.getAliquotaTotalFrac(), cfg.getCustoFixoFrac(), margemFrac, venda);
+            }
+
+            PricingKernel.calcular(valorMinuto, servico.getDuracaoMinutos(), insumosK,
+                    imposto, fixo, margem, PricingKernel.unidades(venda, 2), out);
+
+            String caso = "semente " + semente + ", caso " + i;
+            assertEquals(0, esperado.custoMaoObra().compareTo(PricingKernel.decimal(out.custoMaoObra, 8)), caso);
+            assertEquals(0, esperado.custoDireto().compareTo(PricingKernel.decimal(out.custoDireto, 10)), caso);
+            assertEquals(0, esperado.fatorPreco().compareTo(PricingKernel.decimal(out.fatorPreco, 8)), caso);
+            assertEquals(0, esperado.lucro().compareTo(PricingKernel.decimal(out.lucro, 10)), caso);
+            assertEquals(0, esperado.margemPct().compareTo(PricingKernel.decimal(out.margemPct, 8)), caso);
+            assertEquals(PrecificacaoCalculadora.money(esperado.vendaSugerida()),
+                    PricingKernel.decimal(out.vendaSugeridaCentavos, 2), caso);
+            assertEquals(PrecificacaoCalculadora.money(esperado.custoMaoObra()),
+                    PricingKernel.decimal(out.custoMaoObraCentavos(), 2), caso);
+            assertEquals(PrecificacaoCalculadora.money(esperado.custoDireto()),
+                    PricingKernel.decimal(out.custoDiretoCentavos(), 2), caso);
+            assertEquals(PrecificacaoCalculadora.money(esperado.lucro()),
+                    PricingKernel.decimal(out.lucroCentavos(), 2), caso);
+            assertEquals(PrecificacaoCalculadora.money(esperado.margemPct()),
+                    PricingKernel.decimal(out.margemPctCentesimos(), 2), caso);
+            assertEquals(PrecificacaoCalculadora.frac(esperado.fatorPreco()),
+                    PricingKernel.decimal(out.fatorPrecoDezMilesimos(), 4), caso);
+            assertEquals(esperado.status(), out.status, caso);
+        }
+    }
+
+    @Test
+    void calcular_exemploDoServicoDePrecificacao() {
+        // mesmos números de PrecificacaoServiceImplTest: 55,43 / 65,43 / 127,71
+        long valorMinuto = PricingKernel.valorMinuto(1_200_000, 5_000, 43_300);
+        PricingKernel.Resultado out = PricingKernel.calcular(valorMinuto, 60, 100_000_000_000L,
+                16_770_000, 12_000_000, 20_000_000, 15_000, new PricingKernel.Resultado());
+
+        assertEquals(5_543, out.custoMaoObraCentavos());
+        assertEquals(6_543, out.custoDiretoCentavos());
+        assertEquals(12_771, out.vendaSugeridaCentavos);
+        assertEquals(StatusPrecificacao.SAUDAVEL, out.status);
+    }
+
+    @Test
+    void multiplicarDividir_produtoAcimaDe64Bits_deveSerExato() {
+        long a = Long.MAX_VALUE / 3;
+        long b = 1_000_000_007L;
+        long d = 999_999_937L;
+        for (RoundingMode modo : new RoundingMode[] {RoundingMode.FLOOR, RoundingMode.CEILING, RoundingMode.HALF_UP}) {
+            long esperado = BigDecimal.valueOf(a).multiply(BigDecimal.valueOf(b))
+                    .divide(BigDecimal.valueOf(d), 0, modo).longValueExact();
+            assertEquals(esperado, PricingKernel.multiplicarDividir(a, b, d, modo), modo.name());
+
+            long esperadoNegativo = BigDecimal.valueOf(-a).multiply(BigDecimal.valueOf(b))
+                    .divide(BigDecimal.valueOf(d), 0, modo).longValueExact();
+            assertEquals(esperadoNegativo, PricingKernel.multiplicarDividir(-a, b, d, modo), modo.name());
+        }
+    }
+
+    @Test
+    void pisoCustoVezesFator_deveSerExatoComOuSemEstouro() {
+        BigDecimal d = BigDecimal.valueOf(10_000_000_000_000_000L);
+        Random rnd = new Random(11L);
+        for (int i = 0; i < 100_000; i++) {
+            long custo = switch (i % 3) {
+                case 0 -> rnd.nextLong() % 10_000_000_000_000L;   // até ± R$ 1.000
+                case 1 -> rnd.nextLong() % 1_000;
+                default -> rnd.nextLong() >> 8;                    // força o caminho BigInteger
+            };
+            long fator = i % 2 == 0 ? 100_000_000L + rnd.nextInt(900_000_000) : rnd.nextInt(3);
+            BigDecimal produto = BigDecimal.valueOf(custo).multiply(BigDecimal.valueOf(fator));
+            BigDecimal piso = produto.divide(d, 0, RoundingMode.FLOOR);
+            if (piso.abs().compareTo(BigDecimal.valueOf(Long.MAX_VALUE / 2)) > 0) continue;
+
+            long q = PricingKernel.pisoCustoVezesFator(custo, fator);
+            long resto = custo * fator - q * 10_000_000_000_000_000L;
+            String caso = custo + " x " + fator;
+            assertEquals(piso.longValueExact(), q, caso);
+            assertEquals(produto.divide(d, 0, RoundingMode.HALF_UP).longValueExact(),
+                    PricingKernel.arredondarMeio(q, resto, 10_000_000_000_000_000L), caso);
+        }
+    }
+
+    @Test
+    void dividir_halfUpAfastaDoZeroNosEmpates() {
+        assertEquals(3, PricingKernel.dividir(5, 2, RoundingMode.HALF_UP));
+        assertEquals(-3, PricingKernel.dividir(-5, 2, RoundingMode.HALF_UP));
+        assertEquals(-2, PricingKernel.dividir(-3, 2, RoundingMode.HALF_UP));
+        // fora do empate HALF_UP continua indo para o mais próximo: -1,33 -> -1
+        assertEquals(-1, PricingKernel.dividir(-4, 3, RoundingMode.HALF_UP));
+        assertEquals(-3, PricingKernel.dividir(-5, 2, RoundingMode.FLOOR));
+        assertEquals(-2, PricingKernel.dividir(-5, 2, RoundingMode.CEILING));
+    }
+
+    @Test
+    void unidades_deveRejeitarValorComMaisCasasQueAEscala() {
+        assertEquals(1_234, PricingKernel.unidades(new BigDecimal("12.34"), 2));
+        assertEquals(0, PricingKernel.unidades(null, 2));
+        assertThrows(ArithmeticException.class, () -> PricingKernel.unidades(new BigDecimal("12.345"), 2));
+    }
+
+    private static BigDecimal decimal(Random rnd, int limite, int escala) {
+        return BigDecimal.valueOf(rnd.nextInt(limite), escala);
+    }
+}
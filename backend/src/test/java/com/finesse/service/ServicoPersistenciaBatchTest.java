@@ -0,0 +1,104 @@
+package com.finesse.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import com.finesse.entity.Atividade;
+import com.finesse.entity.Material;
+import com.finesse.entity.Servico;
+import com.finesse.entity.ServicoMaterial;
+import com.finesse.entity.UnidadeMedida;
+import com.finesse.repository.AtividadeRepository;
+import com.finesse.repository.MaterialRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Conta os statements JDBC ao criar um serviço com 50 materiais:
+ * com IDs por sequence (pooled-lo) e batch do Hibernate o custo não cresce com o número de linhas.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Testcontainers(disabledWithoutDocker = true)
+class ServicoPersistenciaBatchTest {
+
+    private static final int MATERIAIS = 50;
+
+    @Container
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    ServicoService servicoService;
+
+    @Autowired
+    AtividadeRepository atividadeRepository;
+
+    @Autowired
+    MaterialRepository materialRepository;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Test
+    void create_with50Materials_shouldUseConstantNumberOfStatements() {
+        Atividade atv = new Atividade();
+        atv.setNome("Atividade batch");
+        atv.setCnae("9602-5/02");
+        atv.setAliquotaTotalPct(new BigDecimal("6.0000"));
+        atv.setIssPct(new BigDecimal("2.0000"));
+        atv = atividadeRepository.save(atv);
+
+        List<Material> materiais = new ArrayList<>();
+        for (int i = 0; i < MATERIAIS; i++) {
+            materiais.add(new Material("Insumo batch " + i, UnidadeMedida.UN, new BigDecimal("10.00"), new BigDecimal("5.00")));
+        }
+        materiais = materialRepository.saveAll(materiais);
+
+        Servico input = new Servico();
+        input.setNome("Serviço com 50 insumos");
+        input.setGrupo("Batch");
+        input.setDuracaoMinutos(60);
+        Atividade ref = new Atividade();
+        ref.setId(atv.getId());
+        input.setAtividade(ref);
+        List<ServicoMaterial> linhas = new ArrayList<>();
+        for (Material m : materiais) {
+            Material mRef = new Material();
+            mRef.setId(m.getId());
+            linhas.add(new ServicoMaterial(input, mRef, new BigDecimal("1.5")));
+        }
+        input.setMateriais(linhas);
+
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        Servico saved = servicoService.create(input);
+
+        assertNotNull(saved.getId());
+        assertEquals(MATERIAIS + 1, stats.getEntityInsertCount());
+        // atividade + materiais (IN) + 2 nextval + INSERT servico + INSERT em lote de servico_materiais,
+        // mais as 6 consultas fixas do snapshot antes do commit (trava, configuração, serviço, atividade, insumos, preço)
+        assertTrue(stats.getPrepareStatementCount() <= 14,
+                "statements preparados: " + stats.getPrepareStatementCount());
+    }
+}
@@ -5,6 +5,7 @@ import static org.mockito.Mockito.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -13,12 +14,29 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finesse.dto.PrecoAtualResponse;
+import com.finesse.dto.PrecoLoteItemRequest;
+import com.finesse.dto.PrecoLoteResponse;
 import com.finesse.dto.PrecoSetResponse;
+import com.finesse.dto.ServicoDetailResponse;
+import com.finesse.entity.Atividade;
+import com.finesse.entity.Material;
 import com.finesse.entity.PrecoPraticado;
 import com.finesse.entity.Servico;
+import com.finesse.entity.ServicoMaterial;
+import com.finesse.exception.ValidationException;
 import com.finesse.repository.PrecoPraticadoRepository;
 import com.finesse.repository.ServicoRepository;
+import com.finesse.repository.projection.PrecoAtualView;
 
 class ServicoServiceImplTest {
 
@@ -28,6 +46,21 @@ class ServicoServiceImplTest {
     @Mock
     PrecoPraticadoRepository precoRepository;
 
+    @Mock
+    AtividadeService atividadeService;
+
+    @Mock
+    MaterialService materialService;
+
+    @Mock
+    IndiceMateriais indiceMateriais;
+
+    @Mock
+    PrecificacaoSnapshotAtualizador snapshot;
+
+    @Mock
+    DashboardService dashboard;
+
     @InjectMocks
     ServicoServiceImpl service;
 
@@ -56,6 +89,7 @@ class ServicoServiceImplTest {
         assertFalse(resp.changed());
         assertEquals(new BigDecimal("100.00"), resp.vigente().getPreco());
         verify(precoRepository, never()).save(any(PrecoPraticado.class));
+        verify(snapshot, never()).marcarServico(any());
     }
 
     @Test
@@ -100,5 +134,203 @@ class ServicoServiceImplTest {
         assertEquals(new BigDecimal("120.00"), resp.vigente().getPreco());
         assertEquals(LocalDate.now(), resp.vigente().getVigenciaInicio());
         assertTrue(resp.vigente().isVigente());
+        verify(snapshot).marcarServico(3L);
+    }
+
+    private PrecoAtualView precoAtual(Long servicoId, String preco) {
+        PrecoAtualView v = mock(PrecoAtualView.class);
+        when(v.getServicoId()).thenReturn(servicoId);
+        when(v.getPreco()).thenReturn(preco == null ? null : new BigDecimal(preco));
+        return v;
+    }
+
+    @Test
+    void listarPrecosAtuais_shouldUseSingleSetBasedQuery() {
+        List<PrecoAtualView> precos = List.of(precoAtual(1L, "80.00"), precoAtual(2L, null));
+        when(precoRepository.findPrecosAtuaisDeTodosServicos()).thenReturn(precos);
+
+        List<PrecoAtualResponse> lista = service.listarPrecosAtuais();
+
+        assertEquals(2, lista.size());
+        assertEquals(80.0, lista.get(0).precoAtual());
+        assertNull(lista.get(1).precoAtual());
+        verify(servicoRepository, never()).findAll();
+        verify(precoRepository, never()).findFirstByServico_IdAndVigenteTrueOrderByVigenciaInicioDesc(any());
+        verify(precoRepository, never()).findFirstByServico_IdOrderByVigenciaInicioDesc(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void list_withTextFilter_shouldFilterAndPageInDatabase() {
+        Servico s = new Servico();
+        s.setNome("Coloração");
+        when(servicoRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(s)));
+
+        Page<Servico> page = service.list("coloracao", null, true, 0, 10, "nome,asc");
+
+        assertEquals(1, page.getTotalElements());
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(servicoRepository).findAll(any(Specification.class), pageable.capture());
+        assertEquals(10, pageable.getValue().getPageSize());
+        assertNotNull(pageable.getValue().getSort().getOrderFor("nomeNormalizado"));
+        verify(servicoRepository, never()).findAll();
+    }
+
+    @Test
+    void list_shouldSortGrupoByNormalizedKeyAndRejectUnknownFields() {
+        when(servicoRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+
+        service.list(null, null, null, 0, 10, "grupo,desc");
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(servicoRepository).findAll(pageable.capture());
+        assertEquals(Sort.Direction.DESC, pageable.getValue().getSort().getOrderFor("grupoNormalizado").getDirection());
+        assertThrows(ValidationException.class, () -> service.list(null, null, null, 0, 10, "atividade.nome,asc"));
+    }
+
+    @Test
+    void detalhar_shouldLoadGraphAndCurrentPriceInTwoQueries() {
+        Atividade atv = new Atividade();
+        atv.setId(7L);
+        atv.setNome("Beleza");
+        atv.setAliquotaTotalPct(new BigDecimal("16.7700"));
+        atv.setIssPct(new BigDecimal("2.8400"));
+        Servico s = servico(5L);
+        s.setAtividade(atv);
+        List<ServicoMaterial> materiais = new java.util.ArrayList<>();
+        for (long i = 1; i <= 3; i++) {
+            Material m = new Material();
+            m.setId(i);
+            m.setProduto("M" + i);
+            materiais.add(new ServicoMaterial(s, m, new BigDecimal("1.0000")));
+        }
+        s.setMateriais(materiais);
+        when(servicoRepository.findDetalheById(5L)).thenReturn(Optional.of(s));
+        PrecoPraticado preco = new PrecoPraticado(s, new BigDecimal("120.00"), LocalDate.now());
+        when(precoRepository.findFirstByServico_IdOrderByVigenteDescVigenciaInicioDescIdDesc(5L)).thenReturn(Optional.of(preco));
+
+        ServicoDetailResponse detalhe = service.detalhar(5L).orElseThrow();
+
+        assertEquals(7L, detalhe.atividadeId());
+        assertEquals("Beleza", detalhe.atividadeNome());
+        assertEquals(3, detalhe.materiais().size());
+        assertEquals(120.0, detalhe.precoVigente());
+        verify(servicoRepository, never()).findById(any());
+        verify(precoRepository, never()).findFirstByServico_IdAndVigenteTrueOrderByVigenciaInicioDesc(any());
+        verify(precoRepository, never()).findFirstByServico_IdOrderByVigenciaInicioDesc(any());
+    }
+
+    @Test
+    void detalhar_shouldReturnEmptyWhenNotFound() {
+        when(servicoRepository.findDetalheById(9L)).thenReturn(Optional.empty());
+        assertTrue(service.detalhar(9L).isEmpty());
+        verifyNoInteractions(precoRepository);
+    }
+
+    private Servico servicoComMateriais(Long... materialIds) {
+        Servico s = servico(null);
+        Atividade atv = new Atividade();
+        atv.setId(7L);
+        s.setAtividade(atv);
+        List<ServicoMaterial> linhas = new java.util.ArrayList<>();
+        for (Long mid : materialIds) {
+            Material m = new Material();
+            m.setId(mid);
+            linhas.add(new ServicoMaterial(s, m, new BigDecimal("2")));
+        }
+        s.setMateriais(linhas);
+        return s;
+    }
+
+    @Test
+    void create_shouldResolveAllMaterialsInOneLookup() {
+        Servico input = servicoComMateriais(1L, 2L, 3L);
+        when(atividadeService.findById(7L)).thenReturn(Optional.of(input.getAtividade()));
+        java.util.Map<Long, Material> encontrados = new java.util.HashMap<>();
+        for (ServicoMaterial sm : input.getMateriais()) encontrados.put(sm.getMaterial().getId(), sm.getMaterial());
+        when(materialService.findAllByIds(any())).thenReturn(encontrados);
+        when(servicoRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        Servico saved = service.create(input);
+
+        assertEquals(3, saved.getMateriais().size());
+        verify(materialService, times(1)).findAllByIds(any());
+        verify(materialService, never()).findById(any());
+        verify(indiceMateriais).atualizarServicoAposCommit(isNull());
+        verify(snapshot).marcarServico(isNull());
+    }
+
+    @Test
+    void delete_shouldRemoveFromMaterialIndex() {
+        when(servicoRepository.existsById(9L)).thenReturn(true);
+
+        assertTrue(service.delete(9L));
+
+        verify(servicoRepository).deleteById(9L);
+        verify(indiceMateriais).removerServicoAposCommit(9L);
+        verify(dashboard).invalidar();
+    }
+
+    @Test
+    void create_shouldReportEveryMissingMaterialAtOnce() {
+        Servico input = servicoComMateriais(1L, 2L, 3L);
+        when(atividadeService.findById(7L)).thenReturn(Optional.of(input.getAtividade()));
+        when(materialService.findAllByIds(any())).thenReturn(java.util.Map.of(1L, input.getMateriais().get(0).getMaterial()));
+
+        ValidationException ex = assertThrows(ValidationException.class, () -> service.create(input));
+
+        assertTrue(ex.getMessage().contains("[2, 3]"));
+        verify(servicoRepository, never()).save(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void definirPrecosEmLote_shouldCloseAndInsertOnlyChangedInOneShot() {
+        List<PrecoLoteItemRequest> itens = List.of(
+                new PrecoLoteItemRequest(1L, new BigDecimal("100.004")),
+                new PrecoLoteItemRequest(2L, new BigDecimal("80.00")),
+                new PrecoLoteItemRequest(3L, new BigDecimal("55.50")));
+        when(servicoRepository.findIdsExistentes(any())).thenReturn(List.of(1L, 2L, 3L));
+        List<PrecoAtualView> vigentes = List.of(precoAtual(1L, "90.00"), precoAtual(2L, "80.00"));
+        when(precoRepository.findPrecosVigentes(any())).thenReturn(vigentes);
+
+        PrecoLoteResponse resp = service.definirPrecosEmLote(itens);
+
+        assertEquals(3, resp.recebidos());
+        assertEquals(2, resp.alterados());
+        assertEquals(List.of(2L), resp.inalterados());
+        ArgumentCaptor<List<PrecoLoteItemRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(precoRepository, times(1)).encerrarVigentes(captor.capture(), eq(LocalDate.now()));
+        verify(precoRepository, times(1)).inserirVigentes(captor.getValue(), LocalDate.now());
+        assertEquals(new BigDecimal("100.00"), captor.getValue().get(0).preco());
+        assertEquals(3L, captor.getValue().get(1).servicoId());
+        verify(servicoRepository, never()).findById(any());
+        verify(precoRepository, never()).save(any(PrecoPraticado.class));
+        verify(snapshot).marcarServicos(List.of(1L, 3L));
+    }
+
+    @Test
+    void definirPrecosEmLote_shouldReportMissingServicosAndWriteNothing() {
+        List<PrecoLoteItemRequest> itens = List.of(
+                new PrecoLoteItemRequest(1L, BigDecimal.TEN),
+                new PrecoLoteItemRequest(4L, BigDecimal.TEN),
+                new PrecoLoteItemRequest(5L, BigDecimal.TEN));
+        when(servicoRepository.findIdsExistentes(any())).thenReturn(List.of(1L));
+
+        ValidationException ex = assertThrows(ValidationException.class, () -> service.definirPrecosEmLote(itens));
+
+        assertTrue(ex.getMessage().contains("[4, 5]"));
+        verify(precoRepository, never()).encerrarVigentes(any(), any());
+        verify(precoRepository, never()).inserirVigentes(any(), any());
+    }
+
+    @Test
+    void precoLoteItem_shouldRejectScheduledStartInsteadOfApplyingToday() {
+        // mesmo comportamento do mapper do Spring Boot, que ignora campos desconhecidos
+        ObjectMapper mapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        assertThrows(JsonMappingException.class, () -> mapper.readValue(
+                "{\"servicoId\":1,\"preco\":10,\"vigenciaInicio\":\"2030-01-01\"}", PrecoLoteItemRequest.class));
     }
 }
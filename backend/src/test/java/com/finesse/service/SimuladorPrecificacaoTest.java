@@ -0,0 +1,165 @@
+package com.finesse.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.finesse.entity.StatusPrecificacao;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * O resultado paralelo (blocos + junção dos parciais) deve ser igual a uma passada sequencial
+ * com a PrecificacaoCalculadora, inclusive a ordem dos mais afetados.
+ */
+class SimuladorPrecificacaoTest {
+
+    private final SimuladorPrecificacao simulador = new SimuladorPrecificacao(4, new SimpleMeterRegistry());
+
+    @AfterEach
+    void encerrar() {
+        simulador.encerrar();
+    }
+
+    @Test
+    void simular_deveSerIgualAPassadaSequencial() {
+        Random rnd = new Random(7L);
+        // tamanho fora de múltiplo do bloco para exercitar o último bloco parcial
+        CatalogoPrecificacao catalogo = catalogo(rnd, 3 * SimuladorPrecificacao.BLOCO + 77);
+        CatalogoPrecificacao.Base base = catalogo.base();
+
+        List<SimuladorPrecificacao.Cenario> cenarios = new ArrayList<>();
+        cenarios.add(cenario(catalogo, "base", catalogo.pretensao, catalogo.fixo, catalogo.margemPadrao, catalogo.aliquotas));
+        cenarios.add(cenario(catalogo, "pretensão +20%", catalogo.pretensao * 12 / 10, catalogo.fixo, catalogo.margemPadrao, catalogo.aliquotas));
+        cenarios.add(cenario(catalogo, "margem 35%", catalogo.pretensao, catalogo.fixo, 35_000_000L, catalogo.aliquotas));
+        long[] aliquotas = catalogo.aliquotas.clone();
+        aliquotas[1] = 60_000_000L;
+        cenarios.add(cenario(catalogo, "imposto alto", catalogo.pretensao, 30_000_000L, catalogo.margemPadrao, aliquotas));
+
+        int topK = 7;
+        List<SimuladorPrecificacao.Resultado> resultados = simulador.simular(catalogo, base, cenarios, topK);
+
+        assertEquals(cenarios.size(), resultados.size());
+        for (int c = 0; c < cenarios.size(); c++) {
+            SimuladorPrecificacao.Cenario cenario = cenarios.get(c);
+            SimuladorPrecificacao.Resultado r = resultados.get(c);
+
+            int saudaveis = 0, abaixo = 0, prejuizo = 0, mudaram = 0;
+            BigDecimal lucro = BigDecimal.ZERO;
+            long sugeridaTotal = 0;
+            long[] variacao = new long[catalogo.tamanho];
+            for (int i = 0; i < catalogo.tamanho; i++) {
+                PrecificacaoCalculadora.Resultado esperado = calcular(catalogo, i, cenario);
+                StatusPrecificacao status = esperado.status();
+                if (status == StatusPrecificacao.SAUDAVEL) saudaveis++;
+                if (status == StatusPrecificacao.ABAIXO) abaixo++;
+                if (status == StatusPrecificacao.PREJUIZO) prejuizo++;
+                if (status != base.status()[i]) mudaram++;
+                if (catalogo.venda[i] > 0) lucro = lucro.add(esperado.lucro());
+                long sugerida = PricingKernel.unidades(PrecificacaoCalculadora.money(esperado.vendaSugerida()), 2);
+                sugeridaTotal += sugerida;
+                variacao[i] = Math.abs(sugerida - base.sugerida()[i]);
+            }
+            int[] top = IntStream.range(0, catalogo.tamanho).boxed()
+                    .sorted(Comparator.<Integer>comparingLong(i -> -variacao[i]).thenComparingInt(i -> i))
+                    .limit(topK)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+
+            String nome = cenario.nome();
+            assertEquals(saudaveis, r.saudaveis(), nome);
+            assertEquals(abaixo, r.abaixo(), nome);
+            assertEquals(prejuizo, r.prejuizo(), nome);
+            assertEquals(mudaram, r.mudaramDeStatus(), nome);
+            assertEquals(0, lucro.compareTo(PricingKernel.decimal(r.lucroTotal(), PricingKernel.ESCALA_CUSTO)), nome);
+            assertEquals(sugeridaTotal, r.sugeridaTotalCentavos(), nome);
+            assertArrayEquals(top, r.maisAfetados(), nome);
+        }
+        assertEquals(0, resultados.get(0).mudaramDeStatus());
+        assertEquals(base.lucroTotal(), resultados.get(0).lucroTotal());
+    }
+
+    @Test
+    void simular_deveAceitarCatalogoVazioETopKZero() {
+        CatalogoPrecificacao vazio = catalogo(new Random(1L), 0);
+        SimuladorPrecificacao.Cenario cenario = cenario(vazio, "c", vazio.pretensao, vazio.fixo, vazio.margemPadrao, vazio.aliquotas);
+
+        SimuladorPrecificacao.Resultado r = simulador.simular(vazio, vazio.base(), List.of(cenario), 0).get(0);
+
+        assertEquals(0, r.saudaveis() + r.abaixo() + r.prejuizo());
+        assertEquals(0L, r.lucroTotal());
+        assertEquals(0, r.maisAfetados().length);
+    }
+
+    @Test
+    void topK_deveManterOsMaioresComEmpatePeloMenorIndice() {
+        TopK top = new TopK(3);
+        long[] chaves = {5, 9, 1, 9, 7, 5, 9};
+        for (int i = 0; i < chaves.length; i++) top.oferecer(chaves[i], i);
+        assertArrayEquals(new int[] {1, 3, 6}, top.ordenados());
+
+        TopK a = new TopK(2);
+        TopK b = new TopK(2);
+        a.oferecer(3, 0);
+        a.oferecer(8, 1);
+        b.oferecer(8, 0);
+        b.oferecer(4, 2);
+        a.juntar(b);
+        assertArrayEquals(new int[] {0, 1}, a.ordenados());
+    }
+
+    private static SimuladorPrecificacao.Cenario cenario(CatalogoPrecificacao cat, String nome, long pretensao,
+                                                        long fixo, long margem, long[] aliquotas) {
+        return new SimuladorPrecificacao.Cenario(nome,
+                PricingKernel.valorMinuto(pretensao, cat.horasSemanais, cat.semanasMediaMes), fixo, margem, aliquotas);
+    }
+
+    private static PrecificacaoCalculadora.Resultado calcular(CatalogoPrecificacao cat, int i,
+                                                             SimuladorPrecificacao.Cenario cenario) {
+        int f = PricingKernel.ESCALA_FRAC;
+        long margem = cat.temMargemCustom[i] ? cat.margemCustom[i] : cenario.margemPadrao();
+        long imposto = cat.atividade[i] >= 0 ? cenario.aliquotas()[cat.atividade[i]] : 0L;
+        return PrecificacaoCalculadora.calcular(
+                PricingKernel.decimal(cenario.valorMinuto(), f),
+                cat.duracao[i],
+                PricingKernel.decimal(cat.insumos[i], PricingKernel.ESCALA_CUSTO),
+                PricingKernel.decimal(imposto, f),
+                PricingKernel.decimal(cenario.fixo(), f),
+                PricingKernel.decimal(margem, f),
+                PricingKernel.decimal(cat.venda[i], PricingKernel.ESCALA_MOEDA));
+    }
+
+    private static CatalogoPrecificacao catalogo(Random rnd, int n) {
+        long[] ids = new long[n];
+        String[] nomes = new String[n];
+        int[] duracao = new int[n];
+        long[] insumos = new long[n];
+        long[] venda = new long[n];
+        long[] margemCustom = new long[n];
+        boolean[] temMargemCustom = new boolean[n];
+        int[] atividade = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = 1000L + i;
+            nomes[i] = "Serviço " + i;
+            duracao[i] = rnd.nextInt(240);
+            insumos[i] = (long) (rnd.nextDouble() * 800_000_000_000L);      // até 80,00
+            venda[i] = rnd.nextInt(10) == 0 ? 0L : 1_000L + rnd.nextInt(60_000);
+            temMargemCustom[i] = rnd.nextInt(3) == 0;
+            margemCustom[i] = temMargemCustom[i] ? PricingKernel.pctParaFrac(rnd.nextInt(500_000)) : 0L;
+            atividade[i] = rnd.nextInt(4) - 1;
+        }
+        long[] atividadeIds = {10L, 20L, 30L};
+        long[] aliquotas = {
+                PricingKernel.pctParaFrac(60_000), PricingKernel.pctParaFrac(167_700), PricingKernel.pctParaFrac(0)};
+        return new CatalogoPrecificacao(ids, nomes, duracao, insumos, venda, margemCustom, temMargemCustom, atividade,
+                atividadeIds, aliquotas, 1_200_000L, 5_000L, 43_300L, 12_000_000L, 20_000_000L);
+    }
+}
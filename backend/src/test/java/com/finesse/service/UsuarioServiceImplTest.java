@@ -17,6 +17,7 @@ import com.finesse.entity.Perfil;
 import com.finesse.entity.Usuario;
 import com.finesse.exception.ValidationException;
 import com.finesse.repository.UsuarioRepository;
+import com.finesse.security.PrincipalCache;
 
 class UsuarioServiceImplTest {
 
@@ -26,6 +27,9 @@ class UsuarioServiceImplTest {
     @Mock
     PasswordEncoder encoder;
 
+    @Mock
+    PrincipalCache principalCache;
+
     @InjectMocks
     UsuarioServiceImpl service;
 
@@ -85,4 +89,19 @@ class UsuarioServiceImplTest {
         when(repo.existsByEmail("x@y.com")).thenReturn(true);
         assertTrue(service.emailExiste("x@y.com"));
     }
+
+    @Test
+    void toggleStatus_deveInvalidarPrincipalEmCache() {
+        when(repo.findById(3L)).thenReturn(Optional.of(user(3L, "x@y.com", true)));
+        when(repo.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        service.toggleStatus(3L, false);
+        verify(principalCache).invalidar(3L);
+    }
+
+    @Test
+    void deletarUsuario_deveInvalidarPrincipalEmCache() {
+        when(repo.existsById(4L)).thenReturn(true);
+        service.deletarUsuario(4L);
+        verify(principalCache).invalidar(4L);
+    }
 }
@@ -3,6 +3,7 @@ package com.finesse.service;
 import com.finesse.entity.Perfil;
 import com.finesse.entity.Usuario;
 import com.finesse.repository.UsuarioRepository;
+import com.finesse.security.PrincipalCache;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -14,7 +15,7 @@ public class UsuarioServiceTests {
     void criarUsuario_validaDuplicidadeEmail() {
         UsuarioRepository repo = Mockito.mock(UsuarioRepository.class);
         PasswordEncoder encoder = Mockito.mock(PasswordEncoder.class);
-        UsuarioServiceImpl service = new UsuarioServiceImpl(repo, encoder);
+        UsuarioServiceImpl service = new UsuarioServiceImpl(repo, encoder, Mockito.mock(PrincipalCache.class));
 
         Mockito.when(repo.existsByEmail("teste@x.com")).thenReturn(true);
         Assertions.assertThrows(RuntimeException.class, () -> service.criarUsuario("Teste", "teste@x.com", "senha123", Perfil.ADMIN));
@@ -24,7 +25,7 @@ public class UsuarioServiceTests {
     void criarUsuario_rejeitaSenhaFraca_eAceitaForte() {
         UsuarioRepository repo = Mockito.mock(UsuarioRepository.class);
         PasswordEncoder encoder = Mockito.mock(PasswordEncoder.class);
-        UsuarioServiceImpl service = new UsuarioServiceImpl(repo, encoder);
+        UsuarioServiceImpl service = new UsuarioServiceImpl(repo, encoder, Mockito.mock(PrincipalCache.class));
 
         Mockito.when(repo.existsByEmail("ok@x.com")).thenReturn(false);
         Mockito.when(encoder.encode(Mockito.anyString())).thenAnswer(inv -> "hash");
@@ -0,0 +1,36 @@
+package com.finesse.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+class TextoNormalizadoTest {
+
+    @Test
+    void normalizar_shouldRemoveAccentsAndLowercase() {
+        assertEquals("depilacao a cera", TextoNormalizado.normalizar("  Depilação À Cera "));
+        assertNull(TextoNormalizado.normalizar(null));
+    }
+
+    @Test
+    void normalizar_shouldIgnoreDefaultLocale() {
+        Locale anterior = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            assertEquals("iluminacao", TextoNormalizado.normalizar("ILUMINAÇÃO"));
+        } finally {
+            Locale.setDefault(anterior);
+        }
+    }
+
+    @Test
+    void normalizar_shouldFoldLettersWithoutDecompositionLikeUnaccent() {
+        assertEquals("aether", TextoNormalizado.normalizar("Æther"));
+        assertEquals("strasse", TextoNormalizado.normalizar("Straße"));
+        assertEquals("oresund", TextoNormalizado.normalizar("Øresund"));
+        assertEquals("oeuvre", TextoNormalizado.normalizar("Œuvre"));
+        assertEquals("lodz", TextoNormalizado.normalizar("Łódź"));
+    }
+}
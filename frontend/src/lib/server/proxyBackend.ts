@@ -91,6 +91,13 @@ function mergeSetCookieIntoCookieHeader(currentCookie: string, setCookies: strin
     .join('; ');
 }
 
+function copyCacheHeaders(from: Response, to: Response) {
+  for (const name of ['etag', 'cache-control']) {
+    const value = from.headers.get(name);
+    if (value) to.headers.set(name, value);
+  }
+}
+
 export async function proxyWithRefresh({
   request,
   url,
@@ -135,6 +142,14 @@ export async function proxyWithRefresh({
     const res = await fetch(backendUrl, buildOptions());
 
     if (res.status !== 401) {
+      // 304: o navegador reaproveita o corpo que já tem em cache
+      if (res.status === 304) {
+        const out = new Response(null, { status: 304 });
+        copyCacheHeaders(res, out);
+        for (const sc of refreshSetCookies) out.headers.append('set-cookie', sc);
+        return out;
+      }
+
       if (!res.ok) {
         // erro: no modo passthrough, pode repassar cru também, mas normalmente é melhor JSON padronizado
         return json({ error: await readBackendError(res) }, { status: res.status });
@@ -160,6 +175,7 @@ export async function proxyWithRefresh({
       if (isJson(res)) {
         const data = await res.json();
         const out = json(data, { status: res.status }); // repassa status real do backend
+        copyCacheHeaders(res, out);
         for (const sc of refreshSetCookies) out.headers.append('set-cookie', sc);
         return out;
       }
@@ -9,6 +9,14 @@ export interface Configuracao {
   ativo: boolean
 }
 
+export interface ConfiguracaoAtiva extends Omit<Configuracao, 'ativo'> {
+  horasMensais: number
+  valorHora: number
+  valorMinuto: number
+  custoFixoFrac: number
+  margemPadraoFrac: number
+}
+
 export interface ConfigInput {
   pretensaoSalarialMensal: number
   horasSemanais: number
@@ -53,6 +61,14 @@ class ConfigService {
     return r.json()
   }
 
+  // ETag/304 tratados pelo cache HTTP do navegador
+  async ativa(signal?: AbortSignal): Promise<ConfiguracaoAtiva | null> {
+    const r = await fetch(`${this.baseUrl}/ativa`, { credentials: 'include', signal })
+    if (r.status === 404) return null
+    if (!r.ok) throw new Error(await parseError(r, 'Falha ao carregar configuração ativa'))
+    return r.json()
+  }
+
   async create(data: ConfigInput): Promise<Configuracao> {
     const r = await fetch(`${this.baseUrl}`, {
       method: 'POST',
@@ -0,0 +1,43 @@
+export interface AlteracaoPreco {
+  servicoId: number
+  nome: string
+  precoAnterior: number | null
+  preco: number
+  vigenciaInicio: string
+}
+
+export interface DashboardResumo {
+  servicosSaudaveis: number
+  servicosAbaixo: number
+  servicosPrejuizo: number
+  lucroAtual: number
+  lucroPotencial: number
+  servicosAtivos: number
+  materiaisAtivos: number
+  atividadesAtivas: number
+  alteracoesRecentes: AlteracaoPreco[]
+  geradoEm: string
+}
+
+type ApiErrorResponse = { error?: string; message?: string }
+
+async function parseError(r: Response, fallback: string) {
+  try {
+    const body = (await r.clone().json()) as ApiErrorResponse
+    return body?.error || body?.message || fallback
+  } catch {
+    return fallback
+  }
+}
+
+class DashboardService {
+  private readonly baseUrl = '/api/dashboard'
+
+  async resumo(signal?: AbortSignal): Promise<DashboardResumo> {
+    const r = await fetch(this.baseUrl, { credentials: 'include', signal })
+    if (!r.ok) throw new Error(await parseError(r, 'Falha ao carregar dashboard'))
+    return (await r.json()) as DashboardResumo
+  }
+}
+
+export const dashboardService = new DashboardService()
@@ -0,0 +1,46 @@
+export type StatusPrecificacao = 'SAUDÁVEL' | 'ABAIXO' | 'PREJUÍZO'
+
+export interface PrecificacaoItem {
+  servicoId: number
+  nome: string
+  grupo: string
+  ativo: boolean
+  custoMaoObra: number
+  custoInsumos: number
+  custoDireto: number
+  impostoFrac: number
+  fixoFrac: number
+  margemFrac: number
+  fatorPreco: number
+  vendaAtual: number
+  vendaSugerida: number
+  lucro: number
+  margemPct: number
+  status: StatusPrecificacao
+}
+
+type ApiErrorResponse = { error?: string; message?: string }
+
+async function parseError(r: Response, fallback: string) {
+  try {
+    const body = (await r.clone().json()) as ApiErrorResponse
+    return body?.error || body?.message || fallback
+  } catch {
+    return fallback
+  }
+}
+
+class PrecificacaoService {
+  private readonly baseUrl = '/api/precificacao'
+
+  async list(params?: URLSearchParams, signal?: AbortSignal): Promise<PrecificacaoItem[]> {
+    const qs = params?.toString()
+    const url = qs ? `${this.baseUrl}?${qs}` : this.baseUrl
+    const r = await fetch(url, { credentials: 'include', signal })
+    if (!r.ok) throw new Error(await parseError(r, 'Falha ao carregar precificação'))
+    const json = await r.json()
+    return Array.isArray(json) ? json : []
+  }
+}
+
+export const precificacaoService = new PrecificacaoService()
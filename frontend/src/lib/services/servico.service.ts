@@ -4,6 +4,7 @@ export interface Servico {
   grupo: string
   duracaoMinutos: number
   margemLucroCustomPct?: number
+  atividadeId?: number
   atividade?: { id: number; nome?: string }
   precoVigente?: number | null
   ativo: boolean
@@ -55,6 +56,18 @@ export interface Page<T> {
   empty: boolean
 }
 
+// o preço passa a valer no dia da aplicação; o backend recusa campos extras
+export interface PrecoLoteItem {
+  servicoId: number
+  preco: number
+}
+
+export interface PrecoLoteResult {
+  recebidos: number
+  alterados: number
+  inalterados: number[]
+}
+
 type ApiErrorResponse = { error?: string; message?: string }
 
 async function parseError(r: Response, fallback: string) {
@@ -137,6 +150,18 @@ class ServicoService {
     json.precoVigente = json.precoVigente == null ? null : Number(json.precoVigente)
     return json as ServicoDetail
   }
+
+  async aplicarPrecosLote(itens: PrecoLoteItem[]): Promise<PrecoLoteResult> {
+    const r = await fetch(`${this.baseUrl}/precos/lote`, {
+      method: 'POST',
+      headers: { 'Content-Type': 'application/json' },
+      credentials: 'include',
+      body: JSON.stringify(itens)
+    })
+    if (!r.ok) throw new Error(await parseError(r, 'Falha ao aplicar preços'))
+    return r.json()
+  }
+
   async toggleStatus(id: number, ativo: boolean): Promise<Servico> {
     const r = await fetch(`${this.baseUrl}/${id}`, {
       method: 'PATCH',
@@ -0,0 +1,23 @@
+import { BACKEND_URL } from '$env/static/private';
+import { json, type RequestHandler } from '@sveltejs/kit';
+import { proxyWithRefresh } from '$lib/server/proxyBackend';
+
+export const GET: RequestHandler = async ({ url, fetch, request }) => {
+  try {
+    const ifNoneMatch = request.headers.get('if-none-match');
+    return await proxyWithRefresh({
+      request,
+      url,
+      fetch,
+      backendBase: BACKEND_URL,
+      path: '/api/configuracoes/ativa',
+      method: 'GET',
+      mode: 'json',
+      forwardQuery: false,
+      extraHeaders: ifNoneMatch ? { 'if-none-match': ifNoneMatch } : {}
+    });
+  } catch (error) {
+    console.error('Erro no proxy GET configuração ativa:', error);
+    return json({ error: 'Erro interno do servidor' }, { status: 500 });
+  }
+};
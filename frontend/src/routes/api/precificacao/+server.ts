@@ -0,0 +1,23 @@
+import type { RequestHandler } from '@sveltejs/kit';
+import { json } from '@sveltejs/kit';
+import { BACKEND_URL } from '$env/static/private';
+import { proxyWithRefresh } from '$lib/server/proxyBackend';
+
+// GET - Precificação calculada no backend para todos os serviços
+export const GET: RequestHandler = async ({ url, fetch, request }) => {
+  try {
+    return await proxyWithRefresh({
+      request,
+      url,
+      fetch,
+      backendBase: BACKEND_URL,
+      path: '/api/precificacao',
+      method: 'GET',
+      mode: 'json',
+      forwardQuery: true
+    });
+  } catch (error) {
+    console.error('Erro no proxy GET precificação:', error);
+    return json({ error: 'Erro interno do servidor' }, { status: 500 });
+  }
+};
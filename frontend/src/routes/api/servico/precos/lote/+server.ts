@@ -0,0 +1,25 @@
+import type { RequestHandler } from '@sveltejs/kit';
+import { json } from '@sveltejs/kit';
+import { BACKEND_URL } from '$env/static/private';
+import { proxyWithRefresh } from '$lib/server/proxyBackend';
+
+// POST - Aplica preços de vários serviços em uma única chamada
+export const POST: RequestHandler = async ({ url, fetch, request }) => {
+  try {
+    const body: unknown = await request.json();
+
+    return await proxyWithRefresh({
+      request,
+      url,
+      fetch,
+      backendBase: BACKEND_URL,
+      path: '/api/servico/precos/lote',
+      method: 'POST',
+      body,
+      mode: 'json'
+    });
+  } catch (error) {
+    console.error('Erro no proxy POST preços em lote:', error);
+    return json({ error: 'Erro interno do servidor' }, { status: 500 });
+  }
+};